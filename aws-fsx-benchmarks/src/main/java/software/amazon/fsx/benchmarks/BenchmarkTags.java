@@ -0,0 +1,25 @@
+package software.amazon.fsx.benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tag fixtures shared by the benchmarks.
+ */
+public final class BenchmarkTags {
+    private BenchmarkTags() {
+    }
+
+    /**
+     * @param keyPrefix The prefix of every key.
+     * @param count The number of tags.
+     * @return Tags keyed {@code <keyPrefix>-<index>}, in index order, with values {@code value-<index>}.
+     */
+    public static Map<String, String> map(final String keyPrefix, final int count) {
+        final Map<String, String> tags = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            tags.put(keyPrefix + "-" + i, "value-" + i);
+        }
+        return tags;
+    }
+}
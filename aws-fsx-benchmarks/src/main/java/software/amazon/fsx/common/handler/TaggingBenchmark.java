@@ -0,0 +1,107 @@
+package software.amazon.fsx.common.handler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.fsx.model.Tag;
+import software.amazon.fsx.benchmarks.BenchmarkTags;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the tag handling done on every create and tag update, sized for a resource at the 50 tag limit with
+ *  stack and system tags on top.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaggingBenchmark {
+    private static final int RESOURCE_TAGS = 50;
+    private static final int CHANGED_TAGS = 10;
+    private static final int REPLACED_TAGS = 5;
+
+    private Set<Tag> resourceTags;
+    private Tagging.TagSet tagSet;
+    private Map<String, String> stackTags;
+    private Map<String, String> systemTags;
+    private Map<String, String> previousTags;
+    private Map<String, String> desiredTags;
+
+    @Setup
+    public void setup() {
+        resourceTags = Tagging.translateTagsMapToSdk(BenchmarkTags.map("resource", RESOURCE_TAGS));
+        stackTags = BenchmarkTags.map("stack", 10);
+        systemTags = BenchmarkTags.map("aws:cloudformation:stack", 3);
+        tagSet = Tagging.TagSet.builder()
+                .resourceTags(resourceTags)
+                .stackTags(Tagging.translateTagsMapToSdk(stackTags))
+                .systemTags(Tagging.translateTagsMapToSdk(systemTags))
+                .build();
+
+        // The update changes the values of some tags, drops a few and adds as many new ones.
+        previousTags = BenchmarkTags.map("resource", RESOURCE_TAGS);
+        desiredTags = new LinkedHashMap<>(previousTags);
+        for (int i = 0; i < CHANGED_TAGS; i++) {
+            desiredTags.put("resource-" + i, "changed-" + i);
+        }
+        for (int i = RESOURCE_TAGS - REPLACED_TAGS; i < RESOURCE_TAGS; i++) {
+            desiredTags.remove("resource-" + i);
+            desiredTags.put("added-" + i, "value-" + i);
+        }
+    }
+
+    @Benchmark
+    public Set<Tag> validateTags() {
+        Tagging.validateTags(resourceTags);
+        return resourceTags;
+    }
+
+    @Benchmark
+    public Collection<Tag> translateTagSetToSdk() {
+        return Tagging.translateTagSetToSdk(tagSet);
+    }
+
+    @Benchmark
+    public Collection<Tag> validateAndTranslateTagSet() {
+        Tagging.validateTags(resourceTags);
+        return Tagging.translateTagSetToSdk(Tagging.TagSet.builder()
+                .resourceTags(resourceTags)
+                .stackTags(Tagging.translateTagsMapToSdk(stackTags))
+                .systemTags(Tagging.translateTagsMapToSdk(systemTags))
+                .build());
+    }
+
+    @Benchmark
+    public Collection<Tag> mergeAndValidateTags() {
+        return Tagging.mergeAndValidateTags(resourceTags, Tag::key, Tag::value, stackTags, systemTags);
+    }
+
+    @Benchmark
+    public Map<String, String> generateTagsToAdd() {
+        return Tagging.generateTagsToAdd(previousTags, desiredTags);
+    }
+
+    @Benchmark
+    public Set<String> generateTagsToRemove() {
+        return Tagging.generateTagsToRemove(previousTags, desiredTags);
+    }
+
+    @Benchmark
+    public TagDiff tagDiff() {
+        return TagDiff.between(previousTags, desiredTags);
+    }
+}
@@ -0,0 +1,179 @@
+package software.amazon.fsx.datarepositoryassociation;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.fsx.model.AutoExportPolicy;
+import software.amazon.awssdk.services.fsx.model.AutoImportPolicy;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryAssociation;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryLifecycle;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsResponse;
+import software.amazon.awssdk.services.fsx.model.EventType;
+import software.amazon.awssdk.services.fsx.model.S3DataRepositoryConfiguration;
+import software.amazon.awssdk.services.fsx.model.Tag;
+import software.amazon.awssdk.services.fsx.model.UpdateDataRepositoryAssociationResponse;
+import software.amazon.cloudformation.proxy.StdCallbackContext;
+import software.amazon.cloudformation.resource.Serializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of serializing and deserializing the callback context handed back on each IN_PROGRESS hand-off of an
+ *  update that changes every property, while one of its steps is pending: once with every call record the proxy keeps,
+ *  as {@link StdCallbackContext} serializes them, and once as the checkpoint {@link CallbackContext} serializes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContextSerializationBenchmark {
+    private static final String ASSOCIATION_ID = "dra-0123456789abcdef0";
+    private static final int TAGS = 50;
+    private static final Step[] UPDATE_STEPS = {Step.PRE_UPDATE_CHECK, Step.UPDATE_CHUNK_SIZE,
+            Step.UPDATE_S3_AUTO_IMPORT, Step.UPDATE_S3_AUTO_EXPORT, Step.UPDATE_TAGS};
+
+    @Param({"PRE_UPDATE_CHECK", "UPDATE_CHUNK_SIZE", "UPDATE_S3_AUTO_IMPORT", "UPDATE_S3_AUTO_EXPORT", "UPDATE_TAGS"})
+    public String pendingStep;
+
+    private Serializer serializer;
+    private StdCallbackContext everyCall;
+    private CallbackContext checkpoint;
+    private String everyCallJson;
+    private String checkpointJson;
+
+    @Setup
+    public void setup() throws IOException {
+        final ResourceModel model = ResourceModel.builder()
+                .associationId(ASSOCIATION_ID)
+                .fileSystemId("fs-0123456789abcdef0")
+                .fileSystemPath("/ns1")
+                .dataRepositoryPath("s3://bucket/prefix")
+                .importedFileChunkSize(4096)
+                .s3(S3.builder()
+                        .autoImportPolicy(software.amazon.fsx.datarepositoryassociation.AutoImportPolicy.builder()
+                                .events(EventMask.fromBits(7).toEventNames())
+                                .build())
+                        .autoExportPolicy(software.amazon.fsx.datarepositoryassociation.AutoExportPolicy.builder()
+                                .events(EventMask.fromBits(7).toEventNames())
+                                .build())
+                        .build())
+                .build();
+        final DataRepositoryAssociation association = association();
+        final DescribeDataRepositoryAssociationsResponse describeResponse =
+                DescribeDataRepositoryAssociationsResponse.builder().associations(association).build();
+        final UpdateDataRepositoryAssociationResponse updateResponse =
+                UpdateDataRepositoryAssociationResponse.builder().association(association).build();
+
+        // Replays the update up to the pending step, as the contexts would be after each earlier hand-off.
+        serializer = new Serializer();
+        everyCall = new StdCallbackContext();
+        checkpoint = new CallbackContext();
+        final Step pending = Step.valueOf(pendingStep);
+        for (final Step step : UPDATE_STEPS) {
+            record(everyCall, step, model, describeResponse, updateResponse);
+            record(checkpoint, step, model, describeResponse, updateResponse);
+            checkpoint.setAssociation(DraSnapshot.of(association, System.currentTimeMillis()));
+            if (step == pending) {
+                if (step != Step.PRE_UPDATE_CHECK && step != Step.UPDATE_TAGS) {
+                    checkpoint.setStabilizing(step);
+                }
+                break;
+            }
+            checkpoint.complete(step, System.currentTimeMillis());
+        }
+        everyCallJson = serializer.serialize(everyCall);
+        checkpointJson = serializer.serialize(checkpoint);
+    }
+
+    @Benchmark
+    public String serializeEveryCall() throws IOException {
+        return serializer.serialize(everyCall);
+    }
+
+    @Benchmark
+    public StdCallbackContext deserializeEveryCall() throws IOException {
+        return serializer.deserialize(everyCallJson, new TypeReference<StdCallbackContext>() { });
+    }
+
+    @Benchmark
+    public String serializeCheckpoint() throws IOException {
+        return serializer.serialize(checkpoint);
+    }
+
+    @Benchmark
+    public CallbackContext deserializeCheckpoint() throws IOException {
+        return serializer.deserialize(checkpointJson, new TypeReference<CallbackContext>() { });
+    }
+
+    /**
+     * Records the calls the proxy would make for a step, as it does before the step stabilizes.
+     */
+    private static void record(final StdCallbackContext context,
+                               final Step step,
+                               final ResourceModel model,
+                               final DescribeDataRepositoryAssociationsResponse describeResponse,
+                               final UpdateDataRepositoryAssociationResponse updateResponse) {
+        final String callGraph = step.getCallGraph();
+        switch (step) {
+            case UPDATE_CHUNK_SIZE:
+                context.request(callGraph, Translator::translateToUpdateImportedFileChunkSize).apply(model);
+                context.response(callGraph, (request, client) -> updateResponse).apply(null, null);
+                context.attempts(callGraph, 1);
+                break;
+            case UPDATE_S3_AUTO_IMPORT:
+                context.request(callGraph, Translator::updateS3ImportPolicy).apply(model);
+                context.response(callGraph, (request, client) -> updateResponse).apply(null, null);
+                context.attempts(callGraph, 1);
+                break;
+            case UPDATE_S3_AUTO_EXPORT:
+                context.request(callGraph, Translator::updateS3ExportPolicy).apply(model);
+                context.response(callGraph, (request, client) -> updateResponse).apply(null, null);
+                context.attempts(callGraph, 1);
+                break;
+            default:
+                context.request(callGraph, Translator::translateToReadRequest).apply(model);
+                context.response(callGraph, (request, client) -> describeResponse).apply(null, null);
+                break;
+        }
+    }
+
+    private static DataRepositoryAssociation association() {
+        final List<Tag> tags = new ArrayList<>(TAGS);
+        for (int i = 0; i < TAGS; i++) {
+            tags.add(Tag.builder().key("key-" + i).value("value-" + i).build());
+        }
+        return DataRepositoryAssociation.builder()
+                .associationId(ASSOCIATION_ID)
+                .resourceARN("arn:aws:fsx:us-east-1:123456789012:association/fs-0123456789abcdef0/" + ASSOCIATION_ID)
+                .fileSystemId("fs-0123456789abcdef0")
+                .fileSystemPath("/ns1")
+                .dataRepositoryPath("s3://bucket/prefix")
+                .lifecycle(DataRepositoryLifecycle.UPDATING)
+                .importedFileChunkSize(4096)
+                .batchImportMetaDataOnCreate(false)
+                .s3(S3DataRepositoryConfiguration.builder()
+                        .autoImportPolicy(AutoImportPolicy.builder()
+                                .events(EventType.NEW, EventType.CHANGED, EventType.DELETED)
+                                .build())
+                        .autoExportPolicy(AutoExportPolicy.builder()
+                                .events(EventType.NEW, EventType.CHANGED, EventType.DELETED)
+                                .build())
+                        .build())
+                .tags(tags)
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package software.amazon.fsx.datarepositoryassociation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.fsx.FSxClient;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsRequest;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsResponse;
+import software.amazon.awssdk.services.fsx.model.UpdateDataRepositoryAssociationRequest;
+import software.amazon.awssdk.services.fsx.model.UpdateDataRepositoryAssociationResponse;
+import software.amazon.fsx.testsupport.FakeFsxClient;
+import software.amazon.fsx.testsupport.FsxSimulator;
+import software.amazon.fsx.testsupport.LocalFsxEndpoint;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the FSx calls the handlers make most, once served in process by a {@link FakeFsxClient} and once over
+ *  HTTP by a {@link LocalFsxEndpoint} backed by the same simulator, through the client {@link ClientBuilder} builds for
+ *  a FSX_ENDPOINT_URL. The difference is the cost of marshalling, signing and the HTTP round trip. The calls are
+ *  sampled, so the results include the p50 and p99 latencies.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HttpPathBenchmark {
+    private static final String FILE_SYSTEM_ID = "fs-0123456789abcdef0";
+
+    private FakeFsxClient inProcess;
+    private LocalFsxEndpoint endpoint;
+    private FSxClient overHttp;
+    private DescribeDataRepositoryAssociationsRequest describeRequest;
+    private UpdateDataRepositoryAssociationRequest updateRequest;
+
+    @Setup
+    public void setup() throws IOException {
+        // The endpoint ignores signatures, but the client still needs a region and credentials to sign with.
+        setPropertyIfAbsent("aws.region", "us-east-1");
+        setPropertyIfAbsent("aws.accessKeyId", "access");
+        setPropertyIfAbsent("aws.secretAccessKey", "secret");
+
+        inProcess = new FakeFsxClient(FsxSimulator.builder().fileSystems(FILE_SYSTEM_ID).build());
+        final String associationId = inProcess.createDataRepositoryAssociation(request -> request
+                        .fileSystemId(FILE_SYSTEM_ID)
+                        .fileSystemPath("/ns1")
+                        .dataRepositoryPath("s3://bucket/prefix"))
+                .association()
+                .associationId();
+        describeRequest = DescribeDataRepositoryAssociationsRequest.builder()
+                .associationIds(associationId)
+                .build();
+        updateRequest = UpdateDataRepositoryAssociationRequest.builder()
+                .associationId(associationId)
+                .importedFileChunkSize(2048)
+                .build();
+
+        endpoint = new LocalFsxEndpoint(inProcess);
+        overHttp = ClientBuilder.getClient(endpoint.getEndpoint());
+    }
+
+    @TearDown
+    public void tearDown() {
+        overHttp.close();
+        endpoint.close();
+    }
+
+    @Benchmark
+    public DescribeDataRepositoryAssociationsResponse describeInProcess() {
+        return inProcess.describeDataRepositoryAssociations(describeRequest);
+    }
+
+    @Benchmark
+    public DescribeDataRepositoryAssociationsResponse describeOverHttp() {
+        return overHttp.describeDataRepositoryAssociations(describeRequest);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public DescribeDataRepositoryAssociationsResponse describeOverHttpConcurrently() {
+        // The threads share the client's connection pool, as concurrent calls in one container do.
+        return overHttp.describeDataRepositoryAssociations(describeRequest);
+    }
+
+    @Benchmark
+    public UpdateDataRepositoryAssociationResponse updateInProcess() {
+        return inProcess.updateDataRepositoryAssociation(updateRequest);
+    }
+
+    @Benchmark
+    public UpdateDataRepositoryAssociationResponse updateOverHttp() {
+        return overHttp.updateDataRepositoryAssociation(updateRequest);
+    }
+
+    private static void setPropertyIfAbsent(final String key, final String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package software.amazon.fsx.datarepositoryassociation;
+
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.cloudformation.resource.Validator;
+import software.amazon.cloudformation.resource.exceptions.ValidationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of validating a model against the resource schema the way the wrapper does on every invocation, with the
+ *  schema loaded each time as before it was cached, and with the schema {@link Configuration} shares.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SchemaValidationBenchmark {
+    private static final String SCHEMA_FILENAME = "aws-fsx-datarepositoryassociation.json";
+
+    // Relative to the repository root, where the benchmarks are run from.
+    @Param("aws-fsx-datarepositoryassociation/inputs")
+    public String inputs;
+
+    @Param({"inputs_1_create.json", "inputs_1_update.json", "inputs_1_invalid.json"})
+    public String input;
+
+    private String model;
+    private Configuration configuration;
+    private Validator validator;
+
+    @Setup
+    public void setup() throws IOException {
+        model = new String(Files.readAllBytes(Paths.get(inputs, input)), StandardCharsets.UTF_8);
+        configuration = new Configuration();
+        validator = new Validator();
+    }
+
+    @Benchmark
+    public boolean schemaLoadedPerInvocation() {
+        return validate(loadSchema());
+    }
+
+    @Benchmark
+    public boolean cachedSchema() {
+        return validate(configuration.resourceSchemaJSONObject());
+    }
+
+    private boolean validate(final JSONObject schema) {
+        try {
+            // The wrapper builds the model JSON from the request on every invocation as well.
+            validator.validateObject(new JSONObject(model), schema);
+            return true;
+        } catch (final ValidationException e) {
+            // Invalid payloads are measured too; rejecting them is part of the cost.
+            return false;
+        }
+    }
+
+    private static JSONObject loadSchema() {
+        try (InputStream schema = SchemaValidationBenchmark.class.getClassLoader().getResourceAsStream(SCHEMA_FILENAME)) {
+            return new JSONObject(new JSONTokener(schema));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package software.amazon.fsx.datarepositoryassociation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.fsx.benchmarks.BenchmarkTags;
+import software.amazon.fsx.common.handler.TagDiff;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Throughput of merging the stack tags of an update request with the tags of the previous and desired models, and of
+ *  diffing them without the merge.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TagHelperBenchmark {
+    private static final int RESOURCE_TAGS = 50;
+    private static final int STACK_TAGS = 10;
+
+    private List<Tag> resourceTags;
+    private ResourceHandlerRequest<ResourceModel> request;
+
+    @Setup
+    public void setup() {
+        resourceTags = BenchmarkTags.map("resource", RESOURCE_TAGS).entrySet().stream()
+                .map(entry -> Tag.builder().key(entry.getKey()).value(entry.getValue()).build())
+                .collect(Collectors.toList());
+        final ResourceModel model = ResourceModel.builder()
+                .associationId("dra-0123456789abcdef0")
+                .tags(resourceTags)
+                .build();
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(model)
+                .desiredResourceState(model)
+                .previousResourceTags(BenchmarkTags.map("stack", STACK_TAGS))
+                .desiredResourceTags(BenchmarkTags.map("stack", STACK_TAGS))
+                .build();
+    }
+
+    @Benchmark
+    public Map<String, String> convertToMap() {
+        return TagHelper.convertToMap(resourceTags);
+    }
+
+    @Benchmark
+    public Map<String, String> getPreviouslyAttachedTags() {
+        return TagHelper.getPreviouslyAttachedTags(request);
+    }
+
+    @Benchmark
+    public Map<String, String> getNewDesiredTags() {
+        return TagHelper.getNewDesiredTags(request.getDesiredResourceState(), request);
+    }
+
+    @Benchmark
+    public TagDiff diffTags() {
+        return TagHelper.diffTags(request);
+    }
+}
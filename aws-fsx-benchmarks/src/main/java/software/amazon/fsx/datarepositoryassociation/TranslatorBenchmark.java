@@ -0,0 +1,142 @@
+package software.amazon.fsx.datarepositoryassociation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.fsx.model.CreateDataRepositoryAssociationRequest;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryAssociation;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryLifecycle;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsResponse;
+import software.amazon.awssdk.services.fsx.model.EventType;
+import software.amazon.awssdk.services.fsx.model.S3DataRepositoryConfiguration;
+import software.amazon.fsx.benchmarks.BenchmarkTags;
+import software.amazon.fsx.common.handler.Tagging;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Throughput of the translations every create, read and list goes through.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TranslatorBenchmark {
+    private static final int RESOURCE_TAGS = 50;
+    private static final int LIST_PAGE_SIZE = 1000;
+    private static final String FILE_SYSTEM_ID = "fs-0123456789abcdef0";
+
+    private ResourceModel model;
+    private Map<String, String> stackTags;
+    private Map<String, String> systemTags;
+    private DataRepositoryAssociation association;
+    private DescribeDataRepositoryAssociationsResponse readResponse;
+    private DescribeDataRepositoryAssociationsResponse listResponse;
+
+    @Setup
+    public void setup() {
+        final List<String> events = Arrays.asList(EventType.NEW.toString(), EventType.CHANGED.toString(),
+                EventType.DELETED.toString());
+        final List<Tag> tags = IntStream.range(0, RESOURCE_TAGS)
+                .mapToObj(i -> Tag.builder().key("key-" + i).value("value-" + i).build())
+                .collect(Collectors.toList());
+        model = ResourceModel.builder()
+                .fileSystemId(FILE_SYSTEM_ID)
+                .fileSystemPath("/ns1")
+                .dataRepositoryPath("s3://bucket/prefix")
+                .batchImportMetaDataOnCreate(true)
+                .importedFileChunkSize(1024)
+                .s3(S3.builder()
+                        .autoImportPolicy(AutoImportPolicy.builder().events(new HashSet<>(events)).build())
+                        .autoExportPolicy(AutoExportPolicy.builder().events(new HashSet<>(events)).build())
+                        .build())
+                .tags(tags)
+                .build();
+        stackTags = BenchmarkTags.map("stack", 10);
+        systemTags = BenchmarkTags.map("aws:cloudformation:stack", 3);
+
+        association = association("dra-0123456789abcdef0")
+                .s3(S3DataRepositoryConfiguration.builder()
+                        .autoImportPolicy(software.amazon.awssdk.services.fsx.model.AutoImportPolicy.builder()
+                                .eventsWithStrings(events)
+                                .build())
+                        .autoExportPolicy(software.amazon.awssdk.services.fsx.model.AutoExportPolicy.builder()
+                                .eventsWithStrings(events)
+                                .build())
+                        .build())
+                .tags(Translator.translateTagsToSdk(tags))
+                .build();
+        readResponse = DescribeDataRepositoryAssociationsResponse.builder().associations(association).build();
+
+        final List<DataRepositoryAssociation> page = new ArrayList<>(LIST_PAGE_SIZE);
+        for (int i = 0; i < LIST_PAGE_SIZE; i++) {
+            page.add(association(String.format("dra-%017x", i)).build());
+        }
+        listResponse = DescribeDataRepositoryAssociationsResponse.builder()
+                .associations(page)
+                .nextToken("next")
+                .build();
+    }
+
+    @Benchmark
+    public CreateDataRepositoryAssociationRequest translateToCreateRequest() {
+        // The tags are merged and validated as CreateHandler does right before translating.
+        return Translator.translateToCreateRequest(model,
+                Tagging.mergeAndValidateTags(model.getTags(), Tag::getKey, Tag::getValue, stackTags, systemTags),
+                "token");
+    }
+
+    @Benchmark
+    public ResourceModel translateFromReadResponse() {
+        return Translator.translateFromReadResponse(readResponse, association.associationId());
+    }
+
+    @Benchmark
+    public List<ResourceModel> translateFromListRequest() {
+        return Translator.translateFromListRequest(listResponse);
+    }
+
+    @Benchmark
+    public S3DataRepositoryConfiguration convertS3ModelToSDK() {
+        return Translator.convertS3ModelToSDK(model);
+    }
+
+    @Benchmark
+    public S3 convertS3SDKToModel() {
+        return Translator.convertS3SDKToModel(association);
+    }
+
+    @Benchmark
+    public boolean shouldUpdateS3ImportPolicy() {
+        // What each update step does after describing the association.
+        return Translator.shouldUpdateS3ImportPolicy(Translator.convertS3SDKToModel(association), model.getS3());
+    }
+
+    private static DataRepositoryAssociation.Builder association(final String associationId) {
+        return DataRepositoryAssociation.builder()
+                .associationId(associationId)
+                .resourceARN("arn:aws:fsx:us-east-1:123456789012:association/" + FILE_SYSTEM_ID + "/" + associationId)
+                .fileSystemId(FILE_SYSTEM_ID)
+                .lifecycle(DataRepositoryLifecycle.AVAILABLE)
+                .fileSystemPath("/ns1")
+                .dataRepositoryPath("s3://bucket/prefix")
+                .batchImportMetaDataOnCreate(true)
+                .importedFileChunkSize(1024);
+    }
+}
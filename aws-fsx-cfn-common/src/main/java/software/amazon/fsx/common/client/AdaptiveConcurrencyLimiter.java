@@ -0,0 +1,114 @@
+package software.amazon.fsx.common.client;
+
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the number of service calls in flight with additive-increase/multiplicative-decrease (AIMD). Each successful
+ *  call raises the limit by 1/limit, so the limit grows by about one per round of calls, and each overloaded call
+ *  halves it. Meant to be held in a static field so that every handler invocation in the container shares it.
+ */
+public final class AdaptiveConcurrencyLimiter {
+    private static final double DECREASE_FACTOR = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long maxWaitMillis;
+
+    private double limit;
+    private int inFlight;
+    private int queueDepth;
+
+    /**
+     * The result of a call, used to adjust the limit.
+     */
+    public enum Outcome {
+        SUCCESS,
+        OVERLOAD,
+        IGNORED
+    }
+
+    /**
+     * @param initialLimit The number of calls allowed in flight before any feedback.
+     * @param minLimit The lowest the limit can drop to.
+     * @param maxLimit The highest the limit can grow to.
+     * @param maxWaitMillis The longest a call may wait for a slot before it is treated as throttled.
+     */
+    public AdaptiveConcurrencyLimiter(final int initialLimit,
+                                      final int minLimit,
+                                      final int maxLimit,
+                                      final long maxWaitMillis) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= initial <= max.");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /**
+     * Waits for a slot to send a call.
+     * @param operation The name of the operation, used in the error message.
+     * @throws CfnThrottlingException If no slot became available within the wait budget.
+     */
+    public synchronized void acquire(final String operation) throws CfnThrottlingException {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        queueDepth++;
+        try {
+            while (inFlight >= getLimit()) {
+                final long remainingNanos = deadline - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    throw new CfnThrottlingException(
+                            String.format("%s was throttled by the local concurrency limiter.", operation));
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CfnThrottlingException(operation, e);
+        } finally {
+            queueDepth--;
+        }
+        inFlight++;
+    }
+
+    /**
+     * Gives back a slot taken by {@link #acquire(String)} and adjusts the limit.
+     * @param outcome The result of the call.
+     */
+    public synchronized void release(final Outcome outcome) {
+        inFlight--;
+        if (outcome == Outcome.SUCCESS) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        } else if (outcome == Outcome.OVERLOAD) {
+            limit = Math.max(minLimit, limit * DECREASE_FACTOR);
+        }
+        notifyAll();
+    }
+
+    /**
+     * The number of calls currently allowed in flight.
+     * @return The current limit.
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * The number of calls currently in flight.
+     * @return The calls in flight.
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * The number of calls waiting for a slot.
+     * @return The queue depth.
+     */
+    public synchronized int getQueueDepth() {
+        return queueDepth;
+    }
+}
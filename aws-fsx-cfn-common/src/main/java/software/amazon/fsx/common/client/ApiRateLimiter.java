@@ -0,0 +1,48 @@
+package software.amazon.fsx.common.client;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Limits the rate of service calls made from one container, with a separate token bucket per {@link OperationType}.
+ *  Meant to be held in a static field so that every handler invocation in the container shares it.
+ */
+public final class ApiRateLimiter {
+    private final Map<OperationType, TokenBucket> buckets = new EnumMap<>(OperationType.class);
+    private final long maxWaitMillis;
+
+    /**
+     * @param describeBucket The bucket for read-only calls.
+     * @param mutateBucket The bucket for mutating calls.
+     * @param maxWaitMillis The longest a call may wait for a token before it is treated as throttled.
+     */
+    public ApiRateLimiter(final TokenBucket describeBucket,
+                          final TokenBucket mutateBucket,
+                          final long maxWaitMillis) {
+        buckets.put(OperationType.DESCRIBE, describeBucket);
+        buckets.put(OperationType.MUTATE, mutateBucket);
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /**
+     * Waits for permission to send the request.
+     * @param request The request about to be sent.
+     * @throws CfnThrottlingException If no token became available within the wait budget.
+     */
+    public void acquire(final AwsRequest request) throws CfnThrottlingException {
+        final String operation = request.getClass().getSimpleName();
+        final boolean acquired;
+        try {
+            acquired = buckets.get(OperationType.of(request)).tryAcquire(maxWaitMillis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CfnThrottlingException(operation, e);
+        }
+        if (!acquired) {
+            throw new CfnThrottlingException(String.format("%s was throttled by the local rate limiter.", operation));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package software.amazon.fsx.common.client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps every call an invocation made, in the order they completed, so the calls of a handler can be counted and held
+ *  to a budget.
+ */
+public final class CallLedger implements CallListener {
+    private final List<CallRecord> calls = new ArrayList<>();
+
+    @Override
+    public synchronized void onCall(final CallRecord call) {
+        calls.add(call);
+    }
+
+    /**
+     * @return The calls made so far, in the order they completed.
+     */
+    public synchronized List<CallRecord> getCalls() {
+        return Collections.unmodifiableList(new ArrayList<>(calls));
+    }
+
+    /**
+     * @return How many calls were made.
+     */
+    public synchronized int count() {
+        return calls.size();
+    }
+
+    /**
+     * @param operation The name of an operation, such as DescribeDataRepositoryAssociations.
+     * @return How many calls were made to it.
+     */
+    public synchronized int count(final String operation) {
+        int count = 0;
+        for (final CallRecord call : calls) {
+            if (call.getOperation().equals(operation)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return How many calls were made to each operation, in the order of their first call.
+     */
+    public synchronized Map<String, Integer> countByOperation() {
+        final Map<String, Integer> counts = new LinkedHashMap<>();
+        for (final CallRecord call : calls) {
+            counts.merge(call.getOperation(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Forgets every call made so far.
+     */
+    public synchronized void clear() {
+        calls.clear();
+    }
+
+    @Override
+    public String toString() {
+        return countByOperation().toString();
+    }
+}
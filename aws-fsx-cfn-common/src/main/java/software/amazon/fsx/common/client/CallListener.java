@@ -0,0 +1,36 @@
+package software.amazon.fsx.common.client;
+
+/**
+ * Told about every call an {@link InstrumentedProxyClient} makes, once the call completes. Calls made by hedging or
+ *  async clients may complete on other threads, so listeners must be thread-safe.
+ */
+@FunctionalInterface
+public interface CallListener {
+    /**
+     * Ignores every call. Instrumenting a client with it leaves the client as it is, so calls cost nothing extra.
+     */
+    CallListener NOOP = call -> { };
+
+    /**
+     * @param call The completed call.
+     */
+    void onCall(CallRecord call);
+
+    /**
+     * @param first A listener.
+     * @param second Another listener.
+     * @return A listener telling both about every call, or just one of them if the other is {@link #NOOP}.
+     */
+    static CallListener both(final CallListener first, final CallListener second) {
+        if (first == NOOP) {
+            return second;
+        }
+        if (second == NOOP) {
+            return first;
+        }
+        return call -> {
+            first.onCall(call);
+            second.onCall(call);
+        };
+    }
+}
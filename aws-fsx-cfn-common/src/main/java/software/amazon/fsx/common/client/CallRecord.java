@@ -0,0 +1,91 @@
+package software.amazon.fsx.common.client;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+
+/**
+ * One completed service call: the type of its request, how long it took, the size of its response and how it ended.
+ */
+public final class CallRecord {
+    /**
+     * The response size of a call that failed or whose response didn't tell its size.
+     */
+    public static final long UNKNOWN_SIZE = -1L;
+
+    private static final String REQUEST_SUFFIX = "Request";
+    private static final ClassValue<String> OPERATION_NAMES = new ClassValue<String>() {
+        @Override
+        protected String computeValue(final Class<?> requestClass) {
+            final String requestName = requestClass.getSimpleName();
+            return requestName.endsWith(REQUEST_SUFFIX)
+                    ? requestName.substring(0, requestName.length() - REQUEST_SUFFIX.length())
+                    : requestName;
+        }
+    };
+
+    private final Class<? extends AwsRequest> requestType;
+    private final long latencyNanos;
+    private final long responseBytes;
+    private final Throwable error;
+
+    /**
+     * @param requestType The type of the request.
+     * @param latencyNanos How long the call took in nanoseconds.
+     * @param responseBytes The size of the response body in bytes, or {@link #UNKNOWN_SIZE}.
+     * @param error The error the call failed with, or null if it succeeded.
+     */
+    public CallRecord(final Class<? extends AwsRequest> requestType,
+                      final long latencyNanos,
+                      final long responseBytes,
+                      final Throwable error) {
+        this.requestType = requestType;
+        this.latencyNanos = latencyNanos;
+        this.responseBytes = responseBytes;
+        this.error = error;
+    }
+
+    /**
+     * @param requestType The type of an SDK request.
+     * @return The name of its operation, such as DescribeDataRepositoryAssociations.
+     */
+    public static String operationName(final Class<?> requestType) {
+        return OPERATION_NAMES.get(requestType);
+    }
+
+    public Class<? extends AwsRequest> getRequestType() {
+        return requestType;
+    }
+
+    /**
+     * @return The name of the operation called, such as DescribeDataRepositoryAssociations.
+     */
+    public String getOperation() {
+        return operationName(requestType);
+    }
+
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    /**
+     * @return The size of the response body in bytes, or {@link #UNKNOWN_SIZE}.
+     */
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    /**
+     * @return The error the call failed with, or null if it succeeded.
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return getOperation() + (isSuccess() ? " succeeded" : " failed") + " in " + latencyNanos / 1_000_000 + " ms";
+    }
+}
@@ -0,0 +1,102 @@
+package software.amazon.fsx.common.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A consecutive-failure circuit breaker. After {@code failureThreshold} failures in a row the circuit opens and calls
+ *  are rejected without reaching the service. Once {@code openMillis} have passed a single probe call is let through
+ *  (half-open); its outcome closes the circuit or opens it again. Meant to be held in a static field so that every
+ *  handler invocation in the container shares it.
+ */
+public final class CircuitBreaker {
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean probeInFlight;
+
+    /**
+     * The states of the circuit.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * @param failureThreshold The number of consecutive failures that opens the circuit.
+     * @param openMillis How long the circuit stays open before a probe is allowed.
+     */
+    public CircuitBreaker(final int failureThreshold, final long openMillis) {
+        this(failureThreshold, openMillis, System::nanoTime);
+    }
+
+    CircuitBreaker(final int failureThreshold, final long openMillis, final LongSupplier nanoClock) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Circuit breaker needs a failure threshold of at least 1.");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Asks for permission to send a call.
+     * @return If the call may be sent. A caller that gets true must report the outcome.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAtNanos >= openNanos) {
+            state = State.HALF_OPEN;
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && !probeInFlight) {
+            probeInFlight = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reports that a call got a healthy response.
+     */
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        state = State.CLOSED;
+    }
+
+    /**
+     * Reports that a call failed with a server error or timed out.
+     */
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAtNanos = nanoClock.getAsLong();
+        }
+        probeInFlight = false;
+    }
+
+    /**
+     * Gives back the permission for a call that never reached the service, such as one rejected locally, without
+     *  counting it either way.
+     */
+    public synchronized void release() {
+        probeInFlight = false;
+    }
+
+    /**
+     * The current state of the circuit.
+     * @return The state.
+     */
+    public synchronized State getState() {
+        return state;
+    }
+}
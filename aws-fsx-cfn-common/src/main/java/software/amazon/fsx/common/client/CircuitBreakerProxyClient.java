@@ -0,0 +1,91 @@
+package software.amazon.fsx.common.client;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Rejects calls with a {@link CircuitOpenException} while the {@link CircuitBreaker} is open, and reports server errors
+ *  and timeouts to it. Calls a local limiter rejected with a {@link CfnThrottlingException} never reached the service,
+ *  so they are reported as neither.
+ * @param <ClientT> The type of the SDK client.
+ */
+public class CircuitBreakerProxyClient<ClientT> extends ForwardingProxyClient<ClientT> {
+    private final CircuitBreaker circuitBreaker;
+
+    public CircuitBreakerProxyClient(final ProxyClient<ClientT> delegate,
+                                     final CircuitBreaker circuitBreaker) {
+        super(delegate);
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+            final RequestT request,
+            final Function<RequestT, ResponseT> requestFunction) {
+        if (!circuitBreaker.tryAcquire()) {
+            throw new CircuitOpenException(request.getClass().getSimpleName());
+        }
+        boolean reported = false;
+        try {
+            final ResponseT response = super.injectCredentialsAndInvokeV2(request, requestFunction);
+            circuitBreaker.onSuccess();
+            reported = true;
+            return response;
+        } catch (final RuntimeException e) {
+            report(e);
+            reported = true;
+            throw e;
+        } finally {
+            // An Error skips the reporting above, and would otherwise hold a half-open circuit's probe forever.
+            if (!reported) {
+                circuitBreaker.release();
+            }
+        }
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> CompletableFuture<ResponseT>
+        injectCredentialsAndInvokeV2Async(final RequestT request,
+                                          final Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+        if (!circuitBreaker.tryAcquire()) {
+            throw new CircuitOpenException(request.getClass().getSimpleName());
+        }
+        CompletableFuture<ResponseT> future = null;
+        boolean reported = false;
+        try {
+            future = super.injectCredentialsAndInvokeV2Async(request, requestFunction);
+        } catch (final RuntimeException e) {
+            report(e);
+            reported = true;
+            throw e;
+        } finally {
+            if (future == null && !reported) {
+                circuitBreaker.release();
+            }
+        }
+        return future.whenComplete((response, throwable) -> {
+            if (throwable == null) {
+                circuitBreaker.onSuccess();
+            } else {
+                report(ErrorClassifier.unwrap(throwable));
+            }
+        });
+    }
+
+    private void report(final Throwable throwable) {
+        if (throwable instanceof CfnThrottlingException) {
+            // Rejected by a local limiter before it was sent, so it says nothing about the endpoint.
+            circuitBreaker.release();
+        } else if (ErrorClassifier.isServerError(throwable) || ErrorClassifier.isTimeout(throwable)) {
+            circuitBreaker.onFailure();
+        } else {
+            // Any other answer, including throttling, means the endpoint is up.
+            circuitBreaker.onSuccess();
+        }
+    }
+}
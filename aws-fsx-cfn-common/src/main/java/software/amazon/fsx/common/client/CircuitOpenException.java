@@ -0,0 +1,13 @@
+package software.amazon.fsx.common.client;
+
+/**
+ * Thrown instead of sending a call while the {@link CircuitBreaker} is open.
+ */
+public class CircuitOpenException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public CircuitOpenException(final String operation) {
+        super(String.format("%s was not sent because the circuit breaker is open after repeated service failures.",
+                operation));
+    }
+}
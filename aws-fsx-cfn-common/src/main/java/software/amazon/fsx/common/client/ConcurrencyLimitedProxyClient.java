@@ -0,0 +1,64 @@
+package software.amazon.fsx.common.client;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Holds a slot of an {@link AdaptiveConcurrencyLimiter} for the duration of every call, and feeds the outcome of the
+ *  call back into the limiter.
+ * @param <ClientT> The type of the SDK client.
+ */
+public class ConcurrencyLimitedProxyClient<ClientT> extends ForwardingProxyClient<ClientT> {
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public ConcurrencyLimitedProxyClient(final ProxyClient<ClientT> delegate,
+                                         final AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        super(delegate);
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+            final RequestT request,
+            final Function<RequestT, ResponseT> requestFunction) {
+        concurrencyLimiter.acquire(request.getClass().getSimpleName());
+        AdaptiveConcurrencyLimiter.Outcome outcome = AdaptiveConcurrencyLimiter.Outcome.IGNORED;
+        try {
+            final ResponseT response = super.injectCredentialsAndInvokeV2(request, requestFunction);
+            outcome = AdaptiveConcurrencyLimiter.Outcome.SUCCESS;
+            return response;
+        } catch (final RuntimeException e) {
+            outcome = outcomeOf(e);
+            throw e;
+        } finally {
+            concurrencyLimiter.release(outcome);
+        }
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> CompletableFuture<ResponseT>
+        injectCredentialsAndInvokeV2Async(final RequestT request,
+                                          final Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+        concurrencyLimiter.acquire(request.getClass().getSimpleName());
+        final CompletableFuture<ResponseT> future;
+        try {
+            future = super.injectCredentialsAndInvokeV2Async(request, requestFunction);
+        } catch (final RuntimeException e) {
+            concurrencyLimiter.release(outcomeOf(e));
+            throw e;
+        }
+        return future.whenComplete((response, throwable) -> concurrencyLimiter.release(throwable == null
+                ? AdaptiveConcurrencyLimiter.Outcome.SUCCESS
+                : outcomeOf(ErrorClassifier.unwrap(throwable))));
+    }
+
+    private static AdaptiveConcurrencyLimiter.Outcome outcomeOf(final Throwable throwable) {
+        return ErrorClassifier.isThrottling(throwable) || ErrorClassifier.isServerError(throwable)
+                ? AdaptiveConcurrencyLimiter.Outcome.OVERLOAD
+                : AdaptiveConcurrencyLimiter.Outcome.IGNORED;
+    }
+}
@@ -0,0 +1,13 @@
+package software.amazon.fsx.common.client;
+
+/**
+ * The few kinds of failure a service call is reported under, so that metrics keep a small, fixed set of dimension
+ *  values whatever the service model throws.
+ */
+public enum ErrorClass {
+    THROTTLING,
+    SERVER_ERROR,
+    TIMEOUT,
+    CLIENT_ERROR,
+    OTHER
+}
@@ -0,0 +1,91 @@
+package software.amazon.fsx.common.client;
+
+import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
+
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Classifies errors returned from service calls independently of the service model, from the SDK exception types and
+ *  the HTTP status code alone.
+ */
+public final class ErrorClassifier {
+    private static final int HTTP_STATUS_SERVER_ERROR = 500;
+
+    private ErrorClassifier() {
+    }
+
+    /**
+     * Determines if the error means the call was throttled, either by the service or by a local rate limiter.
+     * @param throwable The error to classify.
+     * @return If the call was throttled.
+     */
+    public static boolean isThrottling(final Throwable throwable) {
+        if (throwable instanceof CfnThrottlingException) {
+            return true;
+        }
+        return throwable instanceof SdkServiceException && ((SdkServiceException) throwable).isThrottlingException();
+    }
+
+    /**
+     * Determines if the error is a server-side (5xx) failure.
+     * @param throwable The error to classify.
+     * @return If the service failed the call.
+     */
+    public static boolean isServerError(final Throwable throwable) {
+        return throwable instanceof SdkServiceException
+                && ((SdkServiceException) throwable).statusCode() >= HTTP_STATUS_SERVER_ERROR;
+    }
+
+    /**
+     * Determines if the call timed out before the service answered.
+     * @param throwable The error to classify.
+     * @return If the call timed out.
+     */
+    public static boolean isTimeout(final Throwable throwable) {
+        if (throwable instanceof ApiCallTimeoutException || throwable instanceof ApiCallAttemptTimeoutException) {
+            return true;
+        }
+        return throwable instanceof SdkClientException && throwable.getCause() instanceof SocketTimeoutException;
+    }
+
+    /**
+     * Classifies an error into one of the kinds of failure metrics are reported under.
+     * @param throwable The error to classify, possibly wrapped by a future.
+     * @return The kind of failure.
+     */
+    public static ErrorClass classify(final Throwable throwable) {
+        final Throwable cause = unwrap(throwable);
+        if (isThrottling(cause)) {
+            return ErrorClass.THROTTLING;
+        }
+        if (isServerError(cause)) {
+            return ErrorClass.SERVER_ERROR;
+        }
+        if (isTimeout(cause)) {
+            return ErrorClass.TIMEOUT;
+        }
+        if (cause instanceof SdkServiceException) {
+            return ErrorClass.CLIENT_ERROR;
+        }
+        return ErrorClass.OTHER;
+    }
+
+    /**
+     * Strips the wrappers futures put around the error of an asynchronous call.
+     * @param throwable The error a future completed with.
+     * @return The error the call failed with.
+     */
+    public static Throwable unwrap(final Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
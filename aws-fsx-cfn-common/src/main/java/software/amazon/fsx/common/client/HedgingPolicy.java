@@ -0,0 +1,81 @@
+package software.amazon.fsx.common.client;
+
+/**
+ * Decides when a slow read-only call should be hedged with a second identical call. A hedge is sent once the first
+ *  call has been outstanding for longer than the observed latency percentile, and only while the hedge budget lasts:
+ *  every call earns a fraction of a hedge, so hedges can never exceed that fraction of the calls made.
+ */
+public class HedgingPolicy {
+    private final LatencyTracker latencyTracker;
+    private final double percentile;
+    private final int minSamples;
+    private final double hedgesPerCall;
+    private final double maxHedgeBurst;
+    private double hedgeBudget;
+
+    /**
+     * @param latencyTracker The tracker to record latencies in and read the percentile from.
+     * @param percentile The latency percentile after which a call is hedged.
+     * @param minSamples How many latencies must be recorded before any call is hedged.
+     * @param hedgesPerCall The largest share of calls that may be hedged, between 0 and 1.
+     * @param maxHedgeBurst The most hedges that may be saved up while calls are fast.
+     */
+    public HedgingPolicy(final LatencyTracker latencyTracker,
+                         final double percentile,
+                         final int minSamples,
+                         final double hedgesPerCall,
+                         final double maxHedgeBurst) {
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("The percentile must be greater than 0 and at most 1.");
+        }
+        if (hedgesPerCall < 0 || hedgesPerCall > 1) {
+            throw new IllegalArgumentException("The share of hedged calls must be between 0 and 1.");
+        }
+        this.latencyTracker = latencyTracker;
+        this.percentile = percentile;
+        this.minSamples = minSamples;
+        this.hedgesPerCall = hedgesPerCall;
+        this.maxHedgeBurst = maxHedgeBurst;
+    }
+
+    /**
+     * Earns the hedge budget for a new call and tells how long to wait before hedging it.
+     * @return The hedge delay in nanoseconds, or -1 if too few latencies are known to hedge.
+     */
+    public long onCall() {
+        synchronized (this) {
+            hedgeBudget = Math.min(maxHedgeBurst, hedgeBudget + hedgesPerCall);
+        }
+        if (latencyTracker.getSampleCount() < minSamples) {
+            return -1L;
+        }
+        return latencyTracker.percentile(percentile);
+    }
+
+    /**
+     * Spends one hedge from the budget.
+     * @return If a hedge may be sent.
+     */
+    public synchronized boolean tryAcquireHedge() {
+        if (hedgeBudget < 1) {
+            return false;
+        }
+        hedgeBudget -= 1;
+        return true;
+    }
+
+    /**
+     * Gives back a hedge acquired for a call that answered before it had to be sent.
+     */
+    public synchronized void releaseHedge() {
+        hedgeBudget = Math.min(maxHedgeBurst, hedgeBudget + 1);
+    }
+
+    /**
+     * Records the latency of a call that succeeded.
+     * @param latencyNanos The latency in nanoseconds.
+     */
+    public void recordLatency(final long latencyNanos) {
+        latencyTracker.record(latencyNanos);
+    }
+}
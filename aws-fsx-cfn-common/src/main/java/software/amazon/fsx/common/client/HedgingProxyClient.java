@@ -0,0 +1,172 @@
+package software.amazon.fsx.common.client;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Hedges slow read-only calls as decided by a {@link HedgingPolicy}: if the first call hasn't answered after the hedge
+ *  delay, an identical second call is sent and the first successful answer wins. Mutating calls are never hedged, and
+ *  calls run on the caller's thread unless the hedge budget allows a hedge for them.
+ * @param <ClientT> The type of the SDK client.
+ */
+public class HedgingProxyClient<ClientT> extends ForwardingProxyClient<ClientT> {
+    private final HedgingPolicy hedgingPolicy;
+    private final Executor executor;
+
+    /**
+     * @param delegate The proxy client to send calls through.
+     * @param hedgingPolicy The policy that decides when to hedge.
+     * @param executor The executor to run the calls that may be hedged on, while the caller waits for the first
+     *  answer.
+     */
+    public HedgingProxyClient(final ProxyClient<ClientT> delegate,
+                              final HedgingPolicy hedgingPolicy,
+                              final Executor executor) {
+        super(delegate);
+        this.hedgingPolicy = hedgingPolicy;
+        this.executor = executor;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+            final RequestT request,
+            final Function<RequestT, ResponseT> requestFunction) {
+        if (OperationType.of(request) != OperationType.DESCRIBE) {
+            return super.injectCredentialsAndInvokeV2(request, requestFunction);
+        }
+
+        // A call that can't be hedged stays on the caller's thread. The hedge is reserved before the first attempt so
+        // that only calls that may really be hedged are handed to the executor.
+        final long hedgeDelayNanos = hedgingPolicy.onCall();
+        if (hedgeDelayNanos < 0 || !hedgingPolicy.tryAcquireHedge()) {
+            return timedCall(request, requestFunction);
+        }
+
+        final Attempt<ResponseT> first = start(() -> timedCall(request, requestFunction));
+        try {
+            final ResponseT response = first.result.get(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+            hedgingPolicy.releaseHedge();
+            return response;
+        } catch (final TimeoutException e) {
+            final Attempt<ResponseT> hedge = start(() -> timedCall(request, requestFunction));
+            try {
+                return join(firstSuccessful(first.result, hedge.result));
+            } finally {
+                // The losing attempt is interrupted rather than left running on after the invocation returns.
+                first.cancel();
+                hedge.cancel();
+            }
+        } catch (final ExecutionException e) {
+            hedgingPolicy.releaseHedge();
+            throw rethrow(e);
+        } catch (final InterruptedException e) {
+            first.cancel();
+            hedgingPolicy.releaseHedge();
+            Thread.currentThread().interrupt();
+            throw new CfnGeneralServiceException(request.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Runs a call on the executor.
+     * @param call The call.
+     * @param <T> The type of the response.
+     * @return The attempt, whose result completes with the call's response or error.
+     */
+    private <T> Attempt<T> start(final Supplier<T> call) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final FutureTask<Void> task = new FutureTask<>(() -> {
+            try {
+                result.complete(call.get());
+            } catch (final Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+        }, null);
+        executor.execute(task);
+        return new Attempt<>(result, task);
+    }
+
+    private <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT timedCall(
+            final RequestT request,
+            final Function<RequestT, ResponseT> requestFunction) {
+        final long start = System.nanoTime();
+        final ResponseT response = super.injectCredentialsAndInvokeV2(request, requestFunction);
+        hedgingPolicy.recordLatency(System.nanoTime() - start);
+        return response;
+    }
+
+    /**
+     * @return A future that completes with the first of the two to succeed, or with the last error if both fail.
+     */
+    private static <T> CompletableFuture<T> firstSuccessful(final CompletableFuture<T> first,
+                                                            final CompletableFuture<T> second) {
+        final CompletableFuture<T> winner = new CompletableFuture<>();
+        final AtomicInteger failures = new AtomicInteger();
+        first.whenComplete((response, throwable) -> complete(winner, failures, response, throwable));
+        second.whenComplete((response, throwable) -> complete(winner, failures, response, throwable));
+        return winner;
+    }
+
+    private static <T> void complete(final CompletableFuture<T> winner,
+                                     final AtomicInteger failures,
+                                     final T response,
+                                     final Throwable throwable) {
+        if (throwable == null) {
+            winner.complete(response);
+        } else if (failures.incrementAndGet() == 2) {
+            winner.completeExceptionally(throwable);
+        }
+    }
+
+    /**
+     * A call running on the executor.
+     */
+    private static final class Attempt<T> {
+        private final CompletableFuture<T> result;
+        private final FutureTask<Void> task;
+
+        private Attempt(final CompletableFuture<T> result, final FutureTask<Void> task) {
+            this.result = result;
+            this.task = task;
+        }
+
+        /**
+         * Interrupts the call if it is still running; the SDK gives it up at its next interrupt check.
+         */
+        private void cancel() {
+            task.cancel(true);
+        }
+    }
+
+    private static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static RuntimeException rethrow(final Exception exception) {
+        final Throwable cause = ErrorClassifier.unwrap(exception);
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new CompletionException(cause);
+    }
+}
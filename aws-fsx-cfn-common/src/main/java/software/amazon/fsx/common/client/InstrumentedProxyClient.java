@@ -0,0 +1,97 @@
+package software.amazon.fsx.common.client;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Tells a {@link CallListener} about every call returning a response object: the type of its request, its latency,
+ *  the size of its response and its outcome. Paginated and streaming calls are forwarded untouched.
+ * @param <ClientT> The type of the SDK client.
+ */
+public class InstrumentedProxyClient<ClientT> extends ForwardingProxyClient<ClientT> {
+    private static final String CONTENT_LENGTH = "Content-Length";
+
+    private final CallListener listener;
+
+    public InstrumentedProxyClient(final ProxyClient<ClientT> delegate,
+                                   final CallListener listener) {
+        super(delegate);
+        this.listener = listener;
+    }
+
+    /**
+     * @param proxyClient The proxy client to instrument.
+     * @param listener The listener to tell about its calls.
+     * @param <ClientT> The type of the SDK client.
+     * @return The instrumented proxy client, or the proxy client itself for {@link CallListener#NOOP}.
+     */
+    public static <ClientT> ProxyClient<ClientT> instrument(final ProxyClient<ClientT> proxyClient,
+                                                            final CallListener listener) {
+        return listener == CallListener.NOOP ? proxyClient : new InstrumentedProxyClient<>(proxyClient, listener);
+    }
+
+    /**
+     * @param response An SDK response.
+     * @return The size of its body from its Content-Length header, or {@link CallRecord#UNKNOWN_SIZE}.
+     */
+    static long responseBytes(final AwsResponse response) {
+        final SdkHttpResponse httpResponse = response == null ? null : response.sdkHttpResponse();
+        if (httpResponse == null) {
+            return CallRecord.UNKNOWN_SIZE;
+        }
+        final Optional<String> contentLength = httpResponse.firstMatchingHeader(CONTENT_LENGTH);
+        try {
+            return contentLength.isPresent() ? Long.parseLong(contentLength.get()) : CallRecord.UNKNOWN_SIZE;
+        } catch (final NumberFormatException e) {
+            return CallRecord.UNKNOWN_SIZE;
+        }
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+            final RequestT request,
+            final Function<RequestT, ResponseT> requestFunction) {
+        final long start = System.nanoTime();
+        final ResponseT response;
+        try {
+            response = super.injectCredentialsAndInvokeV2(request, requestFunction);
+        } catch (final RuntimeException e) {
+            record(request, start, null, e);
+            throw e;
+        }
+        record(request, start, response, null);
+        return response;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> CompletableFuture<ResponseT>
+        injectCredentialsAndInvokeV2Async(final RequestT request,
+                                          final Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+        final long start = System.nanoTime();
+        final CompletableFuture<ResponseT> future;
+        try {
+            future = super.injectCredentialsAndInvokeV2Async(request, requestFunction);
+        } catch (final RuntimeException e) {
+            record(request, start, null, e);
+            throw e;
+        }
+        future.whenComplete((response, throwable) -> record(request, start, response, throwable));
+        return future;
+    }
+
+    private void record(final AwsRequest request,
+                        final long start,
+                        final AwsResponse response,
+                        final Throwable error) {
+        listener.onCall(new CallRecord(request.getClass(),
+                System.nanoTime() - start,
+                error == null ? responseBytes(response) : CallRecord.UNKNOWN_SIZE,
+                error));
+    }
+}
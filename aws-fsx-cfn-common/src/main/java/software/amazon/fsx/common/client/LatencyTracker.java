@@ -0,0 +1,50 @@
+package software.amazon.fsx.common.client;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the latencies of the most recent calls in a fixed-size ring buffer and answers percentile queries over them.
+ */
+public class LatencyTracker {
+    private final long[] samples;
+    private int next;
+    private int count;
+
+    /**
+     * @param windowSize How many of the most recent latencies to keep.
+     */
+    public LatencyTracker(final int windowSize) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("The window size must be at least 1.");
+        }
+        this.samples = new long[windowSize];
+    }
+
+    /**
+     * Records the latency of a call, evicting the oldest sample once the window is full.
+     * @param latencyNanos The latency in nanoseconds.
+     */
+    public synchronized void record(final long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    /**
+     * @param percentile The percentile to compute, between 0 (exclusive) and 1 (inclusive).
+     * @return The latency at the given percentile in nanoseconds, or -1 if nothing has been recorded yet.
+     */
+    public synchronized long percentile(final double percentile) {
+        if (count == 0) {
+            return -1L;
+        }
+        final long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        final int index = (int) Math.ceil(percentile * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))];
+    }
+
+    public synchronized int getSampleCount() {
+        return count;
+    }
+}
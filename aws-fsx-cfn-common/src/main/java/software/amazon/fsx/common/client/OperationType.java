@@ -0,0 +1,24 @@
+package software.amazon.fsx.common.client;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+
+/**
+ * Coarse classification of service calls, used to give read-only and mutating calls their own limits.
+ */
+public enum OperationType {
+    DESCRIBE,
+    MUTATE;
+
+    /**
+     * Classifies a request by the name of its operation.
+     * @param request The SDK request.
+     * @return DESCRIBE for read-only operations, MUTATE for everything else.
+     */
+    public static OperationType of(final AwsRequest request) {
+        final String requestName = request.getClass().getSimpleName();
+        if (requestName.startsWith("Describe") || requestName.startsWith("List") || requestName.startsWith("Get")) {
+            return DESCRIBE;
+        }
+        return MUTATE;
+    }
+}
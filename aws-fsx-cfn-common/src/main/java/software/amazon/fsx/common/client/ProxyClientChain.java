@@ -0,0 +1,99 @@
+package software.amazon.fsx.common.client;
+
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.util.concurrent.Executor;
+import java.util.function.UnaryOperator;
+
+/**
+ * Builds a chain of {@link ForwardingProxyClient} decorators around the proxy client of an invocation, from the
+ *  innermost to the outermost: every decorator added sees the calls before the ones added earlier. A typical chain
+ *  instruments the calls that reach the service, then limits concurrency and rate, then breaks the circuit:
+ * <pre>
+ * ProxyClientChain.around(proxy.newProxy(ClientBuilder::getClient))
+ *         .instrument(listener)
+ *         .limitConcurrency(concurrencyLimiter)
+ *         .limitRate(rateLimiter)
+ *         .breakCircuit(circuitBreaker)
+ *         .build();
+ * </pre>
+ * @param <ClientT> The type of the SDK client.
+ */
+public final class ProxyClientChain<ClientT> {
+    private ProxyClient<ClientT> proxyClient;
+
+    private ProxyClientChain(final ProxyClient<ClientT> proxyClient) {
+        this.proxyClient = proxyClient;
+    }
+
+    /**
+     * @param proxyClient The proxy client calling the service, such as the one from the proxy of the invocation.
+     * @param <ClientT> The type of the SDK client.
+     * @return A chain with nothing around the proxy client yet.
+     */
+    public static <ClientT> ProxyClientChain<ClientT> around(final ProxyClient<ClientT> proxyClient) {
+        return new ProxyClientChain<>(proxyClient);
+    }
+
+    /**
+     * @param listener The listener to tell about every call; {@link CallListener#NOOP} adds nothing to the chain.
+     * @return This chain.
+     */
+    public ProxyClientChain<ClientT> instrument(final CallListener listener) {
+        proxyClient = InstrumentedProxyClient.instrument(proxyClient, listener);
+        return this;
+    }
+
+    /**
+     * @param concurrencyLimiter The limiter of calls in flight.
+     * @return This chain.
+     */
+    public ProxyClientChain<ClientT> limitConcurrency(final AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        proxyClient = new ConcurrencyLimitedProxyClient<>(proxyClient, concurrencyLimiter);
+        return this;
+    }
+
+    /**
+     * @param rateLimiter The limiter of calls per second.
+     * @return This chain.
+     */
+    public ProxyClientChain<ClientT> limitRate(final ApiRateLimiter rateLimiter) {
+        proxyClient = new RateLimitedProxyClient<>(proxyClient, rateLimiter);
+        return this;
+    }
+
+    /**
+     * @param circuitBreaker The circuit breaker failing calls fast while the service is failing.
+     * @return This chain.
+     */
+    public ProxyClientChain<ClientT> breakCircuit(final CircuitBreaker circuitBreaker) {
+        proxyClient = new CircuitBreakerProxyClient<>(proxyClient, circuitBreaker);
+        return this;
+    }
+
+    /**
+     * @param hedgingPolicy The policy deciding when a slow read-only call is hedged.
+     * @param executor The executor running the hedges.
+     * @return This chain.
+     */
+    public ProxyClientChain<ClientT> hedge(final HedgingPolicy hedgingPolicy, final Executor executor) {
+        proxyClient = new HedgingProxyClient<>(proxyClient, hedgingPolicy, executor);
+        return this;
+    }
+
+    /**
+     * @param decorator Wraps the chain so far in another decorator, such as a cache.
+     * @return This chain.
+     */
+    public ProxyClientChain<ClientT> then(final UnaryOperator<ProxyClient<ClientT>> decorator) {
+        proxyClient = decorator.apply(proxyClient);
+        return this;
+    }
+
+    /**
+     * @return The outermost proxy client of the chain.
+     */
+    public ProxyClient<ClientT> build() {
+        return proxyClient;
+    }
+}
@@ -0,0 +1,38 @@
+package software.amazon.fsx.common.client;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Takes a token from an {@link ApiRateLimiter} before every call.
+ * @param <ClientT> The type of the SDK client.
+ */
+public class RateLimitedProxyClient<ClientT> extends ForwardingProxyClient<ClientT> {
+    private final ApiRateLimiter rateLimiter;
+
+    public RateLimitedProxyClient(final ProxyClient<ClientT> delegate,
+                                  final ApiRateLimiter rateLimiter) {
+        super(delegate);
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+            final RequestT request,
+            final Function<RequestT, ResponseT> requestFunction) {
+        rateLimiter.acquire(request);
+        return super.injectCredentialsAndInvokeV2(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> CompletableFuture<ResponseT>
+        injectCredentialsAndInvokeV2Async(final RequestT request,
+                                          final Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+        rateLimiter.acquire(request);
+        return super.injectCredentialsAndInvokeV2Async(request, requestFunction);
+    }
+}
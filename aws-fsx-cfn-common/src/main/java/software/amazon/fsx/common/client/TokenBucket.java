@@ -0,0 +1,90 @@
+package software.amazon.fsx.common.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A thread-safe token bucket. Tokens refill continuously at a fixed rate up to the bucket capacity.
+ */
+public final class TokenBucket {
+    private final double capacity;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * @param capacity The maximum number of tokens, which is also the largest burst allowed.
+     * @param tokensPerSecond The rate the bucket refills at.
+     */
+    public TokenBucket(final double capacity, final double tokensPerSecond) {
+        this(capacity, tokensPerSecond, System::nanoTime);
+    }
+
+    TokenBucket(final double capacity, final double tokensPerSecond, final LongSupplier nanoClock) {
+        if (capacity < 1 || tokensPerSecond <= 0) {
+            throw new IllegalArgumentException("Token bucket needs a capacity of at least 1 and a positive rate.");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes a token if one is available right now.
+     * @return If a token was taken.
+     */
+    public boolean tryAcquire() {
+        return reserve(/*maxWaitNanos*/ 0L) == 0L;
+    }
+
+    /**
+     * Takes a token, waiting for one to refill if needed.
+     * @param maxWaitMillis The longest we are willing to wait for a token.
+     * @return If a token was taken within the wait budget.
+     * @throws InterruptedException If the thread was interrupted while waiting.
+     */
+    public boolean tryAcquire(final long maxWaitMillis) throws InterruptedException {
+        final long waitNanos = reserve(TimeUnit.MILLISECONDS.toNanos(maxWaitMillis));
+        if (waitNanos < 0) {
+            return false;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        return true;
+    }
+
+    /**
+     * The number of whole tokens currently available.
+     * @return The available tokens.
+     */
+    public synchronized int availableTokens() {
+        refill();
+        return (int) tokens;
+    }
+
+    /**
+     * Reserves a token, possibly going into debt for it.
+     * @param maxWaitNanos The longest the caller is willing to wait.
+     * @return How long the caller must wait before using the token, or -1 if the wait would exceed the budget.
+     */
+    private synchronized long reserve(final long maxWaitNanos) {
+        refill();
+        final long waitNanos = tokens >= 1 ? 0L : (long) Math.ceil((1 - tokens) / tokensPerNano);
+        if (waitNanos > maxWaitNanos) {
+            return -1L;
+        }
+        tokens -= 1;
+        return waitNanos;
+    }
+
+    private void refill() {
+        final long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,141 @@
+package software.amazon.fsx.common.handler;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The tags to add, change and remove to take a resource from its previous tags to its desired tags. Each side is the
+ *  stack tags overridden by the resource tags; the diff reads both where they are instead of merging them into a copy,
+ *  and never modifies them.
+ */
+public final class TagDiff {
+    private final Map<String, String> addedTags;
+    private final Map<String, String> changedTags;
+    private final Set<String> removedTagKeys;
+
+    private TagDiff(final Map<String, String> addedTags,
+                    final Map<String, String> changedTags,
+                    final Set<String> removedTagKeys) {
+        this.addedTags = Collections.unmodifiableMap(addedTags);
+        this.changedTags = Collections.unmodifiableMap(changedTags);
+        this.removedTagKeys = Collections.unmodifiableSet(removedTagKeys);
+    }
+
+    /**
+     * @param previousTags The previous tags, or null for none.
+     * @param desiredTags The desired tags, or null for none.
+     * @return The diff between the two.
+     */
+    public static TagDiff between(final Map<String, String> previousTags, final Map<String, String> desiredTags) {
+        return between(null, previousTags, null, desiredTags);
+    }
+
+    /**
+     * @param previousStackTags The previous stack level tags, or null for none.
+     * @param previousResourceTags The previous resource tags, which take precedence over the stack tags, or null for none.
+     * @param desiredStackTags The desired stack level tags, or null for none.
+     * @param desiredResourceTags The desired resource tags, which take precedence over the stack tags, or null for none.
+     * @return The diff between the previous and the desired tags.
+     */
+    public static TagDiff between(final Map<String, String> previousStackTags,
+                                  final Map<String, String> previousResourceTags,
+                                  final Map<String, String> desiredStackTags,
+                                  final Map<String, String> desiredResourceTags) {
+        final Map<String, String> previousStack = orEmpty(previousStackTags);
+        final Map<String, String> previousResource = orEmpty(previousResourceTags);
+        final Map<String, String> desiredStack = orEmpty(desiredStackTags);
+        final Map<String, String> desiredResource = orEmpty(desiredResourceTags);
+
+        final Map<String, String> added = new LinkedHashMap<>();
+        final Map<String, String> changed = new LinkedHashMap<>();
+        final Set<String> removed = new LinkedHashSet<>();
+
+        for (final Map.Entry<String, String> tag : desiredResource.entrySet()) {
+            compare(tag.getKey(), tag.getValue(), previousStack, previousResource, added, changed);
+        }
+        for (final Map.Entry<String, String> tag : desiredStack.entrySet()) {
+            if (!desiredResource.containsKey(tag.getKey())) {
+                compare(tag.getKey(), tag.getValue(), previousStack, previousResource, added, changed);
+            }
+        }
+        for (final String key : previousResource.keySet()) {
+            if (!desiredResource.containsKey(key) && !desiredStack.containsKey(key)) {
+                removed.add(key);
+            }
+        }
+        for (final String key : previousStack.keySet()) {
+            if (!previousResource.containsKey(key) && !desiredResource.containsKey(key)
+                    && !desiredStack.containsKey(key)) {
+                removed.add(key);
+            }
+        }
+        return new TagDiff(added, changed, removed);
+    }
+
+    private static void compare(final String key,
+                                final String desiredValue,
+                                final Map<String, String> previousStack,
+                                final Map<String, String> previousResource,
+                                final Map<String, String> added,
+                                final Map<String, String> changed) {
+        final Map<String, String> previous = previousResource.containsKey(key) ? previousResource
+                : previousStack.containsKey(key) ? previousStack
+                : null;
+        if (previous == null) {
+            added.put(key, desiredValue);
+        } else if (!Objects.equals(previous.get(key), desiredValue)) {
+            changed.put(key, desiredValue);
+        }
+    }
+
+    private static Map<String, String> orEmpty(final Map<String, String> tags) {
+        return tags == null ? Collections.emptyMap() : tags;
+    }
+
+    /**
+     * @return The tags that were not previously attached.
+     */
+    public Map<String, String> getAddedTags() {
+        return addedTags;
+    }
+
+    /**
+     * @return The tags that were previously attached with a different value.
+     */
+    public Map<String, String> getChangedTags() {
+        return changedTags;
+    }
+
+    /**
+     * @return The keys of the previously attached tags that are no longer desired.
+     */
+    public Set<String> getRemovedTagKeys() {
+        return removedTagKeys;
+    }
+
+    /**
+     * @return The added and changed tags, which are set by the same tag call.
+     */
+    public Map<String, String> getTagsToTag() {
+        if (changedTags.isEmpty()) {
+            return addedTags;
+        }
+        if (addedTags.isEmpty()) {
+            return changedTags;
+        }
+        final Map<String, String> tagsToTag = new LinkedHashMap<>(addedTags);
+        tagsToTag.putAll(changedTags);
+        return Collections.unmodifiableMap(tagsToTag);
+    }
+
+    /**
+     * @return If the previous and the desired tags are the same.
+     */
+    public boolean isEmpty() {
+        return addedTags.isEmpty() && changedTags.isEmpty() && removedTagKeys.isEmpty();
+    }
+}
@@ -11,9 +11,9 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -24,6 +24,31 @@ public final class Tagging {
             + "'tags.%s.member.%s' failed to satisfy constraint: Member must satisfy regular expression pattern: %s";
     static final String CLOUDFORMATION_AWS_SYSTEM_TAG_PREFIX = "aws:cloudformation";
 
+    // validateTags runs on every tag of every create and update, so it scans the code points itself rather than running
+    // the patterns above; they remain the definition of a valid tag and are what the error messages quote. Code points
+    // of the categories matched by \p{L}, \p{Z} and \p{N} are looked up by their Character.getType bit, and ASCII, which
+    // nearly every tag is made of, by a table of both the categories and the punctuation the patterns allow.
+    private static final String RESERVED_KEY_PREFIX = "aws:";
+    private static final int ALLOWED_CATEGORIES = 1 << Character.UPPERCASE_LETTER
+            | 1 << Character.LOWERCASE_LETTER
+            | 1 << Character.TITLECASE_LETTER
+            | 1 << Character.MODIFIER_LETTER
+            | 1 << Character.OTHER_LETTER
+            | 1 << Character.SPACE_SEPARATOR
+            | 1 << Character.LINE_SEPARATOR
+            | 1 << Character.PARAGRAPH_SEPARATOR
+            | 1 << Character.DECIMAL_DIGIT_NUMBER
+            | 1 << Character.LETTER_NUMBER
+            | 1 << Character.OTHER_NUMBER;
+    private static final String ALLOWED_PUNCTUATION = "_.:/=+-@";
+    private static final boolean[] ALLOWED_ASCII = new boolean[128];
+
+    static {
+        for (int c = 0; c < ALLOWED_ASCII.length; c++) {
+            ALLOWED_ASCII[c] = isAllowedCategory(c) || ALLOWED_PUNCTUATION.indexOf(c) >= 0;
+        }
+    }
+
     private Tagging() {
     }
 
@@ -42,6 +67,63 @@ public final class Tagging {
         return allTags.values();
     }
 
+    /**
+     * Validates the resource tags and merges them with the stack and system tags in one walk, in that order of
+     *  precedence, building an SDK tag only for the tags that make it into the result. This is
+     *  {@link #validateTags(Set)} of the resource tags followed by {@link #translateTagSetToSdk(TagSet)} without the
+     *  intermediate sets.
+     * @param resourceTags The resource tags, in the order the validation indices refer to, or null for none.
+     * @param keyOf Gets the key of a resource tag.
+     * @param valueOf Gets the value of a resource tag.
+     * @param stackTags The stack level tags, or null for none.
+     * @param systemTags The system tags, or null for none.
+     * @param <T> The resource model's tag type.
+     * @return The tags to use in the FSx SDK.
+     * @throws CfnInvalidRequestException If a resource tag is invalid.
+     */
+    public static <T> Collection<Tag> mergeAndValidateTags(final Collection<T> resourceTags,
+                                                           final Function<T, String> keyOf,
+                                                           final Function<T, String> valueOf,
+                                                           final Map<String, String> stackTags,
+                                                           final Map<String, String> systemTags)
+            throws CfnInvalidRequestException {
+        final int resourceTagCount = resourceTags == null ? 0 : resourceTags.size();
+        final int stackTagCount = stackTags == null ? 0 : stackTags.size();
+        final int systemTagCount = systemTags == null ? 0 : systemTags.size();
+        final int tagCount = resourceTagCount + stackTagCount + systemTagCount;
+        if (tagCount == 0) {
+            return Collections.emptyList();
+        }
+
+        final Map<String, Tag> allTags = new LinkedHashMap<>(tagCount * 4 / 3 + 1);
+        if (resourceTags != null) {
+            int pointer = 0;
+            for (final T resourceTag : resourceTags) {
+                final String key = keyOf.apply(resourceTag);
+                final String value = valueOf.apply(resourceTag);
+                validateTag(pointer++, key, value);
+                if (!allTags.containsKey(key)) {
+                    allTags.put(key, Tag.builder().key(key).value(value).build());
+                }
+            }
+        }
+        addToMapIfAbsent(allTags, stackTags);
+        addToMapIfAbsent(allTags, systemTags);
+        return allTags.values();
+    }
+
+    private static void addToMapIfAbsent(final Map<String, Tag> allTags,
+                                         final Map<String, String> tags) {
+        if (tags == null) {
+            return;
+        }
+        for (final Map.Entry<String, String> tag : tags.entrySet()) {
+            if (!allTags.containsKey(tag.getKey())) {
+                allTags.put(tag.getKey(), Tag.builder().key(tag.getKey()).value(tag.getValue()).build());
+            }
+        }
+    }
+
     /**
      * Check if each tag is in the map and add it if it isn't.
      * @param allTags The tags we want to add to.
@@ -81,14 +163,88 @@ public final class Tagging {
 
         int pointer = 0;
         for (final Tag tag : tags) {
-            if (!TAG_KEY_PATTERN.matcher(tag.key()).matches()) {
-                throw new CfnInvalidRequestException(buildValidationFailureMessage(true, pointer, tag.key()));
+            validateTag(pointer++, tag.key(), tag.value());
+        }
+    }
+
+    private static void validateTag(final int index, final String key, final String value) {
+        if (!isValidKey(key)) {
+            throw new CfnInvalidRequestException(buildValidationFailureMessage(true, index, key));
+        }
+        if (!isValidValue(value)) {
+            throw new CfnInvalidRequestException(buildValidationFailureMessage(false, index, key));
+        }
+    }
+
+    /**
+     * Equivalent to matching {@link #TAG_KEY_PATTERN}: any first character but a line terminator, followed by allowed
+     *  characters only, and no case-insensitive "aws:" prefix.
+     * @param key The tag key.
+     * @return If the key is valid.
+     */
+    static boolean isValidKey(final String key) {
+        if (key.isEmpty() || hasReservedPrefix(key)) {
+            return false;
+        }
+        final int first = key.codePointAt(0);
+        return !isLineTerminator(first) && isAllowed(key, Character.charCount(first));
+    }
+
+    /**
+     * Equivalent to matching {@link #TAG_VALUE_PATTERN}: allowed characters only, possibly none.
+     * @param value The tag value.
+     * @return If the value is valid.
+     */
+    static boolean isValidValue(final String value) {
+        return isAllowed(value, 0);
+    }
+
+    /**
+     * (?i) folds ASCII only, unlike String.regionMatches, which would also reserve a long s (U+017F) in place of the s.
+     */
+    private static boolean hasReservedPrefix(final String key) {
+        if (key.length() < RESERVED_KEY_PREFIX.length()) {
+            return false;
+        }
+        for (int i = 0; i < RESERVED_KEY_PREFIX.length(); i++) {
+            final char c = key.charAt(i);
+            final char lowerCase = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+            if (lowerCase != RESERVED_KEY_PREFIX.charAt(i)) {
+                return false;
             }
-            if (!TAG_VALUE_PATTERN.matcher(tag.value()).matches()) {
-                throw new CfnInvalidRequestException(buildValidationFailureMessage(false, pointer, tag.key()));
+        }
+        return true;
+    }
+
+    private static boolean isAllowed(final String string, final int start) {
+        int index = start;
+        while (index < string.length()) {
+            final char c = string.charAt(index);
+            if (c < ALLOWED_ASCII.length) {
+                if (!ALLOWED_ASCII[c]) {
+                    return false;
+                }
+                index++;
+            } else {
+                final int codePoint = string.codePointAt(index);
+                if (!isAllowedCategory(codePoint)) {
+                    return false;
+                }
+                index += Character.charCount(codePoint);
             }
-            pointer++;
         }
+        return true;
+    }
+
+    private static boolean isAllowedCategory(final int codePoint) {
+        return (ALLOWED_CATEGORIES >>> Character.getType(codePoint) & 1) != 0;
+    }
+
+    /**
+     * @return If "." doesn't match the code point, which it doesn't for the line terminators of {@link Pattern}.
+     */
+    private static boolean isLineTerminator(final int codePoint) {
+        return codePoint == '\n' || codePoint == '\r' || codePoint == 0x85 || codePoint == 0x2028 || codePoint == 0x2029;
     }
 
     /**
@@ -127,11 +283,7 @@ public final class Tagging {
      */
     public static Map<String, String> generateTagsToAdd(final Map<String, String> previousTags,
                                                         final Map<String, String> desiredTags) {
-        return desiredTags.entrySet().stream()
-                .filter(e -> !previousTags.containsKey(e.getKey()) || !Objects.equals(previousTags.get(e.getKey()), e.getValue()))
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        Map.Entry::getValue));
+        return TagDiff.between(previousTags, desiredTags).getTagsToTag();
     }
 
     /**
@@ -144,11 +296,7 @@ public final class Tagging {
      */
     public static Set<String> generateTagsToRemove(final Map<String, String> previousTags,
                                                    final Map<String, String> desiredTags) {
-        final Set<String> desiredTagNames = desiredTags.keySet();
-
-        return previousTags.keySet().stream()
-                .filter(tagName -> !desiredTagNames.contains(tagName))
-                .collect(Collectors.toSet());
+        return TagDiff.between(previousTags, desiredTags).getRemovedTagKeys();
     }
 
     @Builder(toBuilder = true)
@@ -0,0 +1,91 @@
+package software.amazon.fsx.common.logging;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * A structured log line: an event name and a few key fields, logged as one JSON object that CloudWatch Logs Insights
+ *  can filter on. Fields keep references to their values, so nothing is formatted until the event is logged; callers
+ *  that sample their logs decide first and only build the events they log.
+ */
+public final class LogEvent {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int INITIAL_FIELDS = 6;
+
+    private final String event;
+    private Object[] fields = new Object[INITIAL_FIELDS * 2];
+    private int size;
+
+    private LogEvent(final String event) {
+        this.event = event;
+    }
+
+    /**
+     * @param event The name of the event, such as Stabilization.
+     * @return An event without fields.
+     */
+    public static LogEvent of(final String event) {
+        return new LogEvent(event);
+    }
+
+    /**
+     * @param key The name of the field.
+     * @param value Its value: numbers and booleans are logged as such, anything else as its string.
+     * @return This event.
+     */
+    public LogEvent with(final String key, final Object value) {
+        if (size == fields.length) {
+            fields = Arrays.copyOf(fields, size * 2);
+        }
+        fields[size++] = key;
+        fields[size++] = value;
+        return this;
+    }
+
+    /**
+     * @param logger The logger to log the event to.
+     */
+    public void log(final Logger logger) {
+        logger.log(toString());
+    }
+
+    /**
+     * @return The event as one JSON object.
+     */
+    @Override
+    public String toString() {
+        final StringWriter line = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(line)) {
+            generator.writeStartObject();
+            generator.writeStringField("event", event);
+            for (int i = 0; i < size; i += 2) {
+                generator.writeFieldName((String) fields[i]);
+                writeValue(generator, fields[i + 1]);
+            }
+            generator.writeEndObject();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return line.toString();
+    }
+
+    private static void writeValue(final JsonGenerator generator, final Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Integer || value instanceof Long) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Number) {
+            generator.writeNumber(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean) value);
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+}
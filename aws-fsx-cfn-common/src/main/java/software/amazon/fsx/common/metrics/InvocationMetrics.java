@@ -0,0 +1,279 @@
+package software.amazon.fsx.common.metrics;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.fsx.common.client.AdaptiveConcurrencyLimiter;
+import software.amazon.fsx.common.client.CallListener;
+import software.amazon.fsx.common.client.CallRecord;
+import software.amazon.fsx.common.client.ErrorClass;
+import software.amazon.fsx.common.client.ErrorClassifier;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects the metrics of one handler invocation in memory and logs them once, when the invocation ends, as CloudWatch
+ *  embedded metric format (EMF) lines. CloudWatch Logs extracts the metrics from the handler's logs, so recording them
+ *  costs no call to CloudWatch.
+ * <p>
+ * Every service call is recorded with its latency and response size under the dimensions Handler and Operation, and
+ *  its failures also under ErrorClass. The invocation reports its call count, stabilization polls and duration under Handler, and the
+ *  time the resource was seen in each lifecycle under Handler and Lifecycle. The state of a concurrency limiter, when
+ *  recorded, is reported under Handler too.
+ */
+public final class InvocationMetrics implements CallListener {
+    // CloudWatch takes at most this many values per metric in one EMF line.
+    static final int MAX_VALUES_PER_LINE = 100;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String HANDLER = "Handler";
+    private static final String OPERATION = "Operation";
+    private static final String ERROR_CLASS = "ErrorClass";
+    private static final String LIFECYCLE = "Lifecycle";
+    private static final String MILLISECONDS = "Milliseconds";
+    private static final String COUNT = "Count";
+    private static final String BYTES = "Bytes";
+
+    private final String namespace;
+    private final String resourceType;
+    private final String handler;
+    private final long startNanos;
+    private final Map<String, OperationMetrics> operations = new LinkedHashMap<>();
+    private final Map<String, Long> lifecycleMillis = new LinkedHashMap<>();
+    private int calls;
+    private int polls;
+    // The state of the concurrency limiter when it was last recorded, or null if it was not.
+    private int[] concurrencyLimiter;
+
+    /**
+     * @param namespace The CloudWatch namespace of the metrics.
+     * @param resourceType The type of the resource, logged with the metrics but not a dimension.
+     * @param handler The handler invoked, such as Create.
+     */
+    public InvocationMetrics(final String namespace, final String resourceType, final String handler) {
+        this.namespace = namespace;
+        this.resourceType = resourceType;
+        this.handler = handler;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Records a service call. Hedged calls may complete on other threads.
+     * @param operation The name of the operation called.
+     * @param latencyNanos How long the call took in nanoseconds.
+     * @param error The error the call failed with, or null if it succeeded.
+     */
+    public void recordCall(final String operation, final long latencyNanos, final Throwable error) {
+        recordCall(operation, latencyNanos, CallRecord.UNKNOWN_SIZE, error);
+    }
+
+    @Override
+    public void onCall(final CallRecord call) {
+        recordCall(call.getOperation(), call.getLatencyNanos(), call.getResponseBytes(), call.getError());
+    }
+
+    private synchronized void recordCall(final String operation,
+                                         final long latencyNanos,
+                                         final long responseBytes,
+                                         final Throwable error) {
+        calls++;
+        operations.computeIfAbsent(operation, name -> new OperationMetrics())
+                .record(latencyNanos / 1_000_000.0,
+                        responseBytes,
+                        error == null ? null : ErrorClassifier.classify(error));
+    }
+
+    /**
+     * Records a stabilization poll.
+     */
+    public synchronized void recordPoll() {
+        polls++;
+    }
+
+    /**
+     * Records time the resource spent in a lifecycle, between two observations of it.
+     * @param lifecycle The lifecycle the resource was in.
+     * @param millis How long it was seen in it, in milliseconds.
+     */
+    public synchronized void recordLifecycleTime(final String lifecycle, final long millis) {
+        if (millis > 0) {
+            lifecycleMillis.merge(lifecycle, millis, Long::sum);
+        }
+    }
+
+    /**
+     * Records the current state of a concurrency limiter, which may be shared with other invocations.
+     * @param limiter The concurrency limiter.
+     */
+    public void recordConcurrencyLimiter(final AdaptiveConcurrencyLimiter limiter) {
+        final int[] state = {limiter.getLimit(), limiter.getInFlight(), limiter.getQueueDepth()};
+        synchronized (this) {
+            concurrencyLimiter = state;
+        }
+    }
+
+    /**
+     * Logs everything recorded as EMF lines and starts over.
+     * @param logger The logger to log the lines to.
+     */
+    public synchronized void flush(final Logger logger) {
+        final long timestamp = System.currentTimeMillis();
+        logger.log(line(timestamp, new String[] {HANDLER}, new String[] {handler}, generator -> {
+            writeCount(generator, "Calls", calls);
+            writeCount(generator, "StabilizationPolls", polls);
+            generator.writeNumberField("InvocationTime", (System.nanoTime() - startNanos) / 1_000_000.0);
+        }, "Calls", COUNT, "StabilizationPolls", COUNT, "InvocationTime", MILLISECONDS));
+
+        if (concurrencyLimiter != null) {
+            final int[] state = concurrencyLimiter;
+            logger.log(line(timestamp, new String[] {HANDLER}, new String[] {handler}, generator -> {
+                writeCount(generator, "ConcurrencyLimit", state[0]);
+                writeCount(generator, "InFlight", state[1]);
+                writeCount(generator, "QueueDepth", state[2]);
+            }, "ConcurrencyLimit", COUNT, "InFlight", COUNT, "QueueDepth", COUNT));
+        }
+
+        for (final Map.Entry<String, OperationMetrics> operation : operations.entrySet()) {
+            final OperationMetrics metrics = operation.getValue();
+            final String[] dimensions = {HANDLER, OPERATION};
+            final String[] values = {handler, operation.getKey()};
+            for (int from = 0; from < metrics.calls; from += MAX_VALUES_PER_LINE) {
+                final double[] latencies = Arrays.copyOfRange(metrics.latencyMillis, from,
+                        Math.min(metrics.calls, from + MAX_VALUES_PER_LINE));
+                if (from == 0) {
+                    logger.log(line(timestamp, dimensions, values, generator -> {
+                        writeValues(generator, "Latency", latencies);
+                        writeCount(generator, "Calls", metrics.calls);
+                        writeCount(generator, "Errors", metrics.errors);
+                        generator.writeNumberField("ResponseSize", metrics.responseBytes);
+                    }, "Latency", MILLISECONDS, "Calls", COUNT, "Errors", COUNT, "ResponseSize", BYTES));
+                } else {
+                    logger.log(line(timestamp, dimensions, values,
+                        generator -> writeValues(generator, "Latency", latencies), "Latency", MILLISECONDS));
+                }
+            }
+            for (final Map.Entry<ErrorClass, Integer> errors : metrics.errorsByClass.entrySet()) {
+                logger.log(line(timestamp,
+                        new String[] {HANDLER, OPERATION, ERROR_CLASS},
+                        new String[] {handler, operation.getKey(), errors.getKey().name()},
+                        generator -> writeCount(generator, "Errors", errors.getValue()),
+                        "Errors", COUNT));
+            }
+        }
+
+        for (final Map.Entry<String, Long> lifecycle : lifecycleMillis.entrySet()) {
+            logger.log(line(timestamp, new String[] {HANDLER, LIFECYCLE}, new String[] {handler, lifecycle.getKey()},
+                    generator -> generator.writeNumberField("LifecycleTime", lifecycle.getValue()),
+                    "LifecycleTime", MILLISECONDS));
+        }
+
+        operations.clear();
+        lifecycleMillis.clear();
+        calls = 0;
+        polls = 0;
+        concurrencyLimiter = null;
+    }
+
+    /**
+     * @param timestamp The timestamp of the metrics in milliseconds since the epoch.
+     * @param dimensions The names of the dimensions.
+     * @param dimensionValues Their values.
+     * @param metricWriter Writes the values of the metrics.
+     * @param metrics The names and units of the metrics, in pairs.
+     * @return One EMF line.
+     */
+    private String line(final long timestamp,
+                        final String[] dimensions,
+                        final String[] dimensionValues,
+                        final MetricWriter metricWriter,
+                        final String... metrics) {
+        final StringWriter line = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(line)) {
+            generator.writeStartObject();
+            generator.writeObjectFieldStart("_aws");
+            generator.writeNumberField("Timestamp", timestamp);
+            generator.writeArrayFieldStart("CloudWatchMetrics");
+            generator.writeStartObject();
+            generator.writeStringField("Namespace", namespace);
+            generator.writeArrayFieldStart("Dimensions");
+            generator.writeStartArray();
+            for (final String dimension : dimensions) {
+                generator.writeString(dimension);
+            }
+            generator.writeEndArray();
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("Metrics");
+            for (int i = 0; i < metrics.length; i += 2) {
+                generator.writeStartObject();
+                generator.writeStringField("Name", metrics[i]);
+                generator.writeStringField("Unit", metrics[i + 1]);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeEndArray();
+            generator.writeEndObject();
+
+            generator.writeStringField("ResourceType", resourceType);
+            for (int i = 0; i < dimensions.length; i++) {
+                generator.writeStringField(dimensions[i], dimensionValues[i]);
+            }
+            metricWriter.write(generator);
+            generator.writeEndObject();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return line.toString();
+    }
+
+    private static void writeCount(final JsonGenerator generator, final String name, final int count)
+            throws IOException {
+        generator.writeNumberField(name, count);
+    }
+
+    private static void writeValues(final JsonGenerator generator, final String name, final double[] values)
+            throws IOException {
+        generator.writeFieldName(name);
+        generator.writeArray(values, 0, values.length);
+    }
+
+    /**
+     * Writes the values of the metrics of one EMF line.
+     */
+    @FunctionalInterface
+    private interface MetricWriter {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    /**
+     * The calls made to one operation.
+     */
+    private static final class OperationMetrics {
+        private double[] latencyMillis = new double[4];
+        private int calls;
+        private int errors;
+        // The bytes of the responses whose size is known.
+        private long responseBytes;
+        private final Map<ErrorClass, Integer> errorsByClass = new EnumMap<>(ErrorClass.class);
+
+        void record(final double millis, final long bytes, final ErrorClass errorClass) {
+            if (calls == latencyMillis.length) {
+                latencyMillis = Arrays.copyOf(latencyMillis, calls * 2);
+            }
+            latencyMillis[calls++] = millis;
+            if (bytes > 0) {
+                responseBytes += bytes;
+            }
+            if (errorClass != null) {
+                errors++;
+                errorsByClass.merge(errorClass, 1, Integer::sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package software.amazon.fsx.common.client;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    public void testAdditiveIncrease() {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(/*initialLimit*/ 2,
+                /*minLimit*/ 1, /*maxLimit*/ 3, /*maxWaitMillis*/ 0);
+
+        // About one round of successes raises the limit by one.
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("DescribeDataRepositoryAssociations");
+            limiter.release(AdaptiveConcurrencyLimiter.Outcome.SUCCESS);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(3);
+
+        // Capped at the max limit.
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire("DescribeDataRepositoryAssociations");
+            limiter.release(AdaptiveConcurrencyLimiter.Outcome.SUCCESS);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(3);
+        assertThat(limiter.getInFlight()).isEqualTo(0);
+    }
+
+    @Test
+    public void testMultiplicativeDecrease() {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(/*initialLimit*/ 8,
+                /*minLimit*/ 1, /*maxLimit*/ 8, /*maxWaitMillis*/ 0);
+
+        limiter.acquire("UpdateDataRepositoryAssociation");
+        limiter.release(AdaptiveConcurrencyLimiter.Outcome.OVERLOAD);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire("UpdateDataRepositoryAssociation");
+            limiter.release(AdaptiveConcurrencyLimiter.Outcome.OVERLOAD);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(1);
+
+        limiter.acquire("UpdateDataRepositoryAssociation");
+        limiter.release(AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+        assertThat(limiter.getLimit()).isEqualTo(1);
+    }
+
+    @Test
+    public void testAcquireOverLimit() {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(/*initialLimit*/ 1,
+                /*minLimit*/ 1, /*maxLimit*/ 1, /*maxWaitMillis*/ 10);
+
+        limiter.acquire("DescribeDataRepositoryAssociations");
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+
+        assertThatThrownBy(() -> limiter.acquire("DescribeDataRepositoryAssociations"))
+                .isInstanceOf(CfnThrottlingException.class);
+        assertThat(limiter.getQueueDepth()).isEqualTo(0);
+
+        limiter.release(AdaptiveConcurrencyLimiter.Outcome.SUCCESS);
+        limiter.acquire("DescribeDataRepositoryAssociations");
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    public void testWaiterIsWokenOnRelease() throws InterruptedException {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(/*initialLimit*/ 1,
+                /*minLimit*/ 1, /*maxLimit*/ 1, /*maxWaitMillis*/ 10_000);
+        limiter.acquire("DescribeDataRepositoryAssociations");
+
+        final Thread waiter = new Thread(() -> limiter.acquire("DescribeDataRepositoryAssociations"));
+        waiter.start();
+        while (limiter.getQueueDepth() == 0) {
+            Thread.sleep(1);
+        }
+        limiter.release(AdaptiveConcurrencyLimiter.Outcome.SUCCESS);
+        waiter.join();
+
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        assertThat(limiter.getQueueDepth()).isEqualTo(0);
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(/*initialLimit*/ 1, /*minLimit*/ 0,
+                /*maxLimit*/ 1, /*maxWaitMillis*/ 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(/*initialLimit*/ 1, /*minLimit*/ 2,
+                /*maxLimit*/ 2, /*maxWaitMillis*/ 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(/*initialLimit*/ 3, /*minLimit*/ 1,
+                /*maxLimit*/ 2, /*maxWaitMillis*/ 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
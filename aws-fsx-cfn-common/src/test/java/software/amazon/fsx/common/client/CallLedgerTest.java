@@ -0,0 +1,35 @@
+package software.amazon.fsx.common.client;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsRequest;
+import software.amazon.awssdk.services.fsx.model.InternalServerErrorException;
+import software.amazon.awssdk.services.fsx.model.UpdateDataRepositoryAssociationRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CallLedgerTest {
+
+    @Test
+    public void testCounts() {
+        final CallLedger ledger = new CallLedger();
+
+        ledger.onCall(new CallRecord(DescribeDataRepositoryAssociationsRequest.class, 1L, 10L, null));
+        ledger.onCall(new CallRecord(UpdateDataRepositoryAssociationRequest.class, 1L, 10L, null));
+        ledger.onCall(new CallRecord(DescribeDataRepositoryAssociationsRequest.class, 1L, CallRecord.UNKNOWN_SIZE,
+                InternalServerErrorException.builder().statusCode(500).build()));
+
+        assertThat(ledger.count()).isEqualTo(3);
+        assertThat(ledger.count("DescribeDataRepositoryAssociations")).isEqualTo(2);
+        assertThat(ledger.count("DeleteDataRepositoryAssociation")).isEqualTo(0);
+        assertThat(ledger.getCalls()).extracting(CallRecord::getOperation).containsExactly(
+                "DescribeDataRepositoryAssociations",
+                "UpdateDataRepositoryAssociation",
+                "DescribeDataRepositoryAssociations");
+        assertThat(ledger.toString())
+                .isEqualTo("{DescribeDataRepositoryAssociations=2, UpdateDataRepositoryAssociation=1}");
+
+        ledger.clear();
+
+        assertThat(ledger.count()).isEqualTo(0);
+    }
+}
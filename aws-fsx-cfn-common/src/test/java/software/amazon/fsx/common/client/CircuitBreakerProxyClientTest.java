@@ -0,0 +1,155 @@
+package software.amazon.fsx.common.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.services.fsx.FSxClient;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryAssociationNotFoundException;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsRequest;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsResponse;
+import software.amazon.awssdk.services.fsx.model.InternalServerErrorException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CircuitBreakerProxyClientTest {
+
+    private ProxyClient<FSxClient> delegate;
+    private FSxClient fsxClient;
+    private CircuitBreaker circuitBreaker;
+    private ProxyClient<FSxClient> proxyClient;
+    private DescribeDataRepositoryAssociationsRequest describeRequest;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        delegate = mock(ProxyClient.class);
+        fsxClient = mock(FSxClient.class);
+        circuitBreaker = new CircuitBreaker(/*failureThreshold*/ 2, /*openMillis*/ 60_000);
+        proxyClient = new CircuitBreakerProxyClient<>(delegate, circuitBreaker);
+        describeRequest = DescribeDataRepositoryAssociationsRequest.builder().build();
+    }
+
+    @Test
+    public void testServerErrorsAndTimeoutsOpenCircuit() {
+        when(delegate.injectCredentialsAndInvokeV2(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class),
+                ArgumentMatchers.any()))
+                .thenThrow(InternalServerErrorException.builder().statusCode(500).build())
+                .thenThrow(ApiCallTimeoutException.builder().build());
+
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(describeRequest,
+                fsxClient::describeDataRepositoryAssociations))
+                .isInstanceOf(InternalServerErrorException.class);
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(describeRequest,
+                fsxClient::describeDataRepositoryAssociations))
+                .isInstanceOf(ApiCallTimeoutException.class);
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(describeRequest,
+                fsxClient::describeDataRepositoryAssociations))
+                .isInstanceOf(CircuitOpenException.class);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    public void testClientErrorsAndSuccessesKeepCircuitClosed() {
+        when(delegate.injectCredentialsAndInvokeV2(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class),
+                ArgumentMatchers.any()))
+                .thenThrow(InternalServerErrorException.builder().statusCode(500).build())
+                .thenThrow(DataRepositoryAssociationNotFoundException.builder().build())
+                .thenThrow(InternalServerErrorException.builder().statusCode(500).build())
+                .thenReturn(DescribeDataRepositoryAssociationsResponse.builder().build());
+
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(describeRequest,
+                fsxClient::describeDataRepositoryAssociations))
+                .isInstanceOf(InternalServerErrorException.class);
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(describeRequest,
+                fsxClient::describeDataRepositoryAssociations))
+                .isInstanceOf(DataRepositoryAssociationNotFoundException.class);
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(describeRequest,
+                fsxClient::describeDataRepositoryAssociations))
+                .isInstanceOf(InternalServerErrorException.class);
+        final DescribeDataRepositoryAssociationsResponse response =
+                proxyClient.injectCredentialsAndInvokeV2(describeRequest, fsxClient::describeDataRepositoryAssociations);
+
+        assertThat(response).isNotNull();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void testAsyncServerErrorsOpenCircuit() {
+        final CompletableFuture<DescribeDataRepositoryAssociationsResponse> failure = new CompletableFuture<>();
+        failure.completeExceptionally(InternalServerErrorException.builder().statusCode(500).build());
+        doReturn(failure).when(delegate).injectCredentialsAndInvokeV2Async(
+                ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class), ArgumentMatchers.any());
+
+        proxyClient.injectCredentialsAndInvokeV2Async(describeRequest, request -> failure);
+        proxyClient.injectCredentialsAndInvokeV2Async(describeRequest, request -> failure);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2Async(describeRequest, request -> failure))
+                .isInstanceOf(CircuitOpenException.class);
+    }
+
+    @Test
+    public void testLocalThrottlingLeavesHalfOpenCircuit() {
+        final AtomicLong now = new AtomicLong();
+        circuitBreaker = new CircuitBreaker(/*failureThreshold*/ 1, /*openMillis*/ 1000, now::get);
+        proxyClient = new CircuitBreakerProxyClient<>(delegate, circuitBreaker);
+        when(delegate.injectCredentialsAndInvokeV2(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class),
+                ArgumentMatchers.any()))
+                .thenThrow(InternalServerErrorException.builder().statusCode(500).build())
+                .thenThrow(new CfnThrottlingException("DescribeDataRepositoryAssociationsRequest"))
+                .thenThrow(InternalServerErrorException.builder().statusCode(500).build());
+
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(describeRequest,
+                fsxClient::describeDataRepositoryAssociations))
+                .isInstanceOf(InternalServerErrorException.class);
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(describeRequest,
+                fsxClient::describeDataRepositoryAssociations))
+                .isInstanceOf(CfnThrottlingException.class);
+
+        // The probe never reached the service, so the circuit stays half-open and the next call probes instead.
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(describeRequest,
+                fsxClient::describeDataRepositoryAssociations))
+                .isInstanceOf(InternalServerErrorException.class);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    public void testErrorReleasesHalfOpenProbe() {
+        final AtomicLong now = new AtomicLong();
+        circuitBreaker = new CircuitBreaker(/*failureThreshold*/ 1, /*openMillis*/ 1000, now::get);
+        proxyClient = new CircuitBreakerProxyClient<>(delegate, circuitBreaker);
+        when(delegate.injectCredentialsAndInvokeV2(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class),
+                ArgumentMatchers.any()))
+                .thenThrow(InternalServerErrorException.builder().statusCode(500).build())
+                .thenThrow(new OutOfMemoryError())
+                .thenReturn(DescribeDataRepositoryAssociationsResponse.builder().build());
+
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(describeRequest,
+                fsxClient::describeDataRepositoryAssociations))
+                .isInstanceOf(InternalServerErrorException.class);
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(describeRequest,
+                fsxClient::describeDataRepositoryAssociations))
+                .isInstanceOf(OutOfMemoryError.class);
+
+        proxyClient.injectCredentialsAndInvokeV2(describeRequest, fsxClient::describeDataRepositoryAssociations);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+}
@@ -0,0 +1,85 @@
+package software.amazon.fsx.common.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    public void testOpensAfterConsecutiveFailures() {
+        final CircuitBreaker breaker = new CircuitBreaker(/*failureThreshold*/ 3, /*openMillis*/ 1000, now::get);
+
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    public void testHalfOpenProbeSuccessCloses() {
+        final CircuitBreaker breaker = new CircuitBreaker(/*failureThreshold*/ 1, /*openMillis*/ 1000, now::get);
+        breaker.onFailure();
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        // Only one probe at a time.
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    public void testHalfOpenProbeFailureReopens() {
+        final CircuitBreaker breaker = new CircuitBreaker(/*failureThreshold*/ 5, /*openMillis*/ 1000, now::get);
+        for (int i = 0; i < 5; i++) {
+            breaker.onFailure();
+        }
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        assertThat(breaker.tryAcquire()).isFalse();
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    public void testReleaseLeavesHalfOpenCircuit() {
+        final CircuitBreaker breaker = new CircuitBreaker(/*failureThreshold*/ 1, /*openMillis*/ 1000, now::get);
+        breaker.onFailure();
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.release();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThatThrownBy(() -> new CircuitBreaker(/*failureThreshold*/ 0, /*openMillis*/ 1000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
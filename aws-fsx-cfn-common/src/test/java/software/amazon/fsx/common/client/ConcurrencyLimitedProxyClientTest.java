@@ -0,0 +1,115 @@
+package software.amazon.fsx.common.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.fsx.FSxClient;
+import software.amazon.awssdk.services.fsx.model.BadRequestException;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsRequest;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsResponse;
+import software.amazon.awssdk.services.fsx.model.InternalServerErrorException;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ConcurrencyLimitedProxyClientTest {
+
+    private ProxyClient<FSxClient> delegate;
+    private FSxClient fsxClient;
+    private AdaptiveConcurrencyLimiter limiter;
+    private ProxyClient<FSxClient> proxyClient;
+    private DescribeDataRepositoryAssociationsRequest describeRequest;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        delegate = mock(ProxyClient.class);
+        fsxClient = mock(FSxClient.class);
+        limiter = new AdaptiveConcurrencyLimiter(/*initialLimit*/ 4, /*minLimit*/ 1, /*maxLimit*/ 8,
+                /*maxWaitMillis*/ 0);
+        proxyClient = new ConcurrencyLimitedProxyClient<>(delegate, limiter);
+        describeRequest = DescribeDataRepositoryAssociationsRequest.builder().build();
+    }
+
+    @Test
+    public void testSuccessRaisesLimit() {
+        when(delegate.injectCredentialsAndInvokeV2(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class),
+                ArgumentMatchers.any()))
+                .thenReturn(DescribeDataRepositoryAssociationsResponse.builder().build());
+
+        for (int i = 0; i < 5; i++) {
+            final DescribeDataRepositoryAssociationsResponse response =
+                    proxyClient.injectCredentialsAndInvokeV2(describeRequest, fsxClient::describeDataRepositoryAssociations);
+            assertThat(response).isNotNull();
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(5);
+        assertThat(limiter.getInFlight()).isEqualTo(0);
+    }
+
+    @Test
+    public void testServerErrorHalvesLimit() {
+        when(delegate.injectCredentialsAndInvokeV2(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class),
+                ArgumentMatchers.any()))
+                .thenThrow(InternalServerErrorException.builder().statusCode(500).build());
+
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(describeRequest,
+                fsxClient::describeDataRepositoryAssociations))
+                .isInstanceOf(InternalServerErrorException.class);
+
+        assertThat(limiter.getLimit()).isEqualTo(2);
+        assertThat(limiter.getInFlight()).isEqualTo(0);
+    }
+
+    @Test
+    public void testClientErrorKeepsLimit() {
+        when(delegate.injectCredentialsAndInvokeV2(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class),
+                ArgumentMatchers.any()))
+                .thenThrow(BadRequestException.builder().statusCode(400).build());
+
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(describeRequest,
+                fsxClient::describeDataRepositoryAssociations))
+                .isInstanceOf(BadRequestException.class);
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+        assertThat(limiter.getInFlight()).isEqualTo(0);
+    }
+
+    @Test
+    public void testAsyncReleasesOnCompletion() {
+        final CompletableFuture<DescribeDataRepositoryAssociationsResponse> success = new CompletableFuture<>();
+        final CompletableFuture<DescribeDataRepositoryAssociationsResponse> failure = new CompletableFuture<>();
+        doReturn(success, failure).when(delegate).injectCredentialsAndInvokeV2Async(
+                ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class), ArgumentMatchers.any());
+
+        final CompletableFuture<DescribeDataRepositoryAssociationsResponse> successResult =
+                proxyClient.injectCredentialsAndInvokeV2Async(describeRequest, request -> success);
+        final CompletableFuture<DescribeDataRepositoryAssociationsResponse> failureResult =
+                proxyClient.injectCredentialsAndInvokeV2Async(describeRequest, request -> failure);
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+
+        success.complete(DescribeDataRepositoryAssociationsResponse.builder().build());
+        assertThat(successResult.join()).isNotNull();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+
+        failure.completeExceptionally(InternalServerErrorException.builder().statusCode(500).build());
+        assertThatThrownBy(failureResult::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(InternalServerErrorException.class);
+        assertThat(limiter.getInFlight()).isEqualTo(0);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+}
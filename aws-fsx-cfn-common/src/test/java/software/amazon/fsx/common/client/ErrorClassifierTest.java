@@ -0,0 +1,86 @@
+package software.amazon.fsx.common.client;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.fsx.model.BadRequestException;
+import software.amazon.awssdk.services.fsx.model.FSxException;
+import software.amazon.awssdk.services.fsx.model.InternalServerErrorException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
+
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ErrorClassifierTest {
+
+    @Test
+    public void testIsThrottling() {
+        assertThat(ErrorClassifier.isThrottling(new CfnThrottlingException("DescribeDataRepositoryAssociations")))
+                .isTrue();
+        assertThat(ErrorClassifier.isThrottling(FSxException.builder()
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("ThrottlingException").build())
+                .build()))
+                .isTrue();
+        assertThat(ErrorClassifier.isThrottling(FSxException.builder().statusCode(429).build())).isTrue();
+
+        assertThat(ErrorClassifier.isThrottling(serverError())).isFalse();
+        assertThat(ErrorClassifier.isThrottling(new IllegalStateException())).isFalse();
+        assertThat(ErrorClassifier.isThrottling(null)).isFalse();
+    }
+
+    @Test
+    public void testIsServerError() {
+        assertThat(ErrorClassifier.isServerError(serverError())).isTrue();
+        assertThat(ErrorClassifier.isServerError(FSxException.builder().statusCode(503).build())).isTrue();
+        assertThat(ErrorClassifier.isServerError(AwsServiceException.builder().statusCode(500).build())).isTrue();
+
+        assertThat(ErrorClassifier.isServerError(FSxException.builder().statusCode(400).build())).isFalse();
+        assertThat(ErrorClassifier.isServerError(new IllegalStateException())).isFalse();
+    }
+
+    @Test
+    public void testIsTimeout() {
+        assertThat(ErrorClassifier.isTimeout(ApiCallTimeoutException.builder().build())).isTrue();
+        assertThat(ErrorClassifier.isTimeout(ApiCallAttemptTimeoutException.builder().build())).isTrue();
+        assertThat(ErrorClassifier.isTimeout(SdkClientException.builder()
+                .cause(new SocketTimeoutException())
+                .build()))
+                .isTrue();
+
+        assertThat(ErrorClassifier.isTimeout(SdkClientException.builder().build())).isFalse();
+        assertThat(ErrorClassifier.isTimeout(serverError())).isFalse();
+    }
+
+    @Test
+    public void testUnwrap() {
+        final InternalServerErrorException cause = serverError();
+
+        assertThat(ErrorClassifier.unwrap(new CompletionException(cause))).isSameAs(cause);
+        assertThat(ErrorClassifier.unwrap(new CompletionException(new ExecutionException(cause)))).isSameAs(cause);
+        assertThat(ErrorClassifier.unwrap(cause)).isSameAs(cause);
+        assertThat(ErrorClassifier.isServerError(ErrorClassifier.unwrap(new CompletionException(cause)))).isTrue();
+    }
+
+    @Test
+    public void testClassify() {
+        assertThat(ErrorClassifier.classify(new CfnThrottlingException("DescribeDataRepositoryAssociations")))
+                .isEqualTo(ErrorClass.THROTTLING);
+        assertThat(ErrorClassifier.classify(new CompletionException(serverError())))
+                .isEqualTo(ErrorClass.SERVER_ERROR);
+        assertThat(ErrorClassifier.classify(ApiCallTimeoutException.builder().build())).isEqualTo(ErrorClass.TIMEOUT);
+        assertThat(ErrorClassifier.classify(BadRequestException.builder().statusCode(400).build()))
+                .isEqualTo(ErrorClass.CLIENT_ERROR);
+        assertThat(ErrorClassifier.classify(new IllegalStateException())).isEqualTo(ErrorClass.OTHER);
+    }
+
+    private static InternalServerErrorException serverError() {
+        // The SDK sets the status code of every error it unmarshals from a response.
+        return InternalServerErrorException.builder().statusCode(500).build();
+    }
+}
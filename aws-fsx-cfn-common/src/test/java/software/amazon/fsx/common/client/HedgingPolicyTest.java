@@ -0,0 +1,68 @@
+package software.amazon.fsx.common.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HedgingPolicyTest {
+
+    @Test
+    public void testNoHedgeDelayUntilEnoughSamples() {
+        final HedgingPolicy policy = new HedgingPolicy(new LatencyTracker(/*windowSize*/ 10), /*percentile*/ 0.95,
+                /*minSamples*/ 3, /*hedgesPerCall*/ 0.5, /*maxHedgeBurst*/ 1);
+
+        policy.recordLatency(10);
+        policy.recordLatency(20);
+        assertThat(policy.onCall()).isEqualTo(-1);
+
+        policy.recordLatency(30);
+        assertThat(policy.onCall()).isEqualTo(30);
+    }
+
+    @Test
+    public void testHedgeBudget() {
+        final HedgingPolicy policy = new HedgingPolicy(new LatencyTracker(/*windowSize*/ 10), /*percentile*/ 0.95,
+                /*minSamples*/ 0, /*hedgesPerCall*/ 0.5, /*maxHedgeBurst*/ 1);
+
+        policy.onCall();
+        assertThat(policy.tryAcquireHedge()).isFalse();
+        policy.onCall();
+        assertThat(policy.tryAcquireHedge()).isTrue();
+        assertThat(policy.tryAcquireHedge()).isFalse();
+
+        // Fast calls only save up a limited number of hedges.
+        for (int i = 0; i < 10; i++) {
+            policy.onCall();
+        }
+        assertThat(policy.tryAcquireHedge()).isTrue();
+        assertThat(policy.tryAcquireHedge()).isFalse();
+    }
+
+    @Test
+    public void testReleaseHedge() {
+        final HedgingPolicy policy = new HedgingPolicy(new LatencyTracker(/*windowSize*/ 10), /*percentile*/ 0.95,
+                /*minSamples*/ 0, /*hedgesPerCall*/ 1, /*maxHedgeBurst*/ 1);
+
+        policy.onCall();
+        assertThat(policy.tryAcquireHedge()).isTrue();
+        policy.releaseHedge();
+        assertThat(policy.tryAcquireHedge()).isTrue();
+        assertThat(policy.tryAcquireHedge()).isFalse();
+
+        // Giving hedges back never saves up more than the burst.
+        policy.releaseHedge();
+        policy.releaseHedge();
+        assertThat(policy.tryAcquireHedge()).isTrue();
+        assertThat(policy.tryAcquireHedge()).isFalse();
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        final LatencyTracker tracker = new LatencyTracker(1);
+        assertThatThrownBy(() -> new HedgingPolicy(tracker, 0, 1, 0.1, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HedgingPolicy(tracker, 0.95, 1, 2, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
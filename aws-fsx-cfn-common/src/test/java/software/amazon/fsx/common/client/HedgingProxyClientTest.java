@@ -0,0 +1,193 @@
+package software.amazon.fsx.common.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.fsx.FSxClient;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryAssociation;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsRequest;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsResponse;
+import software.amazon.awssdk.services.fsx.model.InternalServerErrorException;
+import software.amazon.awssdk.services.fsx.model.UpdateDataRepositoryAssociationRequest;
+import software.amazon.awssdk.services.fsx.model.UpdateDataRepositoryAssociationResponse;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class HedgingProxyClientTest {
+
+    private ProxyClient<FSxClient> delegate;
+    private FSxClient fsxClient;
+    private HedgingPolicy hedgingPolicy;
+    private ExecutorService executor;
+    private ProxyClient<FSxClient> proxyClient;
+    private DescribeDataRepositoryAssociationsRequest describeRequest;
+    private CountDownLatch slowCallLatch;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        delegate = mock(ProxyClient.class);
+        fsxClient = mock(FSxClient.class);
+        hedgingPolicy = new HedgingPolicy(new LatencyTracker(/*windowSize*/ 10), /*percentile*/ 0.95,
+                /*minSamples*/ 1, /*hedgesPerCall*/ 1, /*maxHedgeBurst*/ 1);
+        executor = Executors.newCachedThreadPool();
+        proxyClient = new HedgingProxyClient<>(delegate, hedgingPolicy, executor);
+        describeRequest = DescribeDataRepositoryAssociationsRequest.builder().build();
+        slowCallLatch = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    public void tear_down() {
+        slowCallLatch.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testNoHedgeWithoutLatencies() {
+        final AtomicReference<Thread> callThread = new AtomicReference<>();
+        when(delegate.injectCredentialsAndInvokeV2(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class),
+                ArgumentMatchers.any()))
+                .thenAnswer(invocation -> {
+                    callThread.set(Thread.currentThread());
+                    return describeResponse("dra-1");
+                });
+
+        final DescribeDataRepositoryAssociationsResponse response =
+                proxyClient.injectCredentialsAndInvokeV2(describeRequest, fsxClient::describeDataRepositoryAssociations);
+
+        assertThat(response.associations().get(0).associationId()).isEqualTo("dra-1");
+        assertThat(callThread.get()).isSameAs(Thread.currentThread());
+        verify(delegate, times(1)).injectCredentialsAndInvokeV2(
+                ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class), ArgumentMatchers.any());
+    }
+
+    @Test
+    public void testNoHedgeBudgetStaysOnCallerThread() {
+        hedgingPolicy = new HedgingPolicy(new LatencyTracker(/*windowSize*/ 10), /*percentile*/ 0.95,
+                /*minSamples*/ 1, /*hedgesPerCall*/ 0, /*maxHedgeBurst*/ 1);
+        hedgingPolicy.recordLatency(TimeUnit.MILLISECONDS.toNanos(1));
+        proxyClient = new HedgingProxyClient<>(delegate, hedgingPolicy, executor);
+        final AtomicReference<Thread> callThread = new AtomicReference<>();
+        when(delegate.injectCredentialsAndInvokeV2(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class),
+                ArgumentMatchers.any()))
+                .thenAnswer(invocation -> {
+                    callThread.set(Thread.currentThread());
+                    return describeResponse("dra-1");
+                });
+
+        proxyClient.injectCredentialsAndInvokeV2(describeRequest, fsxClient::describeDataRepositoryAssociations);
+
+        assertThat(callThread.get()).isSameAs(Thread.currentThread());
+    }
+
+    @Test
+    public void testFastCallGivesHedgeBack() {
+        hedgingPolicy.recordLatency(TimeUnit.MINUTES.toNanos(1));
+        when(delegate.injectCredentialsAndInvokeV2(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class),
+                ArgumentMatchers.any()))
+                .thenReturn(describeResponse("dra-1"));
+
+        proxyClient.injectCredentialsAndInvokeV2(describeRequest, fsxClient::describeDataRepositoryAssociations);
+
+        assertThat(hedgingPolicy.tryAcquireHedge()).isTrue();
+        verify(delegate, times(1)).injectCredentialsAndInvokeV2(
+                ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class), ArgumentMatchers.any());
+    }
+
+    @Test
+    public void testSlowCallIsHedged() throws InterruptedException {
+        hedgingPolicy.recordLatency(TimeUnit.MILLISECONDS.toNanos(1));
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        when(delegate.injectCredentialsAndInvokeV2(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class),
+                ArgumentMatchers.any()))
+                .thenAnswer(invocation -> {
+                    try {
+                        slowCallLatch.await(1, TimeUnit.MINUTES);
+                    } catch (final InterruptedException e) {
+                        interrupted.countDown();
+                        throw e;
+                    }
+                    return describeResponse("slow");
+                })
+                .thenReturn(describeResponse("hedge"));
+
+        final DescribeDataRepositoryAssociationsResponse response =
+                proxyClient.injectCredentialsAndInvokeV2(describeRequest, fsxClient::describeDataRepositoryAssociations);
+
+        assertThat(response.associations().get(0).associationId()).isEqualTo("hedge");
+        // The losing call doesn't outlive the call that hedged it.
+        assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+        verify(delegate, times(2)).injectCredentialsAndInvokeV2(
+                ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class), ArgumentMatchers.any());
+    }
+
+    @Test
+    public void testFailedHedgeWaitsForFirstCall() {
+        hedgingPolicy.recordLatency(TimeUnit.MILLISECONDS.toNanos(1));
+        when(delegate.injectCredentialsAndInvokeV2(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class),
+                ArgumentMatchers.any()))
+                .thenAnswer(invocation -> {
+                    slowCallLatch.await(1, TimeUnit.MINUTES);
+                    return describeResponse("slow");
+                })
+                .thenAnswer(invocation -> {
+                    slowCallLatch.countDown();
+                    throw InternalServerErrorException.builder().statusCode(500).build();
+                });
+
+        final DescribeDataRepositoryAssociationsResponse response =
+                proxyClient.injectCredentialsAndInvokeV2(describeRequest, fsxClient::describeDataRepositoryAssociations);
+
+        assertThat(response.associations().get(0).associationId()).isEqualTo("slow");
+    }
+
+    @Test
+    public void testErrorsAreRethrown() {
+        hedgingPolicy.recordLatency(TimeUnit.MINUTES.toNanos(1));
+        when(delegate.injectCredentialsAndInvokeV2(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class),
+                ArgumentMatchers.any()))
+                .thenThrow(InternalServerErrorException.builder().statusCode(500).build());
+
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(describeRequest,
+                fsxClient::describeDataRepositoryAssociations))
+                .isInstanceOf(InternalServerErrorException.class);
+    }
+
+    @Test
+    public void testMutatingCallsAreNeverHedged() {
+        hedgingPolicy.recordLatency(0);
+        final UpdateDataRepositoryAssociationRequest updateRequest = UpdateDataRepositoryAssociationRequest.builder().build();
+        when(delegate.injectCredentialsAndInvokeV2(ArgumentMatchers.any(UpdateDataRepositoryAssociationRequest.class),
+                ArgumentMatchers.any()))
+                .thenReturn(UpdateDataRepositoryAssociationResponse.builder().build());
+
+        final UpdateDataRepositoryAssociationResponse response =
+                proxyClient.injectCredentialsAndInvokeV2(updateRequest, fsxClient::updateDataRepositoryAssociation);
+
+        assertThat(response).isNotNull();
+        verify(delegate, times(1)).injectCredentialsAndInvokeV2(
+                ArgumentMatchers.any(UpdateDataRepositoryAssociationRequest.class), ArgumentMatchers.any());
+    }
+
+    private static DescribeDataRepositoryAssociationsResponse describeResponse(final String associationId) {
+        return DescribeDataRepositoryAssociationsResponse.builder()
+                .associations(DataRepositoryAssociation.builder().associationId(associationId).build())
+                .build();
+    }
+}
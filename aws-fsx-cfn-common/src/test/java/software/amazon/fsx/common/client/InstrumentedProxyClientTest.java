@@ -0,0 +1,142 @@
+package software.amazon.fsx.common.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.services.fsx.FSxAsyncClient;
+import software.amazon.awssdk.services.fsx.FSxClient;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsRequest;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsResponse;
+import software.amazon.awssdk.services.fsx.model.InternalServerErrorException;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class InstrumentedProxyClientTest {
+
+    private ProxyClient<FSxClient> delegate;
+    private FSxClient fsxClient;
+    private List<CallRecord> calls;
+    private ProxyClient<FSxClient> proxyClient;
+    private DescribeDataRepositoryAssociationsRequest describeRequest;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        delegate = mock(ProxyClient.class);
+        fsxClient = mock(FSxClient.class);
+        calls = new CopyOnWriteArrayList<>();
+        proxyClient = InstrumentedProxyClient.instrument(delegate, calls::add);
+        describeRequest = DescribeDataRepositoryAssociationsRequest.builder().build();
+    }
+
+    @Test
+    public void testNoopLeavesClient() {
+        assertThat(InstrumentedProxyClient.instrument(delegate, CallListener.NOOP)).isSameAs(delegate);
+        assertThat(proxyClient).isInstanceOf(InstrumentedProxyClient.class);
+    }
+
+    @Test
+    public void testRecordsSuccess() {
+        final DescribeDataRepositoryAssociationsResponse response =
+                (DescribeDataRepositoryAssociationsResponse) DescribeDataRepositoryAssociationsResponse.builder()
+                        .sdkHttpResponse(SdkHttpResponse.builder()
+                                .statusCode(200)
+                                .putHeader("Content-Length", "1234")
+                                .build())
+                        .build();
+        when(delegate.injectCredentialsAndInvokeV2(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class),
+                ArgumentMatchers.any()))
+                .thenReturn(response);
+
+        final DescribeDataRepositoryAssociationsResponse result =
+                proxyClient.injectCredentialsAndInvokeV2(describeRequest, fsxClient::describeDataRepositoryAssociations);
+
+        assertThat(result).isSameAs(response);
+
+        assertThat(calls).hasSize(1);
+        final CallRecord call = calls.get(0);
+        assertThat(call.getRequestType()).isEqualTo(DescribeDataRepositoryAssociationsRequest.class);
+        assertThat(call.getOperation()).isEqualTo("DescribeDataRepositoryAssociations");
+        assertThat(call.getResponseBytes()).isEqualTo(1234L);
+        assertThat(call.getLatencyNanos()).isGreaterThanOrEqualTo(0L);
+        assertThat(call.isSuccess()).isTrue();
+    }
+
+    @Test
+    public void testRecordsUnknownSize() {
+        when(delegate.injectCredentialsAndInvokeV2(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class),
+                ArgumentMatchers.any()))
+                .thenReturn(DescribeDataRepositoryAssociationsResponse.builder().build());
+
+        proxyClient.injectCredentialsAndInvokeV2(describeRequest, fsxClient::describeDataRepositoryAssociations);
+
+        assertThat(calls.get(0).getResponseBytes()).isEqualTo(CallRecord.UNKNOWN_SIZE);
+    }
+
+    @Test
+    public void testRecordsFailure() {
+        final InternalServerErrorException error = InternalServerErrorException.builder().statusCode(500).build();
+        when(delegate.injectCredentialsAndInvokeV2(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class),
+                ArgumentMatchers.any()))
+                .thenThrow(error);
+
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(describeRequest,
+                fsxClient::describeDataRepositoryAssociations))
+                .isSameAs(error);
+
+        assertThat(calls).hasSize(1);
+        assertThat(calls.get(0).isSuccess()).isFalse();
+        assertThat(calls.get(0).getError()).isSameAs(error);
+        assertThat(calls.get(0).getResponseBytes()).isEqualTo(CallRecord.UNKNOWN_SIZE);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRecordsAsyncCallOnCompletion() {
+        final ProxyClient<FSxAsyncClient> asyncDelegate = mock(ProxyClient.class);
+        final FSxAsyncClient fsxAsyncClient = mock(FSxAsyncClient.class);
+        final ProxyClient<FSxAsyncClient> asyncProxyClient = InstrumentedProxyClient.instrument(asyncDelegate,
+                calls::add);
+        final CompletableFuture<DescribeDataRepositoryAssociationsResponse> future = new CompletableFuture<>();
+        doReturn(future).when(asyncDelegate).injectCredentialsAndInvokeV2Async(
+                ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class), ArgumentMatchers.any());
+
+        asyncProxyClient.injectCredentialsAndInvokeV2Async(describeRequest,
+                fsxAsyncClient::describeDataRepositoryAssociations);
+        assertThat(calls).isEmpty();
+
+        future.completeExceptionally(InternalServerErrorException.builder().statusCode(500).build());
+
+        assertThat(calls).hasSize(1);
+        assertThat(calls.get(0).getError()).isInstanceOf(InternalServerErrorException.class);
+    }
+
+    @Test
+    public void testBoth() {
+        final List<CallRecord> others = new CopyOnWriteArrayList<>();
+        final CallListener first = calls::add;
+        final CallListener second = others::add;
+
+        assertThat(CallListener.both(first, CallListener.NOOP)).isSameAs(first);
+        assertThat(CallListener.both(CallListener.NOOP, second)).isSameAs(second);
+
+        CallListener.both(first, second).onCall(new CallRecord(DescribeDataRepositoryAssociationsRequest.class, 1L,
+                CallRecord.UNKNOWN_SIZE, null));
+
+        assertThat(calls).hasSize(1);
+        assertThat(others).hasSize(1);
+    }
+}
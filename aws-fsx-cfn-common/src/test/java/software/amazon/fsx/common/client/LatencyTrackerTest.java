@@ -0,0 +1,41 @@
+package software.amazon.fsx.common.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LatencyTrackerTest {
+
+    @Test
+    public void testPercentile() {
+        final LatencyTracker tracker = new LatencyTracker(/*windowSize*/ 100);
+        assertThat(tracker.percentile(0.95)).isEqualTo(-1);
+
+        for (long latency = 100; latency >= 1; latency--) {
+            tracker.record(latency);
+        }
+
+        assertThat(tracker.getSampleCount()).isEqualTo(100);
+        assertThat(tracker.percentile(0.5)).isEqualTo(50);
+        assertThat(tracker.percentile(0.95)).isEqualTo(95);
+        assertThat(tracker.percentile(1)).isEqualTo(100);
+    }
+
+    @Test
+    public void testOldestSamplesAreEvicted() {
+        final LatencyTracker tracker = new LatencyTracker(/*windowSize*/ 2);
+
+        tracker.record(1000);
+        tracker.record(1);
+        tracker.record(2);
+
+        assertThat(tracker.getSampleCount()).isEqualTo(2);
+        assertThat(tracker.percentile(1)).isEqualTo(2);
+    }
+
+    @Test
+    public void testInvalidWindow() {
+        assertThatThrownBy(() -> new LatencyTracker(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,64 @@
+package software.amazon.fsx.common.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.services.fsx.FSxClient;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsRequest;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsResponse;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ProxyClientChainTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBuildsFromInnermost() {
+        final ProxyClient<FSxClient> delegate = mock(ProxyClient.class);
+        final List<String> order = new ArrayList<>();
+
+        final ProxyClient<FSxClient> proxyClient = ProxyClientChain.around(delegate)
+                .instrument(call -> order.add("instrument"))
+                .then(inner -> new ForwardingProxyClient<FSxClient>(inner) {
+                    @Override
+                    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT
+                        injectCredentialsAndInvokeV2(final RequestT request,
+                                                     final Function<RequestT, ResponseT> requestFunction) {
+                        order.add("outer");
+                        return super.injectCredentialsAndInvokeV2(request, requestFunction);
+                    }
+                })
+                .build();
+        when(delegate.injectCredentialsAndInvokeV2(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class),
+                ArgumentMatchers.any()))
+                .thenReturn(DescribeDataRepositoryAssociationsResponse.builder().build());
+
+        proxyClient.injectCredentialsAndInvokeV2(DescribeDataRepositoryAssociationsRequest.builder().build(),
+                mock(FSxClient.class)::describeDataRepositoryAssociations);
+
+        assertThat(order).containsExactly("outer", "instrument");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testNoopChain() {
+        final ProxyClient<FSxClient> delegate = mock(ProxyClient.class);
+
+        assertThat(ProxyClientChain.around(delegate).instrument(CallListener.NOOP).build()).isSameAs(delegate);
+        assertThat(ProxyClientChain.around(delegate)
+                .breakCircuit(new CircuitBreaker(5, 1000L))
+                .build())
+                .isInstanceOf(CircuitBreakerProxyClient.class);
+    }
+}
@@ -0,0 +1,122 @@
+package software.amazon.fsx.common.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.fsx.FSxClient;
+import software.amazon.awssdk.services.fsx.model.DeleteDataRepositoryAssociationRequest;
+import software.amazon.awssdk.services.fsx.model.DeleteDataRepositoryAssociationResponse;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsRequest;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsResponse;
+import software.amazon.awssdk.services.fsx.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.fsx.model.TagResourceRequest;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RateLimitedProxyClientTest {
+
+    private ProxyClient<FSxClient> delegate;
+    private FSxClient fsxClient;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        delegate = mock(ProxyClient.class);
+        fsxClient = mock(FSxClient.class);
+    }
+
+    @Test
+    public void testOperationType() {
+        assertThat(OperationType.of(DescribeDataRepositoryAssociationsRequest.builder().build()))
+                .isEqualTo(OperationType.DESCRIBE);
+        assertThat(OperationType.of(ListTagsForResourceRequest.builder().build()))
+                .isEqualTo(OperationType.DESCRIBE);
+        assertThat(OperationType.of(TagResourceRequest.builder().build()))
+                .isEqualTo(OperationType.MUTATE);
+        assertThat(OperationType.of(DeleteDataRepositoryAssociationRequest.builder().build()))
+                .isEqualTo(OperationType.MUTATE);
+    }
+
+    @Test
+    public void testSeparateBucketsPerOperationType() {
+        final ApiRateLimiter rateLimiter = new ApiRateLimiter(
+                new TokenBucket(/*capacity*/ 1, /*tokensPerSecond*/ 0.001),
+                new TokenBucket(/*capacity*/ 1, /*tokensPerSecond*/ 0.001),
+                /*maxWaitMillis*/ 0);
+        final ProxyClient<FSxClient> proxyClient = new RateLimitedProxyClient<>(delegate, rateLimiter);
+        final DescribeDataRepositoryAssociationsRequest describeRequest =
+                DescribeDataRepositoryAssociationsRequest.builder().build();
+        final DeleteDataRepositoryAssociationRequest deleteRequest =
+                DeleteDataRepositoryAssociationRequest.builder().build();
+        when(delegate.injectCredentialsAndInvokeV2(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class),
+                ArgumentMatchers.any()))
+                .thenReturn(DescribeDataRepositoryAssociationsResponse.builder().build());
+        when(delegate.injectCredentialsAndInvokeV2(ArgumentMatchers.any(DeleteDataRepositoryAssociationRequest.class),
+                ArgumentMatchers.any()))
+                .thenReturn(DeleteDataRepositoryAssociationResponse.builder().build());
+
+        final DescribeDataRepositoryAssociationsResponse describeResponse =
+                proxyClient.injectCredentialsAndInvokeV2(describeRequest, fsxClient::describeDataRepositoryAssociations);
+        final DeleteDataRepositoryAssociationResponse deleteResponse =
+                proxyClient.injectCredentialsAndInvokeV2(deleteRequest, fsxClient::deleteDataRepositoryAssociation);
+        assertThat(describeResponse).isNotNull();
+        assertThat(deleteResponse).isNotNull();
+
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(describeRequest,
+                fsxClient::describeDataRepositoryAssociations))
+                .isInstanceOf(CfnThrottlingException.class);
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(deleteRequest,
+                fsxClient::deleteDataRepositoryAssociation))
+                .isInstanceOf(CfnThrottlingException.class);
+
+        verify(delegate, times(/*wantedNumberOfInvocations*/ 1)).injectCredentialsAndInvokeV2(
+                ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class),
+                ArgumentMatchers.<Function<DescribeDataRepositoryAssociationsRequest,
+                        DescribeDataRepositoryAssociationsResponse>>any());
+        verify(delegate, times(/*wantedNumberOfInvocations*/ 1)).injectCredentialsAndInvokeV2(
+                ArgumentMatchers.any(DeleteDataRepositoryAssociationRequest.class),
+                ArgumentMatchers.<Function<DeleteDataRepositoryAssociationRequest,
+                        DeleteDataRepositoryAssociationResponse>>any());
+    }
+
+    @Test
+    public void testForwardsClient() {
+        when(delegate.client()).thenReturn(fsxClient);
+
+        final ProxyClient<FSxClient> proxyClient = new RateLimitedProxyClient<>(delegate,
+                new ApiRateLimiter(new TokenBucket(1, 1), new TokenBucket(1, 1), /*maxWaitMillis*/ 0));
+
+        assertThat(proxyClient.client()).isSameAs(fsxClient);
+    }
+
+    @Test
+    public void testAsyncIsRateLimited() {
+        final CompletableFuture<DescribeDataRepositoryAssociationsResponse> future =
+                CompletableFuture.completedFuture(DescribeDataRepositoryAssociationsResponse.builder().build());
+        doReturn(future).when(delegate).injectCredentialsAndInvokeV2Async(
+                ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class), ArgumentMatchers.any());
+
+        final ProxyClient<FSxClient> proxyClient = new RateLimitedProxyClient<>(delegate,
+                new ApiRateLimiter(new TokenBucket(1, 0.001), new TokenBucket(1, 0.001), /*maxWaitMillis*/ 0));
+        final DescribeDataRepositoryAssociationsRequest describeRequest =
+                DescribeDataRepositoryAssociationsRequest.builder().build();
+
+        assertThat(proxyClient.injectCredentialsAndInvokeV2Async(describeRequest, request -> future)).isSameAs(future);
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2Async(describeRequest, request -> future))
+                .isInstanceOf(CfnThrottlingException.class);
+    }
+}
@@ -0,0 +1,61 @@
+package software.amazon.fsx.common.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    public void testBurstThenRefill() {
+        final TokenBucket bucket = new TokenBucket(/*capacity*/ 2, /*tokensPerSecond*/ 1, now::get);
+
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isFalse();
+        assertThat(bucket.availableTokens()).isEqualTo(0);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertThat(bucket.availableTokens()).isEqualTo(1);
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isFalse();
+    }
+
+    @Test
+    public void testRefillIsCappedAtCapacity() {
+        final TokenBucket bucket = new TokenBucket(/*capacity*/ 3, /*tokensPerSecond*/ 10, now::get);
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        assertThat(bucket.availableTokens()).isEqualTo(3);
+    }
+
+    @Test
+    public void testWaitWithinBudget() throws InterruptedException {
+        final TokenBucket bucket = new TokenBucket(/*capacity*/ 1, /*tokensPerSecond*/ 1000);
+
+        assertThat(bucket.tryAcquire(/*maxWaitMillis*/ 0)).isTrue();
+        assertThat(bucket.tryAcquire(/*maxWaitMillis*/ 100)).isTrue();
+    }
+
+    @Test
+    public void testWaitOverBudget() throws InterruptedException {
+        final TokenBucket bucket = new TokenBucket(/*capacity*/ 1, /*tokensPerSecond*/ 1, now::get);
+
+        assertThat(bucket.tryAcquire(/*maxWaitMillis*/ 0)).isTrue();
+        assertThat(bucket.tryAcquire(/*maxWaitMillis*/ 10)).isFalse();
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThatThrownBy(() -> new TokenBucket(/*capacity*/ 0, /*tokensPerSecond*/ 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(/*capacity*/ 1, /*tokensPerSecond*/ 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
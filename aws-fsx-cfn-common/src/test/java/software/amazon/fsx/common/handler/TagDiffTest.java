@@ -0,0 +1,115 @@
+package software.amazon.fsx.common.handler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TagDiffTest {
+
+    @Test
+    public void testBetween_NullTags() {
+        final TagDiff tagDiff = TagDiff.between(null, null, null, null);
+
+        assertThat(tagDiff.isEmpty()).isTrue();
+        assertThat(tagDiff.getTagsToTag()).isEmpty();
+        assertThat(tagDiff.getRemovedTagKeys()).isEmpty();
+    }
+
+    @Test
+    public void testBetween_SameTags() {
+        final Map<String, String> tags = tags("key1", "value1", "key2", "value2");
+
+        assertThat(TagDiff.between(tags, new HashMap<>(tags)).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testBetween_AddsChangesAndRemoves() {
+        final TagDiff tagDiff = TagDiff.between(
+                tags("kept", "value", "changed", "before", "removed", "value"),
+                tags("kept", "value", "changed", "after", "added", "value"));
+
+        assertThat(tagDiff.isEmpty()).isFalse();
+        assertThat(tagDiff.getAddedTags()).isEqualTo(tags("added", "value"));
+        assertThat(tagDiff.getChangedTags()).isEqualTo(tags("changed", "after"));
+        assertThat(tagDiff.getRemovedTagKeys()).containsExactly("removed");
+        assertThat(tagDiff.getTagsToTag()).isEqualTo(tags("added", "value", "changed", "after"));
+    }
+
+    @Test
+    public void testBetween_OnlyAddsOrOnlyChanges() {
+        assertThat(TagDiff.between(Collections.emptyMap(), tags("key", "value")).getTagsToTag())
+                .isEqualTo(tags("key", "value"));
+        assertThat(TagDiff.between(tags("key", "before"), tags("key", "after")).getTagsToTag())
+                .isEqualTo(tags("key", "after"));
+    }
+
+    @Test
+    public void testBetween_ResourceTagsOverrideStackTags() {
+        final TagDiff tagDiff = TagDiff.between(
+                tags("stack", "value", "shared", "stack", "moved", "value"),
+                tags("shared", "resource", "dropped", "value"),
+                tags("stack", "value", "shared", "stack", "new", "stack"),
+                tags("shared", "resource", "moved", "value", "new", "resource"));
+
+        // "moved" went from a stack tag to a resource tag with the same value, so it is neither changed nor removed.
+        assertThat(tagDiff.getAddedTags()).isEqualTo(tags("new", "resource"));
+        assertThat(tagDiff.getChangedTags()).isEmpty();
+        assertThat(tagDiff.getRemovedTagKeys()).containsExactly("dropped");
+    }
+
+    @Test
+    public void testBetween_StackTagRemovedUnderResourceTag() {
+        final TagDiff tagDiff = TagDiff.between(
+                tags("shared", "stack"),
+                tags("shared", "resource"),
+                Collections.emptyMap(),
+                Collections.emptyMap());
+
+        assertThat(tagDiff.getRemovedTagKeys()).containsExactly("shared");
+    }
+
+    @Test
+    public void testBetween_ResourceTagRemovedOverStackTag() {
+        final TagDiff tagDiff = TagDiff.between(
+                tags("shared", "stack"),
+                tags("shared", "resource"),
+                tags("shared", "stack"),
+                Collections.emptyMap());
+
+        assertThat(tagDiff.getChangedTags()).isEqualTo(tags("shared", "stack"));
+        assertThat(tagDiff.getRemovedTagKeys()).isEmpty();
+    }
+
+    @Test
+    public void testBetween_DoesNotModifyTags() {
+        final Map<String, String> previousStackTags = tags("stack", "before");
+        final Map<String, String> previousResourceTags = tags("resource", "before");
+        final Map<String, String> desiredStackTags = tags("stack", "after");
+        final Map<String, String> desiredResourceTags = tags("added", "value");
+
+        final TagDiff tagDiff = TagDiff.between(previousStackTags, previousResourceTags, desiredStackTags,
+                desiredResourceTags);
+
+        assertThat(previousStackTags).isEqualTo(tags("stack", "before"));
+        assertThat(previousResourceTags).isEqualTo(tags("resource", "before"));
+        assertThat(desiredStackTags).isEqualTo(tags("stack", "after"));
+        assertThat(desiredResourceTags).isEqualTo(tags("added", "value"));
+        assertThatThrownBy(() -> tagDiff.getTagsToTag().put("key", "value"))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> tagDiff.getRemovedTagKeys().add("key"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private static Map<String, String> tags(final String... keysAndValues) {
+        final Map<String, String> tags = new HashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            tags.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return tags;
+    }
+}
@@ -13,9 +13,11 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -155,6 +157,113 @@ public class TaggingTest {
                                 TAG_VALUE_PATTERN)));
     }
 
+    @Test
+    public void testValidateTags_InvalidKeyAfterValidTags() {
+        final Tag tagWithLineTerminatorKey = Tag.builder()
+                .key(/*key*/ "\nkey")
+                .value(/*value*/ "value")
+                .build();
+        final Set<Tag> tagsToValidate = new LinkedHashSet<Tag>();
+        tagsToValidate.add(tag1);
+        tagsToValidate.add(tagWithLineTerminatorKey);
+        tagsToValidate.add(tagWithInvalidValue);
+
+        assertThatThrownBy(() -> Tagging.validateTags(tagsToValidate))
+                .isInstanceOf(CfnInvalidRequestException.class)
+                .hasMessage(String.format(HandlerErrorCode.InvalidRequest.getMessage(),
+                        String.format(VALIDATION_FAILURE_MESSAGE_FORMAT,
+                                tagWithLineTerminatorKey.key(),
+                                /*index*/ 1,
+                                /*member*/ "key",
+                                TAG_KEY_PATTERN)));
+    }
+
+    @Test
+    public void testIsValidKeyAndValue_EveryCodePointMatchesPatterns() {
+        for (int codePoint = Character.MIN_CODE_POINT; codePoint <= Character.MAX_CODE_POINT; codePoint++) {
+            final String string = new String(Character.toChars(codePoint));
+            assertMatchesPatterns(string);
+            assertMatchesPatterns("k" + string);
+        }
+    }
+
+    @Test
+    public void testIsValidKeyAndValue_RandomStringsMatchPatterns() {
+        // Mostly characters around the edges of the patterns, so that random strings are often valid.
+        final String[] alphabet = {"a", "A", "w", "W", "s", "S", "\u017f", ":", "_", ".", "/", "=", "+", "-", "@", "!",
+            "*", " ", "\u00a0", "\u3000", "\u2028", "\u2029", "\u0085", "\n", "\r", "\t", "0", "\u0663", "\u00bd",
+            "\u2160", "\u00e9", "\u01c5", "\u02b0", "\u4e2d", "\u0301", "\u00a9", "\ud835\udc00", "\ud801\udc28",
+            "\ud83d\ude00", "\ud835", "\udc00", "aws:", "AwS:", "aws"};
+        final Random random = new Random(0);
+        for (int i = 0; i < 100_000; i++) {
+            final StringBuilder string = new StringBuilder();
+            final int length = random.nextInt(8);
+            for (int j = 0; j < length; j++) {
+                string.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            assertMatchesPatterns(string.toString());
+        }
+    }
+
+    private static void assertMatchesPatterns(final String string) {
+        assertThat(Tagging.isValidKey(string)).as("key %s", string)
+                .isEqualTo(TAG_KEY_PATTERN.matcher(string).matches());
+        assertThat(Tagging.isValidValue(string)).as("value %s", string)
+                .isEqualTo(TAG_VALUE_PATTERN.matcher(string).matches());
+    }
+
+    @Test
+    public void testMergeAndValidateTags() {
+        final Map<String, String> stackTags = new LinkedHashMap<>();
+        stackTags.put(tag2.key(), tag2.value());
+        stackTags.put(tag1DuplicateKey.key(), tag1DuplicateKey.value());
+
+        final Collection<Tag> mergedTags = Tagging.mergeAndValidateTags(Collections.singletonList(tag1),
+                Tag::key,
+                Tag::value,
+                stackTags,
+                Collections.singletonMap(tag3.key(), tag3.value()));
+
+        assertThat(mergedTags).containsExactly(tag1, tag2, tag3);
+    }
+
+    @Test
+    public void testMergeAndValidateTags_NullTags() {
+        assertThat(Tagging.<Tag>mergeAndValidateTags(null, Tag::key, Tag::value, null, null)).isEmpty();
+    }
+
+    @Test
+    public void testMergeAndValidateTags_MatchesValidateAndTranslate() {
+        final List<Tag> resourceTags = Arrays.asList(tag1, tag2);
+        final Map<String, String> stackTags = Collections.singletonMap(tag1DuplicateKey.key(), tag1DuplicateKey.value());
+        final Map<String, String> systemTags = Collections.singletonMap(tag3.key(), tag3.value());
+
+        final Tagging.TagSet tagSet = Tagging.TagSet.builder()
+                .resourceTags(new LinkedHashSet<>(resourceTags))
+                .stackTags(Tagging.translateTagsMapToSdk(stackTags))
+                .systemTags(Tagging.translateTagsMapToSdk(systemTags))
+                .build();
+        Tagging.validateTags(tagSet.getResourceTags());
+
+        assertThat(Tagging.mergeAndValidateTags(resourceTags, Tag::key, Tag::value, stackTags, systemTags))
+                .containsExactlyElementsOf(Tagging.translateTagSetToSdk(tagSet));
+    }
+
+    @Test
+    public void testMergeAndValidateTags_InvalidValue() {
+        final List<Tag> resourceTags = Arrays.asList(tag1, tag2, tagWithInvalidValue);
+
+        assertThatThrownBy(() -> Tagging.mergeAndValidateTags(resourceTags, Tag::key, Tag::value,
+                Collections.emptyMap(), Collections.emptyMap()))
+                .isInstanceOf(CfnInvalidRequestException.class)
+                .hasMessage(String.format(HandlerErrorCode.InvalidRequest.getMessage(),
+                        String.format(VALIDATION_FAILURE_MESSAGE_FORMAT,
+                                tagWithInvalidValue.key(),
+                                /*index*/ 2,
+                                /*member*/ "value",
+                                TAG_VALUE_PATTERN)));
+    }
+
     @Test
     public void testTagSetIsEmpty() {
         final Set<Tag> resourceTags = new HashSet<>(Collections.singletonList(tag1));
@@ -0,0 +1,41 @@
+package software.amazon.fsx.common.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LogEventTest {
+
+    @Test
+    public void testToString() {
+        final LogEvent event = LogEvent.of("Stabilization")
+                .with("associationId", "dra-0123456789abcdef0")
+                .with("polls", 3)
+                .with("elapsedSeconds", 1.5)
+                .with("stabilized", false)
+                .with("failure", null)
+                .with("lifecycle", new StringBuilder("CREATING"))
+                .with("message", "a \"quoted\" message");
+
+        assertThat(event.toString()).isEqualTo("{\"event\":\"Stabilization\","
+                + "\"associationId\":\"dra-0123456789abcdef0\","
+                + "\"polls\":3,"
+                + "\"elapsedSeconds\":1.5,"
+                + "\"stabilized\":false,"
+                + "\"failure\":null,"
+                + "\"lifecycle\":\"CREATING\","
+                + "\"message\":\"a \\\"quoted\\\" message\"}");
+    }
+
+    @Test
+    public void testLog() {
+        final List<String> lines = new ArrayList<>();
+
+        LogEvent.of("Read").with("associationId", "dra-0123456789abcdef0").log(lines::add);
+
+        assertThat(lines).containsExactly("{\"event\":\"Read\",\"associationId\":\"dra-0123456789abcdef0\"}");
+    }
+}
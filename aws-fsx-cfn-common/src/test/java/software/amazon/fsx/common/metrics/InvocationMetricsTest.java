@@ -0,0 +1,164 @@
+package software.amazon.fsx.common.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.fsx.model.BadRequestException;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsRequest;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
+import software.amazon.fsx.common.client.AdaptiveConcurrencyLimiter;
+import software.amazon.fsx.common.client.CallRecord;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InvocationMetricsTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private InvocationMetrics metrics;
+    private List<String> lines;
+
+    @BeforeEach
+    public void setup() {
+        metrics = new InvocationMetrics("Namespace", "AWS::FSx::DataRepositoryAssociation", "Update");
+        lines = new ArrayList<>();
+    }
+
+    @Test
+    public void testFlush_Invocation() throws IOException {
+        metrics.recordPoll();
+        metrics.recordPoll();
+
+        metrics.flush(lines::add);
+
+        assertThat(lines).hasSize(1);
+        final JsonNode line = MAPPER.readTree(lines.get(0));
+        final JsonNode metadata = line.get("_aws").get("CloudWatchMetrics").get(0);
+        assertThat(line.get("_aws").get("Timestamp").isNumber()).isTrue();
+        assertThat(metadata.get("Namespace").asText()).isEqualTo("Namespace");
+        assertThat(metadata.get("Dimensions").get(0).get(0).asText()).isEqualTo("Handler");
+        assertThat(metadata.get("Metrics")).hasSize(3);
+        assertThat(metadata.get("Metrics").get(2).get("Unit").asText()).isEqualTo("Milliseconds");
+        assertThat(line.get("ResourceType").asText()).isEqualTo("AWS::FSx::DataRepositoryAssociation");
+        assertThat(line.get("Handler").asText()).isEqualTo("Update");
+        assertThat(line.get("Calls").asInt()).isEqualTo(0);
+        assertThat(line.get("StabilizationPolls").asInt()).isEqualTo(2);
+        assertThat(line.get("InvocationTime").isNumber()).isTrue();
+    }
+
+    @Test
+    public void testFlush_Operations() throws IOException {
+        metrics.recordCall("DescribeDataRepositoryAssociations", 2_000_000, null);
+        metrics.recordCall("DescribeDataRepositoryAssociations", 4_000_000,
+                new CfnThrottlingException("DescribeDataRepositoryAssociations"));
+        metrics.recordCall("UpdateDataRepositoryAssociation", 1_000_000,
+                BadRequestException.builder().statusCode(400).build());
+
+        metrics.flush(lines::add);
+
+        assertThat(lines).hasSize(5);
+        assertThat(MAPPER.readTree(lines.get(0)).get("Calls").asInt()).isEqualTo(3);
+
+        final JsonNode describe = MAPPER.readTree(lines.get(1));
+        assertThat(describe.get("_aws").get("CloudWatchMetrics").get(0).get("Dimensions").get(0))
+                .extracting(JsonNode::asText)
+                .containsExactly("Handler", "Operation");
+        assertThat(describe.get("Operation").asText()).isEqualTo("DescribeDataRepositoryAssociations");
+        assertThat(describe.get("Latency")).extracting(JsonNode::asDouble).containsExactly(2.0, 4.0);
+        assertThat(describe.get("Calls").asInt()).isEqualTo(2);
+        assertThat(describe.get("Errors").asInt()).isEqualTo(1);
+
+        final JsonNode describeErrors = MAPPER.readTree(lines.get(2));
+        assertThat(describeErrors.get("ErrorClass").asText()).isEqualTo("THROTTLING");
+        assertThat(describeErrors.get("Errors").asInt()).isEqualTo(1);
+
+        assertThat(MAPPER.readTree(lines.get(3)).get("Operation").asText())
+                .isEqualTo("UpdateDataRepositoryAssociation");
+        assertThat(MAPPER.readTree(lines.get(4)).get("ErrorClass").asText()).isEqualTo("CLIENT_ERROR");
+    }
+
+    @Test
+    public void testFlush_SplitsLatencies() throws IOException {
+        final int calls = InvocationMetrics.MAX_VALUES_PER_LINE + 1;
+        for (int i = 0; i < calls; i++) {
+            metrics.recordCall("DescribeDataRepositoryAssociations", 1_000_000, null);
+        }
+
+        metrics.flush(lines::add);
+
+        assertThat(lines).hasSize(3);
+        final JsonNode first = MAPPER.readTree(lines.get(1));
+        assertThat(first.get("Latency")).hasSize(InvocationMetrics.MAX_VALUES_PER_LINE);
+        assertThat(first.get("Calls").asInt()).isEqualTo(calls);
+        final JsonNode second = MAPPER.readTree(lines.get(2));
+        assertThat(second.get("Latency")).hasSize(1);
+        assertThat(second.has("Calls")).isFalse();
+    }
+
+    @Test
+    public void testFlush_LifecycleTime() throws IOException {
+        metrics.recordLifecycleTime("CREATING", 1000);
+        metrics.recordLifecycleTime("CREATING", 500);
+        metrics.recordLifecycleTime("AVAILABLE", 0);
+
+        metrics.flush(lines::add);
+
+        assertThat(lines).hasSize(2);
+        final JsonNode lifecycle = MAPPER.readTree(lines.get(1));
+        assertThat(lifecycle.get("Lifecycle").asText()).isEqualTo("CREATING");
+        assertThat(lifecycle.get("LifecycleTime").asLong()).isEqualTo(1500);
+    }
+
+    @Test
+    public void testFlush_ConcurrencyLimiter() throws IOException {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(/*initialLimit*/ 4,
+                /*minLimit*/ 1, /*maxLimit*/ 8, /*maxWaitMillis*/ 1000);
+        limiter.acquire("DescribeDataRepositoryAssociations");
+        metrics.recordConcurrencyLimiter(limiter);
+        limiter.release(AdaptiveConcurrencyLimiter.Outcome.SUCCESS);
+
+        metrics.flush(lines::add);
+
+        assertThat(lines).hasSize(2);
+        final JsonNode line = MAPPER.readTree(lines.get(1));
+        final JsonNode metadata = line.get("_aws").get("CloudWatchMetrics").get(0);
+        assertThat(metadata.get("Dimensions").get(0)).extracting(JsonNode::asText).containsExactly("Handler");
+        assertThat(metadata.get("Metrics")).extracting(metric -> metric.get("Name").asText())
+                .containsExactly("ConcurrencyLimit", "InFlight", "QueueDepth");
+        assertThat(line.get("Handler").asText()).isEqualTo("Update");
+        assertThat(line.get("ConcurrencyLimit").asInt()).isEqualTo(4);
+        assertThat(line.get("InFlight").asInt()).isEqualTo(1);
+        assertThat(line.get("QueueDepth").asInt()).isEqualTo(0);
+    }
+
+    @Test
+    public void testFlush_StartsOver() {
+        metrics.recordConcurrencyLimiter(new AdaptiveConcurrencyLimiter(1, 1, 1, 0));
+        metrics.recordCall("DescribeDataRepositoryAssociations", 1_000_000, null);
+        metrics.flush(lines::add);
+        lines.clear();
+
+        metrics.flush(lines::add);
+
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0)).contains("\"Calls\":0");
+    }
+
+    @Test
+    public void testOnCall_ResponseSize() throws IOException {
+        metrics.onCall(new CallRecord(DescribeDataRepositoryAssociationsRequest.class, 1_000_000, 300, null));
+        metrics.onCall(new CallRecord(DescribeDataRepositoryAssociationsRequest.class, 1_000_000,
+                CallRecord.UNKNOWN_SIZE, null));
+
+        metrics.flush(lines::add);
+
+        final JsonNode describe = MAPPER.readTree(lines.get(1));
+        assertThat(describe.get("Operation").asText()).isEqualTo("DescribeDataRepositoryAssociations");
+        assertThat(describe.get("Calls").asInt()).isEqualTo(2);
+        assertThat(describe.get("ResponseSize").asLong()).isEqualTo(300);
+    }
+}
@@ -1,32 +1,229 @@
 package software.amazon.fsx.datarepositoryassociation;
 
+import software.amazon.awssdk.services.fsx.FSxAsyncClient;
 import software.amazon.awssdk.services.fsx.FSxClient;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.fsx.common.client.AdaptiveConcurrencyLimiter;
+import software.amazon.fsx.common.client.ApiRateLimiter;
+import software.amazon.fsx.common.client.CallListener;
+import software.amazon.fsx.common.client.CircuitBreaker;
+import software.amazon.fsx.common.client.HedgingPolicy;
+import software.amazon.fsx.common.client.LatencyTracker;
+import software.amazon.fsx.common.client.ProxyClientChain;
+import software.amazon.fsx.common.client.TokenBucket;
+import software.amazon.fsx.common.metrics.InvocationMetrics;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
+    static final String METRICS_NAMESPACE = "FSxResourceHandlers";
+    // Set to false to leave calls uninstrumented, so they cost nothing extra and only the invocation metrics are logged.
+    static final String INSTRUMENT_CALLS_VARIABLE = "FSX_INSTRUMENT_CALLS";
+    private static final boolean INSTRUMENT_CALLS = !"false".equalsIgnoreCase(System.getenv(INSTRUMENT_CALLS_VARIABLE));
+    private static final String HANDLER_SUFFIX = "Handler";
+    private static final int DESCRIBE_BURST = 10;
+    private static final double DESCRIBE_CALLS_PER_SECOND = 5.0;
+    private static final int MUTATE_BURST = 2;
+    private static final double MUTATE_CALLS_PER_SECOND = 1.0;
+    private static final long MAX_RATE_LIMIT_WAIT_MILLIS = 2000L;
+    private static final int INITIAL_CONCURRENCY_LIMIT = 4;
+    private static final int MIN_CONCURRENCY_LIMIT = 1;
+    private static final int MAX_CONCURRENCY_LIMIT = 32;
+    private static final long MAX_CONCURRENCY_WAIT_MILLIS = 2000L;
+    private static final int CIRCUIT_BREAKER_FAILURE_THRESHOLD = 5;
+    private static final long CIRCUIT_BREAKER_OPEN_MILLIS = 60_000L;
+    private static final int HEDGE_LATENCY_WINDOW = 100;
+    private static final double HEDGE_PERCENTILE = 0.95;
+    private static final int HEDGE_MIN_SAMPLES = 20;
+    private static final double HEDGES_PER_CALL = 0.1;
+    private static final double MAX_HEDGE_BURST = 5;
+
+    // Shared by every invocation in the container so that concurrent handlers back off together.
+    static final ApiRateLimiter RATE_LIMITER = new ApiRateLimiter(
+            new TokenBucket(DESCRIBE_BURST, DESCRIBE_CALLS_PER_SECOND),
+            new TokenBucket(MUTATE_BURST, MUTATE_CALLS_PER_SECOND),
+            MAX_RATE_LIMIT_WAIT_MILLIS);
+    static final AdaptiveConcurrencyLimiter CONCURRENCY_LIMITER = new AdaptiveConcurrencyLimiter(
+            INITIAL_CONCURRENCY_LIMIT,
+            MIN_CONCURRENCY_LIMIT,
+            MAX_CONCURRENCY_LIMIT,
+            MAX_CONCURRENCY_WAIT_MILLIS);
+    static final CircuitBreaker CIRCUIT_BREAKER = new CircuitBreaker(
+            CIRCUIT_BREAKER_FAILURE_THRESHOLD,
+            CIRCUIT_BREAKER_OPEN_MILLIS);
+    static final HedgingPolicy HEDGING_POLICY = new HedgingPolicy(
+            new LatencyTracker(HEDGE_LATENCY_WINDOW),
+            HEDGE_PERCENTILE,
+            HEDGE_MIN_SAMPLES,
+            HEDGES_PER_CALL,
+            MAX_HEDGE_BURST);
+    private static final ExecutorService HEDGING_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "fsx-hedged-describe");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        CheckpointPriming.register();
+    }
+
     @Override
     public final ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
-        return handleRequest(
-                proxy,
-                request,
-                callbackContext != null ? callbackContext : new CallbackContext(),
-                proxy.newProxy(ClientBuilder::getClient),
-                logger
-        );
-    }
-
-    protected abstract ProgressEvent<ResourceModel, CallbackContext> handleRequest(
-            AmazonWebServicesClientProxy proxy,
-            ResourceHandlerRequest<ResourceModel> request,
-            CallbackContext callbackContext,
-            ProxyClient<FSxClient> proxyClient,
-            Logger logger);
+        final CallbackContext context = callbackContext != null ? callbackContext : new CallbackContext();
+        final InvocationMetrics metrics = new InvocationMetrics(METRICS_NAMESPACE, ResourceModel.TYPE_NAME, handlerName());
+        context.setMetrics(metrics);
+        final CallListener listener = callListener(metrics);
+        final ProxyClientChain<FSxClient> chain = decorate(proxy.newProxy(ClientBuilder::getClient), listener);
+        if (hedgeDescribeCalls()) {
+            chain.hedge(HEDGING_POLICY, HEDGING_EXECUTOR);
+        }
+        try {
+            return handleRequest(
+                    proxy,
+                    request,
+                    context,
+                    chain.build(),
+                    decorate(proxy.newProxy(ClientBuilder::getAsyncClient), listener).build(),
+                    logger
+            );
+        } finally {
+            metrics.recordConcurrencyLimiter(CONCURRENCY_LIMITER);
+            metrics.flush(logger);
+        }
+    }
+
+    /**
+     * @return The name the handler's metrics are reported under, such as Create.
+     */
+    String handlerName() {
+        final String className = getClass().getSimpleName();
+        return className.endsWith(HANDLER_SUFFIX)
+                ? className.substring(0, className.length() - HANDLER_SUFFIX.length())
+                : className;
+    }
+
+    /**
+     * Handlers opt in to hedging their describe calls, so one hedging policy only ever sees single-DRA describes and
+     *  its latency percentile stays meaningful.
+     * @return If slow describe calls should be hedged with a second call.
+     */
+    protected boolean hedgeDescribeCalls() {
+        return false;
+    }
+
+    /**
+     * @param metrics The metrics of the invocation.
+     * @return The listener told about every call that reaches the service, or {@link CallListener#NOOP} to leave calls
+     *  uninstrumented.
+     */
+    protected CallListener callListener(final InvocationMetrics metrics) {
+        return INSTRUMENT_CALLS ? metrics : CallListener.NOOP;
+    }
+
+    /**
+     * Instruments the calls a proxy client makes and wraps it in the container-wide concurrency limiter, rate limiter
+     *  and circuit breaker.
+     * @param proxyClient The proxy client to wrap.
+     * @param listener The listener to tell about every call that reaches the service.
+     * @param <ClientT> The type of the SDK client.
+     * @return The chain around the proxy client, to which more decorators can be added.
+     */
+    private static <ClientT> ProxyClientChain<ClientT> decorate(final ProxyClient<ClientT> proxyClient,
+                                                                final CallListener listener) {
+        return ProxyClientChain.around(proxyClient)
+                .instrument(listener)
+                .limitConcurrency(CONCURRENCY_LIMITER)
+                .limitRate(RATE_LIMITER)
+                .breakCircuit(CIRCUIT_BREAKER);
+    }
+
+    /**
+     * Wraps a step of a chain so that it only runs if neither this nor an earlier invocation completed it, and moves the
+     *  context's cursor past it once it has, so the context no longer carries its call records.
+     * @param step The step.
+     * @param action Runs the step.
+     * @return The function to chain with {@link ProgressEvent#then(Function)}.
+     */
+    static Function<ProgressEvent<ResourceModel, CallbackContext>, ProgressEvent<ResourceModel, CallbackContext>> step(
+            final Step step,
+            final Function<ProgressEvent<ResourceModel, CallbackContext>,
+                    ProgressEvent<ResourceModel, CallbackContext>> action) {
+        return progress -> {
+            final CallbackContext context = progress.getCallbackContext();
+            if (context.hasCompleted(step)) {
+                return progress;
+            }
+            context.start(System.currentTimeMillis());
+            final ProgressEvent<ResourceModel, CallbackContext> next = action.apply(progress);
+            if (next.canContinueProgress()) {
+                context.complete(step, System.currentTimeMillis());
+            }
+            return next;
+        };
+    }
+
+    /**
+     * Wraps the call a step makes before it stabilizes, so that a re-invocation while the step is stabilizing goes
+     *  straight back to polling instead of making the call again. The context doesn't keep the call's response for the
+     *  proxy to find, so a resumed step is handed none; its stabilization describes the association instead.
+     * @param context The callback context.
+     * @param step The step.
+     * @param call Makes the call.
+     * @param <RequestT> The type of the request.
+     * @param <ClientT> The type of the SDK client.
+     * @param <ResponseT> The type of the response.
+     * @return The function to pass to the proxy's makeServiceCall.
+     */
+    static <RequestT, ClientT, ResponseT> BiFunction<RequestT, ProxyClient<ClientT>, ResponseT> callOnce(
+            final CallbackContext context,
+            final Step step,
+            final BiFunction<RequestT, ProxyClient<ClientT>, ResponseT> call) {
+        return (awsRequest, client) -> {
+            if (context.isStabilizing(step)) {
+                return null;
+            }
+            final ResponseT awsResponse = call.apply(awsRequest, client);
+            context.setStabilizing(step);
+            return awsResponse;
+        };
+    }
+
+    /**
+     * Handlers that can overlap independent calls override this to use the non-blocking client; the rest only need the
+     *  blocking one.
+     */
+    protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final ProxyClient<FSxClient> proxyClient,
+            final ProxyClient<FSxAsyncClient> asyncProxyClient,
+            final Logger logger) {
+        return handleRequest(proxy, request, callbackContext, proxyClient, logger);
+    }
+
+    /**
+     * Handlers that only need the blocking client override this. Those that override the method taking the
+     *  non-blocking client as well are only ever called through it, so that both clients are decorated alike.
+     */
+    protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final ProxyClient<FSxClient> proxyClient,
+            final Logger logger) {
+        throw new UnsupportedOperationException(
+                String.format("%s needs the non-blocking client as well.", getClass().getSimpleName()));
+    }
 }
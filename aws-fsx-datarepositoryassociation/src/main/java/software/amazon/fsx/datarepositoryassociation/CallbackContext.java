@@ -1,14 +1,173 @@
 package software.amazon.fsx.datarepositoryassociation;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import software.amazon.cloudformation.proxy.StdCallbackContext;
+import software.amazon.fsx.common.metrics.InvocationMetrics;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The context handed back to the handler on every re-invocation. It is a checkpoint of the chain: the last step
+ *  completed, the step waiting to stabilize, whether the pre-check passed, the association as last described and when
+ *  the chain started and last moved on. Of the calls the proxy records in it, only the stabilization attempts of the
+ *  steps not completed yet are serialized; requests and responses are only kept in memory.
+ */
 @lombok.Getter
 @lombok.Setter
 @lombok.ToString
 @lombok.EqualsAndHashCode(callSuper = true)
 @lombok.Builder(toBuilder = true)
+@lombok.AllArgsConstructor(access = lombok.AccessLevel.PACKAGE)
+// Contexts serialized with every call record are still read, so a re-invocation across a deployment resumes.
+@JsonIgnoreProperties(value = "callGraphs", allowSetters = true)
 public class CallbackContext extends StdCallbackContext {
+    private static final String ATTEMPTS = ".attempts";
+    // Of the polls that find the association in the lifecycle it already had, only every this many are logged.
+    static final int LOG_EVERY_UNCHANGED_POLLS = 10;
+
+    // The last step completed by this or an earlier invocation of the handler.
+    private Step step;
+    // The step whose call was made and that is waiting for the association to stabilize.
+    private Step stabilizing;
+    // If the association was found before the chain changed it.
+    private boolean preCheckPassed;
+    // When the first step started and when the last one completed, in milliseconds since the epoch.
+    private long startedAt;
+    private long updatedAt;
+    // The association as last described by this or an earlier invocation of the handler.
+    private DraSnapshot association;
+    // How many observations in a row found the association in the lifecycle it already had.
+    private int unchangedPolls;
+    // The metrics of the current invocation, set by the handler and never serialized.
+    @JsonIgnore
+    @lombok.EqualsAndHashCode.Exclude
+    @lombok.ToString.Exclude
+    private InvocationMetrics metrics;
+
     public CallbackContext() {
         super();
     }
+
+    /**
+     * @param step A step.
+     * @return If this or an earlier invocation completed the step.
+     */
+    boolean hasCompleted(final Step step) {
+        return this.step != null && this.step.compareTo(step) >= 0;
+    }
+
+    /**
+     * @param step A step.
+     * @return If the step made its call and is waiting for the association to stabilize.
+     */
+    boolean isStabilizing(final Step step) {
+        return stabilizing == step;
+    }
+
+    /**
+     * Notes that a step started, unless an earlier one did.
+     * @param now The current time in milliseconds since the epoch.
+     */
+    void start(final long now) {
+        if (startedAt == 0) {
+            startedAt = now;
+        }
+    }
+
+    /**
+     * Moves the cursor past a step.
+     * @param step The step completed.
+     * @param now The current time in milliseconds since the epoch.
+     */
+    void complete(final Step step, final long now) {
+        this.step = step;
+        if (stabilizing == step) {
+            stabilizing = null;
+        }
+        if (step.isPreCheck()) {
+            preCheckPassed = true;
+        }
+        updatedAt = now;
+    }
+
+    /**
+     * Keeps a new observation of the association, and records the time since the previous one as time spent in the
+     *  lifecycle the association had then.
+     * @param snapshot The association as just described.
+     */
+    void observe(final DraSnapshot snapshot) {
+        recordLifecycleTime(snapshot.getObservedAt());
+        if (association != null && association.getLifecycle() == snapshot.getLifecycle()) {
+            unchangedPolls++;
+        } else {
+            unchangedPolls = 0;
+        }
+        association = snapshot;
+    }
+
+    /**
+     * Records the time since the association was last observed as time spent in the lifecycle it had then, once it no
+     *  longer exists.
+     * @param now The current time in milliseconds since the epoch.
+     */
+    void observeDeleted(final long now) {
+        recordLifecycleTime(now);
+        unchangedPolls = 0;
+    }
+
+    /**
+     * Samples the logs of stabilization polls, which may run for hours: a poll is logged if it saw the association
+     *  change lifecycle, and otherwise only every {@value #LOG_EVERY_UNCHANGED_POLLS} polls.
+     * @return If the last observation should be logged.
+     */
+    boolean shouldLogObservation() {
+        return unchangedPolls % LOG_EVERY_UNCHANGED_POLLS == 0;
+    }
+
+    private void recordLifecycleTime(final long now) {
+        if (metrics != null && association != null && association.getLifecycle() != null) {
+            metrics.recordLifecycleTime(association.getLifecycle().toString(), now - association.getObservedAt());
+        }
+    }
+
+    /**
+     * Records a stabilization poll in the metrics of the invocation.
+     */
+    void recordPoll() {
+        if (metrics != null) {
+            metrics.recordPoll();
+        }
+    }
+
+    /**
+     * @return The stabilization attempts of the steps not completed yet, which bound how long the proxy keeps polling.
+     */
+    @JsonProperty("attempts")
+    private Map<String, Integer> getPendingAttempts() {
+        final Map<String, Integer> pendingAttempts = new LinkedHashMap<>();
+        for (final Map.Entry<String, Object> record : callGraphs().entrySet()) {
+            final String key = record.getKey();
+            if (key.endsWith(ATTEMPTS)) {
+                final String callGraph = key.substring(0, key.length() - ATTEMPTS.length());
+                final Step recordStep = Step.ofCallGraph(callGraph);
+                if (recordStep == null || !hasCompleted(recordStep)) {
+                    pendingAttempts.put(callGraph, ((Number) record.getValue()).intValue());
+                }
+            }
+        }
+        return pendingAttempts;
+    }
+
+    /**
+     * @param pendingAttempts The stabilization attempts, as returned by {@link #getPendingAttempts()}.
+     */
+    @JsonProperty("attempts")
+    private void setPendingAttempts(final Map<String, Integer> pendingAttempts) {
+        for (final Map.Entry<String, Integer> attempts : pendingAttempts.entrySet()) {
+            attempts(attempts.getKey(), attempts.getValue());
+        }
+    }
 }
@@ -0,0 +1,162 @@
+package software.amazon.fsx.datarepositoryassociation;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.json.JSONObject;
+import software.amazon.awssdk.services.fsx.FSxAsyncClient;
+import software.amazon.awssdk.services.fsx.FSxClient;
+import software.amazon.awssdk.services.fsx.model.CreateDataRepositoryAssociationRequest;
+import software.amazon.awssdk.services.fsx.model.CreateDataRepositoryAssociationResponse;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryAssociation;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryLifecycle;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsRequest;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsResponse;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.cloudformation.resource.Validator;
+
+import java.util.Collections;
+import java.util.function.Supplier;
+
+/**
+ * Warms the handler up before a CRaC checkpoint (a Lambda SnapStart snapshot), so restored containers don't pay for
+ *  class loading, regex compilation and Jackson introspection on their first request. Priming runs the handlers through
+ *  the same entry point as the wrapper, with its client decorators and invocation metrics, but against stub clients,
+ *  so no network connection is open when the snapshot is taken.
+ */
+final class CheckpointPriming implements Resource {
+    private static final String PRIMING_ID = "dra-priming";
+    private static final CheckpointPriming INSTANCE = new CheckpointPriming();
+
+    CheckpointPriming() {
+    }
+
+    /**
+     * Registers the priming hooks with the global CRaC context. The context only keeps weak references, so the
+     *  instance is held in a static field.
+     */
+    static void register() {
+        Core.getGlobalContext().register(INSTANCE);
+    }
+
+    @Override
+    public void beforeCheckpoint(final Context<? extends Resource> context) throws Exception {
+        prime();
+    }
+
+    @Override
+    public void afterRestore(final Context<? extends Resource> context) {
+        // Connections and event loops created before the snapshot would be shared by every restored container.
+        ClientBuilder.resetAsyncClient();
+    }
+
+    /**
+     * Runs a synthetic create and list through the handlers' entry point, round-trips the model and context through the
+     *  serializer the wrapper uses and validates the model against the schema.
+     * @throws Exception If priming fails; the checkpoint is aborted rather than snapshotting a half-primed JVM.
+     */
+    static void prime() throws Exception {
+        final Logger logger = message -> { };
+        final AmazonWebServicesClientProxy proxy = new PrimingProxy();
+
+        final ResourceModel model = ResourceModel.builder()
+                .fileSystemId("fs-priming")
+                .fileSystemPath("/priming")
+                .dataRepositoryPath("s3://priming")
+                .importedFileChunkSize(1024)
+                .tags(Collections.singletonList(Tag.builder().key("priming").value("priming").build()))
+                .build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .clientRequestToken("priming")
+                .desiredResourceState(model)
+                .desiredResourceTags(Collections.singletonMap("stack", "priming"))
+                .build();
+
+        new CreateHandler().handleRequest(proxy, request, new CallbackContext(), logger);
+        new ListHandler().handleRequest(proxy, request, new CallbackContext(), logger);
+
+        final Serializer serializer = new Serializer();
+        serializer.deserialize(serializer.serialize(model), new TypeReference<ResourceModel>() { });
+        serializer.deserialize(serializer.serialize(new CallbackContext()), new TypeReference<CallbackContext>() { });
+        new Validator().validateObject(new JSONObject(serializer.serialize(model)),
+                new Configuration().resourceSchemaJSONObject());
+        ClientBuilder.resetAsyncClient();
+    }
+
+    /**
+     * Builds the clients the handlers ask for, so their classes are loaded too, but hands the handlers stubs instead.
+     */
+    private static final class PrimingProxy extends AmazonWebServicesClientProxy {
+        PrimingProxy() {
+            super(new LoggerProxy(), new Credentials("priming", "priming", "priming"), () -> Long.MAX_VALUE);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <ClientT> ProxyClient<ClientT> newProxy(final Supplier<ClientT> client) {
+            final ClientT built = client.get();
+            if (built instanceof FSxClient) {
+                ((FSxClient) built).close();
+                return super.newProxy(() -> (ClientT) new PrimingFSxClient());
+            }
+            if (built instanceof FSxAsyncClient) {
+                // The shared async client is reset once priming is done, so it isn't closed here.
+                return super.newProxy(() -> (ClientT) new PrimingFSxAsyncClient());
+            }
+            return super.newProxy(client);
+        }
+    }
+
+    /**
+     * Answers the calls made by a create with an association that is immediately available.
+     */
+    private static final class PrimingFSxClient implements FSxClient {
+        private static final DataRepositoryAssociation ASSOCIATION = DataRepositoryAssociation.builder()
+                .associationId(PRIMING_ID)
+                .resourceARN(PRIMING_ID)
+                .lifecycle(DataRepositoryLifecycle.AVAILABLE)
+                .build();
+
+        @Override
+        public CreateDataRepositoryAssociationResponse createDataRepositoryAssociation(
+                final CreateDataRepositoryAssociationRequest request) {
+            return CreateDataRepositoryAssociationResponse.builder().association(ASSOCIATION).build();
+        }
+
+        @Override
+        public DescribeDataRepositoryAssociationsResponse describeDataRepositoryAssociations(
+                final DescribeDataRepositoryAssociationsRequest request) {
+            return DescribeDataRepositoryAssociationsResponse.builder().associations(ASSOCIATION).build();
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Stands in for the async client, which the primed handlers don't call.
+     */
+    private static final class PrimingFSxAsyncClient implements FSxAsyncClient {
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -1,15 +1,90 @@
 package software.amazon.fsx.datarepositoryassociation;
 
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
+import software.amazon.awssdk.services.fsx.FSxAsyncClient;
+import software.amazon.awssdk.services.fsx.FSxAsyncClientBuilder;
 import software.amazon.awssdk.services.fsx.FSxClient;
+import software.amazon.awssdk.services.fsx.FSxClientBuilder;
 import software.amazon.cloudformation.LambdaWrapper;
 
+import java.net.URI;
+import java.time.Duration;
+
 public final class ClientBuilder {
+    // Points the client at a local FSx endpoint; only set when running the handler outside of Lambda.
+    static final String ENDPOINT_OVERRIDE_VARIABLE = "FSX_ENDPOINT_URL";
+    // The async client only carries the tag calls of an update, at most two per invocation in flight, so it gets a
+    // single event loop thread and a handful of connections instead of the SDK's defaults sized for a whole host.
+    private static final int ASYNC_EVENT_LOOP_THREADS = 1;
+    private static final int ASYNC_MAX_CONNECTIONS = 8;
+    private static final int ASYNC_MAX_PENDING_CONNECTION_ACQUIRES = 64;
+    private static final Duration ASYNC_CONNECTION_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration ASYNC_CONNECTION_ACQUISITION_TIMEOUT = Duration.ofSeconds(10);
+
+    private static volatile FSxAsyncClient asyncClient;
+
     private ClientBuilder() {
     }
 
     public static FSxClient getClient() {
-        return FSxClient.builder()
-                .httpClient(LambdaWrapper.HTTP_CLIENT)
-                .build();
+        return getClient(System.getenv(ENDPOINT_OVERRIDE_VARIABLE));
+    }
+
+    static FSxClient getClient(final String endpointOverride) {
+        final FSxClientBuilder builder = FSxClient.builder()
+                .httpClient(LambdaWrapper.HTTP_CLIENT);
+        if (endpointOverride != null) {
+            builder.endpointOverride(URI.create(endpointOverride));
+        }
+        return builder.build();
+    }
+
+    /**
+     * The async client owns an event loop, so one is shared by the container and only built on first use.
+     * @return The shared async client.
+     */
+    public static FSxAsyncClient getAsyncClient() {
+        FSxAsyncClient client = asyncClient;
+        if (client == null) {
+            synchronized (ClientBuilder.class) {
+                client = asyncClient;
+                if (client == null) {
+                    final FSxAsyncClientBuilder builder = FSxAsyncClient.builder()
+                            .httpClientBuilder(asyncHttpClientBuilder());
+                    final String endpointOverride = System.getenv(ENDPOINT_OVERRIDE_VARIABLE);
+                    if (endpointOverride != null) {
+                        builder.endpointOverride(URI.create(endpointOverride));
+                    }
+                    client = builder.build();
+                    asyncClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * Handing the SDK a builder rather than a client makes the async client own the HTTP client, so closing it also
+     *  shuts the event loop down.
+     * @return The builder of the HTTP client for the shared async client.
+     */
+    private static NettyNioAsyncHttpClient.Builder asyncHttpClientBuilder() {
+        return NettyNioAsyncHttpClient.builder()
+                .eventLoopGroupBuilder(SdkEventLoopGroup.builder().numberOfThreads(ASYNC_EVENT_LOOP_THREADS))
+                .maxConcurrency(ASYNC_MAX_CONNECTIONS)
+                .maxPendingConnectionAcquires(ASYNC_MAX_PENDING_CONNECTION_ACQUIRES)
+                .connectionTimeout(ASYNC_CONNECTION_TIMEOUT)
+                .connectionAcquisitionTimeout(ASYNC_CONNECTION_ACQUISITION_TIMEOUT);
+    }
+
+    /**
+     * Closes the shared async client and its connections; the next call to {@link #getAsyncClient()} builds a new one.
+     */
+    static synchronized void resetAsyncClient() {
+        if (asyncClient != null) {
+            asyncClient.close();
+            asyncClient = null;
+        }
     }
 }
@@ -1,8 +1,38 @@
 package software.amazon.fsx.datarepositoryassociation;
 
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
 class Configuration extends BaseConfiguration {
+    private static final String SCHEMA_FILENAME = "aws-fsx-datarepositoryassociation.json";
+
+    // Parsed once per container and shared by the wrapper's configuration and priming's. Only the JSON is cached: the
+    // wrapper validates with a validator of its own, which builds a schema from this JSON on every invocation.
+    private static final JSONObject RESOURCE_SCHEMA = loadResourceSchema();
 
     Configuration() {
-        super("aws-fsx-datarepositoryassociation.json");
+        super(SCHEMA_FILENAME);
+    }
+
+    /**
+     * @return The parsed resource schema, shared by every invocation in the container. Callers must not modify it.
+     */
+    @Override
+    public JSONObject resourceSchemaJSONObject() {
+        return RESOURCE_SCHEMA;
+    }
+
+    private static JSONObject loadResourceSchema() {
+        try (InputStream schema = Objects.requireNonNull(
+                Configuration.class.getClassLoader().getResourceAsStream(SCHEMA_FILENAME))) {
+            return new JSONObject(new JSONTokener(schema));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
@@ -1,5 +1,6 @@
 package software.amazon.fsx.datarepositoryassociation;
 
+import org.apache.commons.lang3.StringUtils;
 import software.amazon.awssdk.services.fsx.FSxClient;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
@@ -10,6 +11,7 @@ import software.amazon.cloudformation.proxy.delay.Constant;
 import software.amazon.fsx.common.handler.Tagging;
 
 import java.time.Duration;
+import java.util.Collection;
 
 public class CreateHandler extends BaseHandlerStd {
     private Logger logger;
@@ -23,6 +25,11 @@ public class CreateHandler extends BaseHandlerStd {
                     .timeout(Duration.ofMinutes(DEFAULT_TIMEOUT_FOR_DRA_IN_MINUTES))
                     .build();
 
+    @Override
+    protected boolean hedgeDescribeCalls() {
+        return true;
+    }
+
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
@@ -32,21 +39,24 @@ public class CreateHandler extends BaseHandlerStd {
 
         this.logger = logger;
 
+        //Check that tags are all valid and merge them together.
+        final Collection<software.amazon.awssdk.services.fsx.model.Tag> allTags = Tagging.mergeAndValidateTags(
+                request.getDesiredResourceState().getTags(),
+                Tag::getKey,
+                Tag::getValue,
+                request.getDesiredResourceTags(),
+                request.getSystemTags());
 
-        //Check that tags are all valid
-        Tagging.validateTags(Translator.translateTagsToSdk(request.getDesiredResourceState().getTags()));
-
-        // Merge all tags together.
-        final Tagging.TagSet allTags = Tagging.TagSet.builder()
-                .resourceTags(Translator.translateTagsToSdk(request.getDesiredResourceState().getTags()))
-                .stackTags(Tagging.translateTagsMapToSdk(request.getDesiredResourceTags()))
-                .systemTags(Tagging.translateTagsMapToSdk(request.getSystemTags()))
-                .build();
+        // A re-invocation while the association stabilizes polls the association the first invocation created.
+        final DraSnapshot created = callbackContext.getAssociation();
+        if (StringUtils.isEmpty(request.getDesiredResourceState().getAssociationId()) && created != null) {
+            request.getDesiredResourceState().setAssociationId(created.getAssociationId());
+        }
 
         // Create data repository association.
         return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
-            .then(progress ->
-                proxy.initiate("AWS-FSx-DataRepositoryAssociation::Create",
+            .then(step(Step.CREATE, progress ->
+                proxy.initiate(Step.CREATE.getCallGraph(),
                                 proxyClient,
                                 progress.getResourceModel(),
                                 progress.getCallbackContext())
@@ -55,17 +65,19 @@ public class CreateHandler extends BaseHandlerStd {
                                         allTags,
                                         request.getClientRequestToken()))
                         .backoffDelay(BACKOFF_DELAY)
-                        .makeServiceCall((awsRequest, client) ->
+                        .makeServiceCall(callOnce(progress.getCallbackContext(), Step.CREATE, (awsRequest, client) ->
                                 DataRepositoryAssociationUtils.createDataRepositoryAssociation(logger,
                                         awsRequest,
                                         client,
-                                        request.getDesiredResourceState()))
+                                        request.getDesiredResourceState())))
                         .stabilize((awsRequest, awsResponse, client, model, context) ->
-                                DataRepositoryAssociationUtils.isDRALifecycleAvailable(logger, client, model))
+                                DataRepositoryAssociationUtils.isDRALifecycleAvailable(logger, client, model, context,
+                                        DataRepositoryAssociationUtils.DEFAULT_AVAILABLE_LIFECYCLES,
+                                        DataRepositoryAssociationUtils.DEFAULT_FAILED_LIFECYCLES))
                         .handleError((awsRequest, exception, client, model, context) ->
-                                DataRepositoryAssociationUtils.handleError(exception))
+                                DataRepositoryAssociationUtils.handleError(exception, model, context))
                         .progress()
-                )
+                ))
             .then(progress -> new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger));
     }
 }
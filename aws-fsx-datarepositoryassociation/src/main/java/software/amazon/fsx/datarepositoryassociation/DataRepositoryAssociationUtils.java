@@ -1,9 +1,8 @@
 package software.amazon.fsx.datarepositoryassociation;
 
-import com.google.common.collect.ImmutableSet;
-import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import software.amazon.awssdk.services.cloudwatch.model.InvalidParameterValueException;
+import software.amazon.awssdk.services.fsx.FSxAsyncClient;
 import software.amazon.awssdk.services.fsx.FSxClient;
 import software.amazon.awssdk.services.fsx.model.BadRequestException;
 import software.amazon.awssdk.services.fsx.model.CreateDataRepositoryAssociationRequest;
@@ -23,23 +22,37 @@ import software.amazon.cloudformation.exceptions.CfnNotStabilizedException;
 import software.amazon.cloudformation.exceptions.CfnNotUpdatableException;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.fsx.common.client.CircuitOpenException;
+import software.amazon.fsx.common.client.ErrorClassifier;
+import software.amazon.fsx.common.logging.LogEvent;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
 
 public final class DataRepositoryAssociationUtils {
 
     public static final Set<DataRepositoryLifecycle> DEFAULT_AVAILABLE_LIFECYCLES =
-            ImmutableSet.of(DataRepositoryLifecycle.AVAILABLE);
+            Collections.unmodifiableSet(EnumSet.of(DataRepositoryLifecycle.AVAILABLE));
     public static final Set<DataRepositoryLifecycle> DEFAULT_FAILED_LIFECYCLES =
-            ImmutableSet.of(DataRepositoryLifecycle.MISCONFIGURED,
-                    DataRepositoryLifecycle.FAILED);
+            Collections.unmodifiableSet(EnumSet.of(DataRepositoryLifecycle.MISCONFIGURED,
+                    DataRepositoryLifecycle.FAILED));
 
     static final Map<Class<?>, HandlerErrorCode> EXCEPTION_TO_ERROR_CODE = new HashMap<>();
+    static final int THROTTLING_CALLBACK_DELAY_SECONDS = 10;
+    static final int THROTTLING_CALLBACK_JITTER_SECONDS = 10;
+    static final int CIRCUIT_OPEN_CALLBACK_DELAY_SECONDS = 60;
 
     static {
         EXCEPTION_TO_ERROR_CODE.put(FileSystemNotFoundException.class, HandlerErrorCode.NotFound);
@@ -65,33 +78,86 @@ public final class DataRepositoryAssociationUtils {
         if (EXCEPTION_TO_ERROR_CODE.containsKey(exception.getClass())) {
             return ProgressEvent.defaultFailureHandler(exception, EXCEPTION_TO_ERROR_CODE.get(exception.getClass()));
         }
+        if (ErrorClassifier.isThrottling(exception)) {
+            return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.Throttling);
+        }
+        if (exception instanceof CircuitOpenException) {
+            return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.ServiceInternalError);
+        }
         throw exception;
     }
 
+    /**
+     * Takes FSx errors for DRAs and translates to a ProgressEvent if applicable. Throttled calls are rescheduled with a
+     *  jittered callback delay instead of failing the handler, so concurrent handlers don't retry in lockstep. Calls
+     *  rejected by the open circuit breaker are rescheduled after the breaker has had time to probe the endpoint.
+     * @param exception The exception to make a decision against.
+     * @param model The model to hand back to CloudFormation if the call is rescheduled.
+     * @param callbackContext The context to hand back to CloudFormation if the call is rescheduled.
+     * @return The ProgressEvent, which determines the next step of the handler.
+     * @throws Exception Re-throws the exception if we have no logic for it.
+     */
+    static ProgressEvent<ResourceModel, CallbackContext> handleError(final Exception exception,
+                                                                     final ResourceModel model,
+                                                                     final CallbackContext callbackContext)
+            throws Exception {
+        if (ErrorClassifier.isThrottling(exception)) {
+            return reschedule(exception, model, callbackContext, throttlingCallbackDelaySeconds());
+        }
+        if (exception instanceof CircuitOpenException) {
+            return reschedule(exception, model, callbackContext, CIRCUIT_OPEN_CALLBACK_DELAY_SECONDS);
+        }
+        return handleError(exception);
+    }
+
+    /**
+     * Builds an IN_PROGRESS event that asks CloudFormation to re-invoke the handler later.
+     * @param exception The exception that made us give up for now.
+     * @param model The model to hand back to CloudFormation.
+     * @param callbackContext The context to hand back to CloudFormation.
+     * @param callbackDelaySeconds How long CloudFormation should wait before re-invoking.
+     * @return The ProgressEvent.
+     */
+    private static ProgressEvent<ResourceModel, CallbackContext> reschedule(final Exception exception,
+                                                                            final ResourceModel model,
+                                                                            final CallbackContext callbackContext,
+                                                                            final int callbackDelaySeconds) {
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .status(OperationStatus.IN_PROGRESS)
+                .resourceModel(model)
+                .callbackContext(callbackContext)
+                .callbackDelaySeconds(callbackDelaySeconds)
+                .message(exception.getMessage())
+                .build();
+    }
+
+    /**
+     * The callback delay to suggest after being throttled.
+     * @return The base delay plus a random jitter.
+     */
+    static int throttlingCallbackDelaySeconds() {
+        return THROTTLING_CALLBACK_DELAY_SECONDS
+                + ThreadLocalRandom.current().nextInt(THROTTLING_CALLBACK_JITTER_SECONDS + 1);
+    }
+
     /**
      * Describes the data repository association and, if we can't find it, throws a ResourceNotFoundException to handle
-     *  later.
-     * @param logger The logger to use to log messages.
+     *  later. Callers log what they need of it, so pollers can sample their logs.
      * @param describeRequest The DescribeDataRepositoryAssociationsRequest created from the translator.
      * @param client The client to call APIs through.
      * @return The describe response.
      */
     static DescribeDataRepositoryAssociationsResponse describeDeletedDRAAndThrowResourceDNE(
-            final Logger logger,
             final DescribeDataRepositoryAssociationsRequest describeRequest,
             final ProxyClient<FSxClient> client) {
         final DescribeDataRepositoryAssociationsResponse describeResponse =
                 client.injectCredentialsAndInvokeV2(describeRequest, client.client()::describeDataRepositoryAssociations);
-        if (describeResponse == null || CollectionUtils.isEmpty(describeResponse.associations())) {
+        if (describeResponse == null || describeResponse.associations().isEmpty()) {
             throw ResourceNotFoundException.builder()
                     .message(String.format("Data repository association does not exist for: %s.",
                             describeRequest.associationIds().get(0)))
                     .build();
         }
-
-        logger.log(String.format("%s [%s] successfully read.",
-                ResourceModel.TYPE_NAME,
-                describeResponse.associations().get(0)));
         return describeResponse;
     }
 
@@ -108,7 +174,26 @@ public final class DataRepositoryAssociationUtils {
     static boolean isDRALifecycleAvailable(final Logger logger,
                                            final ProxyClient<FSxClient> client,
                                            final ResourceModel model) {
-        return isDRALifecycleAvailable(logger, client, model, DEFAULT_AVAILABLE_LIFECYCLES, DEFAULT_FAILED_LIFECYCLES);
+        return isDRALifecycleAvailable(logger, client, model, null, DEFAULT_AVAILABLE_LIFECYCLES,
+                DEFAULT_FAILED_LIFECYCLES);
+    }
+
+    /**
+     * Determines if the data repository association lifecycle is in one of the default available states or throws and
+     *  exception if it is failed.
+     * @param logger The logger to use to log messages.
+     * @param client The client to call APIs through.
+     * @param model The model the function is based on.
+     * @param availableLifecycles The lifecycles to consider available.
+     * @param failedLifecycles The lifecycles to consider failed.
+     * @return If the DRA is in one of the default available states.
+     */
+    static boolean isDRALifecycleAvailable(final Logger logger,
+                                           final ProxyClient<FSxClient> client,
+                                           final ResourceModel model,
+                                           final Set<DataRepositoryLifecycle> availableLifecycles,
+                                           final Set<DataRepositoryLifecycle> failedLifecycles) {
+        return isDRALifecycleAvailable(logger, client, model, null, availableLifecycles, failedLifecycles);
     }
 
     /**
@@ -117,6 +202,7 @@ public final class DataRepositoryAssociationUtils {
      * @param logger The logger to use to log messages.
      * @param client The client to call APIs through.
      * @param model The model the function is based on.
+     * @param context The context to keep the snapshot of the described association in, or null.
      * @param availableLifecycles The lifecycles to consider available.
      * @param failedLifecycles The lifecycles to consider failed.
      * @return If the DRA is in one of the default available states.
@@ -124,6 +210,7 @@ public final class DataRepositoryAssociationUtils {
     static boolean isDRALifecycleAvailable(final Logger logger,
                                            final ProxyClient<FSxClient> client,
                                            final ResourceModel model,
+                                           final CallbackContext context,
                                            final Set<DataRepositoryLifecycle> availableLifecycles,
                                            final Set<DataRepositoryLifecycle> failedLifecycles) {
         boolean stabilized = false;
@@ -134,25 +221,42 @@ public final class DataRepositoryAssociationUtils {
         final DescribeDataRepositoryAssociationsResponse describeResponse =
                 client.injectCredentialsAndInvokeV2(describeRequest, client.client()::describeDataRepositoryAssociations);
 
+        if (context != null) {
+            context.recordPoll();
+        }
+
         final DataRepositoryAssociation association = getDRAFromDescribeResponse(describeResponse);
+        boolean log = true;
         if (association != null) {
-            if (availableLifecycles.contains(association.lifecycle())) {
+            final DraSnapshot snapshot = DraSnapshot.of(association, System.currentTimeMillis());
+            if (context != null) {
+                context.observe(snapshot);
+                log = context.shouldLogObservation();
+            }
+            if (snapshot.isIn(availableLifecycles)) {
                 stabilized = true;
-            } else if (failedLifecycles.contains(association.lifecycle())) {
-                logger.log(String.format("Data repository association (%s) for file system (%s) is in a failed state "
-                                + "[%s] with failure message: %s",
-                        association.associationId(),
-                        association.fileSystemId(),
-                        association.lifecycle(),
-                        association.failureDetails()));
+            } else if (snapshot.isIn(failedLifecycles)) {
+                LogEvent.of("StabilizationFailed")
+                        .with("resourceType", ResourceModel.TYPE_NAME)
+                        .with("associationId", association.associationId())
+                        .with("fileSystemId", association.fileSystemId())
+                        .with("lifecycle", association.lifecycleAsString())
+                        .with("failure", association.failureDetails() == null
+                                ? null : association.failureDetails().message())
+                        .log(logger);
                 throw new CfnNotStabilizedException(ResourceModel.TYPE_NAME, model.getAssociationId());
             }
         }
 
-        logger.log(String.format("%s [%s] has stabilized: %s",
-                ResourceModel.TYPE_NAME,
-                model.getPrimaryIdentifier(),
-                stabilized));
+        if (log || stabilized) {
+            LogEvent.of("Stabilization")
+                    .with("resourceType", ResourceModel.TYPE_NAME)
+                    .with("associationId", model.getAssociationId())
+                    .with("lifecycle", association == null ? null : association.lifecycleAsString())
+                    .with("unchangedPolls", context == null ? null : context.getUnchangedPolls())
+                    .with("stabilized", stabilized)
+                    .log(logger);
+        }
         return stabilized;
     }
 
@@ -163,7 +267,7 @@ public final class DataRepositoryAssociationUtils {
      */
     static DataRepositoryAssociation getDRAFromDescribeResponse(final DescribeDataRepositoryAssociationsResponse describeResponse) {
         DataRepositoryAssociation association = null;
-        if (describeResponse != null && !CollectionUtils.isEmpty(describeResponse.associations())
+        if (describeResponse != null && !describeResponse.associations().isEmpty()
                 && describeResponse.associations().size() == 1
                 && !describeResponse.associations().get(0).lifecycle().equals(DataRepositoryLifecycle.UNKNOWN_TO_SDK_VERSION)) {
             association = describeResponse.associations().get(0);
@@ -196,6 +300,59 @@ public final class DataRepositoryAssociationUtils {
         return createResponse;
     }
 
+    /**
+     * Removes and adds tags on the data repository association with both calls in flight at once. The two calls touch
+     *  disjoint keys, so the order they land in doesn't matter.
+     * @param logger The logger to use to log messages.
+     * @param client The async client to call APIs through.
+     * @param association The DRA to tag.
+     * @param tagsToAdd The tags to define or redefine.
+     * @param tagsToRemove The tag keys to remove.
+     * @return A future that completes once both calls have.
+     */
+    static CompletableFuture<Void> updateTagsAsync(final Logger logger,
+                                                   final ProxyClient<FSxAsyncClient> client,
+                                                   final DataRepositoryAssociation association,
+                                                   final Map<String, String> tagsToAdd,
+                                                   final Set<String> tagsToRemove) {
+        final List<CompletableFuture<?>> calls = new ArrayList<>();
+        if (!tagsToRemove.isEmpty()) {
+            calls.add(client.injectCredentialsAndInvokeV2Async(
+                    Translator.translateToUntagResourceRequest(association, tagsToRemove),
+                    client.client()::untagResource)
+                    .thenRun(() -> logger.log(String.format("%s [%s], updated to remove old tags.",
+                            ResourceModel.TYPE_NAME,
+                            association.associationId()))));
+        }
+        if (!tagsToAdd.isEmpty()) {
+            calls.add(client.injectCredentialsAndInvokeV2Async(
+                    Translator.translateToTagResourceRequest(association, tagsToAdd),
+                    client.client()::tagResource)
+                    .thenRun(() -> logger.log(String.format("%s [%s], updated to add new tags.",
+                            ResourceModel.TYPE_NAME,
+                            association.associationId()))));
+        }
+        return CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Waits for a future and rethrows the error the call failed with, so it can be handled like a blocking call's.
+     * @param future The future to wait for.
+     * @param <T> The type of the result.
+     * @return The result of the future.
+     */
+    static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            final Throwable cause = ErrorClassifier.unwrap(e);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+    }
+
     /**
      * Makes sure immutable properties are not being updated.
      * @param newModel The model we update to.
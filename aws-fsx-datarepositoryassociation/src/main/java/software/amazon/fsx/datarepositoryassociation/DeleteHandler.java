@@ -13,10 +13,16 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.fsx.common.logging.LogEvent;
 
 public class DeleteHandler extends BaseHandlerStd {
     private Logger logger;
 
+    @Override
+    protected boolean hedgeDescribeCalls() {
+        return true;
+    }
+
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
@@ -35,56 +41,69 @@ public class DeleteHandler extends BaseHandlerStd {
         return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
 
                 // Check if resource already does not exist and exit quickly.
-                .then(progress ->
-                        proxy.initiate("AWS-FSx-DataRepositoryAssociation::Delete::PreDeletionCheck",
+                .then(step(Step.PRE_DELETION_CHECK, progress ->
+                        proxy.initiate(Step.PRE_DELETION_CHECK.getCallGraph(),
                                         proxyClient,
                                         progress.getResourceModel(),
                                         progress.getCallbackContext())
                                 .translateToServiceRequest(Translator::translateToReadRequest)
                                 .makeServiceCall((awsRequest, client) ->
-                                        DataRepositoryAssociationUtils.describeDeletedDRAAndThrowResourceDNE(logger,
-                                                awsRequest,
+                                        DataRepositoryAssociationUtils.describeDeletedDRAAndThrowResourceDNE(awsRequest,
                                                 client))
                                 .handleError((awsRequest, exception, client, model, context) ->
-                                        DataRepositoryAssociationUtils.handleError(exception))
+                                        DataRepositoryAssociationUtils.handleError(exception, model, context))
                                 .progress()
-                )
+                ))
 
                 // Delete and wait for resource to no longer exist
-                .then(progress ->
-                        proxy.initiate("AWS-FSx-DataRepositoryAssociation::Delete",
+                .then(step(Step.DELETE, progress ->
+                        proxy.initiate(Step.DELETE.getCallGraph(),
                                         proxyClient,
                                         progress.getResourceModel(),
                                         progress.getCallbackContext())
                                 .translateToServiceRequest(model ->
                                         Translator.translateToDeleteRequest(model, request.getClientRequestToken()))
-                                .makeServiceCall(this::deleteDataRepositoryAssociation)
+                                .makeServiceCall(callOnce(progress.getCallbackContext(),
+                                        Step.DELETE,
+                                        this::deleteDataRepositoryAssociation))
                                 .stabilize((awsRequest, awsResponse, client, model, context) -> {
                                     boolean stabilized = false;
+                                    context.recordPoll();
                                     try {
-                                        DataRepositoryAssociationUtils.describeDeletedDRAAndThrowResourceDNE(logger,
-                                                Translator.translateToReadRequest(model),
-                                                client);
+                                        final DraSnapshot association = DraSnapshot.of(
+                                                DataRepositoryAssociationUtils.describeDeletedDRAAndThrowResourceDNE(
+                                                        Translator.translateToReadRequest(model),
+                                                        client));
+                                        if (association != null) {
+                                            context.observe(association);
+                                        }
                                     // If we couldn't find the DRA, we are all set, else throw the exception.
                                     } catch (final Exception exception) {
                                         if (exception instanceof ResourceNotFoundException
                                                 || exception instanceof DataRepositoryAssociationNotFoundException) {
+                                            context.observeDeleted(System.currentTimeMillis());
                                             stabilized = true;
                                         } else {
                                             throw exception;
                                         }
                                     }
 
-                                    logger.log(String.format("%s [%s] deletion has stabilized: %s",
-                                            ResourceModel.TYPE_NAME,
-                                            model.getPrimaryIdentifier(),
-                                            stabilized));
+                                    if (stabilized || context.shouldLogObservation()) {
+                                        LogEvent.of("DeletionStabilization")
+                                                .with("resourceType", ResourceModel.TYPE_NAME)
+                                                .with("associationId", model.getAssociationId())
+                                                .with("lifecycle", stabilized || context.getAssociation() == null
+                                                        ? null : context.getAssociation().getLifecycle())
+                                                .with("unchangedPolls", context.getUnchangedPolls())
+                                                .with("stabilized", stabilized)
+                                                .log(logger);
+                                    }
                                     return stabilized;
                                 })
                                 .handleError((awsRequest, exception, client, model, context) ->
-                                        DataRepositoryAssociationUtils.handleError(exception))
+                                        DataRepositoryAssociationUtils.handleError(exception, model, context))
                                 .progress()
-                )
+                ))
                 .then(progress -> ProgressEvent.defaultSuccessHandler(null));
     }
 
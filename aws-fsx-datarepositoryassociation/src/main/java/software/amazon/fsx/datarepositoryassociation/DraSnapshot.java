@@ -0,0 +1,150 @@
+package software.amazon.fsx.datarepositoryassociation;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryAssociation;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryLifecycle;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsResponse;
+import software.amazon.awssdk.services.fsx.model.S3DataRepositoryConfiguration;
+
+import java.util.Set;
+
+/**
+ * The state of an association that stabilization and update planning decide on, taken from one describe call. It holds
+ *  a few scalars instead of the SDK association with its tags, failure details and builders, so it is cheap to keep in
+ *  the callback context and to compare. Its fields are its JSON form.
+ */
+@lombok.EqualsAndHashCode(doNotUseGetters = true)
+@lombok.ToString(doNotUseGetters = true)
+@JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY,
+        getterVisibility = JsonAutoDetect.Visibility.NONE,
+        isGetterVisibility = JsonAutoDetect.Visibility.NONE)
+final class DraSnapshot {
+    private static final int ABSENT = -1;
+
+    private final String associationId;
+    // The service's name for the lifecycle, which unlike the enum's ordinal stays the same across SDK versions.
+    private final String lifecycle;
+    private final Integer importedFileChunkSize;
+    private final int importEvents;
+    private final int exportEvents;
+    private final long observedAt;
+
+    @JsonCreator
+    DraSnapshot(@JsonProperty("associationId") final String associationId,
+                @JsonProperty("lifecycle") final String lifecycle,
+                @JsonProperty("importedFileChunkSize") final Integer importedFileChunkSize,
+                @JsonProperty("importEvents") final int importEvents,
+                @JsonProperty("exportEvents") final int exportEvents,
+                @JsonProperty("observedAt") final long observedAt) {
+        this.associationId = associationId;
+        this.lifecycle = lifecycle;
+        this.importedFileChunkSize = importedFileChunkSize;
+        this.importEvents = importEvents;
+        this.exportEvents = exportEvents;
+        this.observedAt = observedAt;
+    }
+
+    /**
+     * @param describeResponse The describe response.
+     * @return The snapshot of the association described, or null if the response doesn't have exactly one association
+     *  in a known lifecycle.
+     */
+    static DraSnapshot of(final DescribeDataRepositoryAssociationsResponse describeResponse) {
+        final DataRepositoryAssociation association =
+                DataRepositoryAssociationUtils.getDRAFromDescribeResponse(describeResponse);
+        return association == null ? null : of(association, System.currentTimeMillis());
+    }
+
+    /**
+     * @param association The association.
+     * @param observedAt When the association was described, in milliseconds since the epoch.
+     * @return The snapshot of the association.
+     */
+    static DraSnapshot of(final DataRepositoryAssociation association, final long observedAt) {
+        final S3DataRepositoryConfiguration s3 = association.s3();
+        return new DraSnapshot(association.associationId(),
+                association.lifecycleAsString(),
+                association.importedFileChunkSize(),
+                s3 == null || s3.autoImportPolicy() == null
+                        ? ABSENT : EventMask.of(s3.autoImportPolicy().eventsAsStrings()).bits(),
+                s3 == null || s3.autoExportPolicy() == null
+                        ? ABSENT : EventMask.of(s3.autoExportPolicy().eventsAsStrings()).bits(),
+                observedAt);
+    }
+
+    String getAssociationId() {
+        return associationId;
+    }
+
+    /**
+     * @return The lifecycle, or null if the association had none.
+     */
+    DataRepositoryLifecycle getLifecycle() {
+        return DataRepositoryLifecycle.fromValue(lifecycle);
+    }
+
+    Integer getImportedFileChunkSize() {
+        return importedFileChunkSize;
+    }
+
+    /**
+     * @return The events of the auto import policy, or null without a policy.
+     */
+    EventMask getImportEvents() {
+        return importEvents == ABSENT ? null : EventMask.fromBits(importEvents);
+    }
+
+    /**
+     * @return The events of the auto export policy, or null without a policy.
+     */
+    EventMask getExportEvents() {
+        return exportEvents == ABSENT ? null : EventMask.fromBits(exportEvents);
+    }
+
+    /**
+     * @return When the association was described, in milliseconds since the epoch.
+     */
+    long getObservedAt() {
+        return observedAt;
+    }
+
+    /**
+     * @param lifecycles Lifecycles.
+     * @return If the association is in one of them.
+     */
+    boolean isIn(final Set<DataRepositoryLifecycle> lifecycles) {
+        return lifecycles.contains(getLifecycle());
+    }
+
+    /**
+     * @param desiredImportedFileChunkSize ImportedFileChunkSize from the desired model.
+     * @return If the association needs an update to have it.
+     */
+    boolean shouldUpdateImportedFileChunkSize(final Integer desiredImportedFileChunkSize) {
+        return Translator.shouldUpdateImportedFileChunkSize(importedFileChunkSize, desiredImportedFileChunkSize);
+    }
+
+    /**
+     * @param desiredS3 S3 from the desired model.
+     * @return If the association needs an update to have its auto import policy.
+     */
+    boolean shouldUpdateS3ImportPolicy(final S3 desiredS3) {
+        return shouldUpdateEvents(EventMask.of(Translator.importEvents(desiredS3)), getImportEvents());
+    }
+
+    /**
+     * @param desiredS3 S3 from the desired model.
+     * @return If the association needs an update to have its auto export policy.
+     */
+    boolean shouldUpdateS3ExportPolicy(final S3 desiredS3) {
+        return shouldUpdateEvents(EventMask.of(Translator.exportEvents(desiredS3)), getExportEvents());
+    }
+
+    private static boolean shouldUpdateEvents(final EventMask desiredEvents, final EventMask observedEvents) {
+        // Events this SDK doesn't know can only be compared by name, which the snapshot doesn't keep.
+        return desiredEvents != observedEvents
+                || desiredEvents != null && desiredEvents.hasUnknownEvents();
+    }
+}
@@ -0,0 +1,101 @@
+package software.amazon.fsx.datarepositoryassociation;
+
+import software.amazon.awssdk.services.fsx.model.EventType;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The events of an S3 auto import or auto export policy as one bit per event type. There are only a few masks, so each
+ *  is created once, with the event names the model needs, and masks are compared by identity.
+ */
+final class EventMask {
+    private static final EventType[] EVENT_TYPES = {EventType.NEW, EventType.CHANGED, EventType.DELETED};
+    // Set for event names this SDK doesn't know, which the schema doesn't allow but the service could return.
+    private static final int UNKNOWN = 1 << EVENT_TYPES.length;
+    private static final EventMask[] MASKS = new EventMask[UNKNOWN << 1];
+
+    static {
+        for (int bits = 0; bits < MASKS.length; bits++) {
+            MASKS[bits] = new EventMask(bits);
+        }
+    }
+
+    private final int bits;
+    private final Set<String> eventNames;
+
+    private EventMask(final int bits) {
+        this.bits = bits;
+        final Set<String> names = new LinkedHashSet<>();
+        for (int i = 0; i < EVENT_TYPES.length; i++) {
+            if ((bits & 1 << i) != 0) {
+                names.add(EVENT_TYPES[i].toString());
+            }
+        }
+        this.eventNames = Collections.unmodifiableSet(names);
+    }
+
+    /**
+     * @param events Event names, as in the model and the SDK.
+     * @return Their mask, or null if there are no events at all, which is not the same as an empty list of events.
+     */
+    static EventMask of(final Collection<String> events) {
+        if (events == null) {
+            return null;
+        }
+        int bits = 0;
+        for (final String event : events) {
+            bits |= bitOf(event);
+        }
+        return MASKS[bits];
+    }
+
+    /**
+     * @param bits The bits of a mask, as returned by {@link #bits()}.
+     * @return The mask.
+     */
+    static EventMask fromBits(final int bits) {
+        if (bits < 0 || bits >= MASKS.length) {
+            throw new IllegalArgumentException("Invalid event mask " + bits + ".");
+        }
+        return MASKS[bits];
+    }
+
+    private static int bitOf(final String event) {
+        for (int i = 0; i < EVENT_TYPES.length; i++) {
+            if (EVENT_TYPES[i].toString().equals(event)) {
+                return 1 << i;
+            }
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * @return The bits of the mask, to store it compactly.
+     */
+    int bits() {
+        return bits;
+    }
+
+    /**
+     * @return If the events the mask was made from include names this SDK doesn't know. They are not kept, so such a
+     *  mask can't be turned back into the events it was made from.
+     */
+    boolean hasUnknownEvents() {
+        return (bits & UNKNOWN) != 0;
+    }
+
+    /**
+     * @return The names of the events, in the order of {@link EventType}, shared by every user of the mask.
+     */
+    Set<String> toEventNames() {
+        return eventNames;
+    }
+
+    @Override
+    public String toString() {
+        return hasUnknownEvents() ? eventNames + "+unknown" : eventNames.toString();
+    }
+}
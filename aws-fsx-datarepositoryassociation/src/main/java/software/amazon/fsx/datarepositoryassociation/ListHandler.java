@@ -1,29 +1,32 @@
 package software.amazon.fsx.datarepositoryassociation;
 
+import software.amazon.awssdk.services.fsx.FSxClient;
 import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsRequest;
 import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsResponse;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.util.List;
 
-public class ListHandler extends BaseHandler<CallbackContext> {
+public class ListHandler extends BaseHandlerStd {
 
     @Override
-    public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+    protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
+            final ProxyClient<FSxClient> proxyClient,
             final Logger logger) {
 
         final DescribeDataRepositoryAssociationsRequest describeRequest =
                 Translator.translateToListRequest(request.getNextToken());
         final DescribeDataRepositoryAssociationsResponse describeResponse =
-                proxy.injectCredentialsAndInvokeV2(describeRequest,
-                        ClientBuilder.getClient()::describeDataRepositoryAssociations);
+                proxyClient.injectCredentialsAndInvokeV2(describeRequest,
+                        proxyClient.client()::describeDataRepositoryAssociations);
 
         final String nextToken = describeResponse.nextToken();
 
@@ -0,0 +1,220 @@
+package software.amazon.fsx.datarepositoryassociation;
+
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Entrypoint of the native image build. It implements the Lambda custom runtime API: it polls for the next
+ *  invocation, passes the event to the handler method named by {@code _HANDLER} and posts the handler's output back.
+ *  If the handler can't be created, the failure is posted as an initialization error instead.
+ */
+public final class NativeLambdaRuntime {
+    private static final String RUNTIME_API_VERSION = "2018-06-01";
+    private static final String REQUEST_ID_HEADER = "Lambda-Runtime-Aws-Request-Id";
+    private static final String DEADLINE_HEADER = "Lambda-Runtime-Deadline-Ms";
+    private static final String FUNCTION_ARN_HEADER = "Lambda-Runtime-Invoked-Function-Arn";
+    private static final int BUFFER_SIZE = 8192;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String runtimeApiUrl;
+    private final Object handler;
+    private final Method handlerMethod;
+
+    NativeLambdaRuntime(final String runtimeApi, final String handlerName) throws ReflectiveOperationException {
+        final int separator = handlerName.indexOf("::");
+        if (separator < 0) {
+            throw new IllegalArgumentException(String.format("Handler '%s' must be of the form class::method.",
+                    handlerName));
+        }
+        final Class<?> handlerClass = Class.forName(handlerName.substring(0, separator));
+        this.runtimeApiUrl = runtimeApiUrl(runtimeApi);
+        this.handler = handlerClass.getConstructor().newInstance();
+        this.handlerMethod = handlerClass.getMethod(handlerName.substring(separator + 2),
+                InputStream.class, OutputStream.class, Context.class);
+    }
+
+    public static void main(final String[] args) throws IOException {
+        final NativeLambdaRuntime runtime = start(System.getenv("AWS_LAMBDA_RUNTIME_API"), System.getenv("_HANDLER"));
+        if (runtime == null) {
+            return;
+        }
+        while (true) {
+            runtime.processNextInvocation();
+        }
+    }
+
+    /**
+     * Creates the handler, or reports why it couldn't be created to the runtime API.
+     * @param runtimeApi The host and port of the runtime API.
+     * @param handlerName The handler method, as class::method.
+     * @return The runtime, or null if the handler couldn't be created and the function should exit.
+     * @throws IOException If the runtime API can't be reached.
+     */
+    static NativeLambdaRuntime start(final String runtimeApi, final String handlerName) throws IOException {
+        try {
+            return new NativeLambdaRuntime(runtimeApi, handlerName);
+        } catch (final ReflectiveOperationException | RuntimeException | LinkageError e) {
+            final Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+            post(runtimeApiUrl(runtimeApi) + "/init/error", errorBody(cause));
+            return null;
+        }
+    }
+
+    /**
+     * Waits for the next invocation, runs the handler on it and reports the result.
+     * @throws IOException If the runtime API can't be reached.
+     */
+    void processNextInvocation() throws IOException {
+        final HttpURLConnection next = (HttpURLConnection) new URL(runtimeApiUrl + "/invocation/next").openConnection();
+        final String requestId = next.getHeaderField(REQUEST_ID_HEADER);
+        final long deadlineMillis = Long.parseLong(next.getHeaderField(DEADLINE_HEADER));
+        final String functionArn = next.getHeaderField(FUNCTION_ARN_HEADER);
+        final byte[] event;
+        try (InputStream inputStream = next.getInputStream()) {
+            event = readFully(inputStream);
+        }
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            handlerMethod.invoke(handler, new ByteArrayInputStream(event), output,
+                    new RuntimeContext(requestId, deadlineMillis, functionArn));
+        } catch (final InvocationTargetException | IllegalAccessException e) {
+            final Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+            post(String.format("%s/invocation/%s/error", runtimeApiUrl, requestId), errorBody(cause));
+            return;
+        }
+        post(String.format("%s/invocation/%s/response", runtimeApiUrl, requestId), output.toByteArray());
+    }
+
+    private static String runtimeApiUrl(final String runtimeApi) {
+        return String.format("http://%s/%s/runtime", runtimeApi, RUNTIME_API_VERSION);
+    }
+
+    /**
+     * @param error The error the handler failed with.
+     * @return The error document the runtime API expects.
+     * @throws IOException If the document can't be written.
+     */
+    static byte[] errorBody(final Throwable error) throws IOException {
+        return MAPPER.writeValueAsBytes(MAPPER.createObjectNode()
+                .put("errorMessage", String.valueOf(error.getMessage()))
+                .put("errorType", error.getClass().getName()));
+    }
+
+    private static void post(final String url, final byte[] body) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        try (OutputStream outputStream = connection.getOutputStream()) {
+            outputStream.write(body);
+        }
+        try (InputStream inputStream = connection.getInputStream()) {
+            readFully(inputStream);
+        }
+    }
+
+    private static byte[] readFully(final InputStream inputStream) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            output.write(buffer, 0, read);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * The invocation context, built from the runtime API headers and the environment Lambda sets up.
+     */
+    static final class RuntimeContext implements Context, LambdaLogger {
+        private final String requestId;
+        private final long deadlineMillis;
+        private final String functionArn;
+
+        RuntimeContext(final String requestId, final long deadlineMillis, final String functionArn) {
+            this.requestId = requestId;
+            this.deadlineMillis = deadlineMillis;
+            this.functionArn = functionArn;
+        }
+
+        @Override
+        public String getAwsRequestId() {
+            return requestId;
+        }
+
+        @Override
+        public String getLogGroupName() {
+            return System.getenv("AWS_LAMBDA_LOG_GROUP_NAME");
+        }
+
+        @Override
+        public String getLogStreamName() {
+            return System.getenv("AWS_LAMBDA_LOG_STREAM_NAME");
+        }
+
+        @Override
+        public String getFunctionName() {
+            return System.getenv("AWS_LAMBDA_FUNCTION_NAME");
+        }
+
+        @Override
+        public String getFunctionVersion() {
+            return System.getenv("AWS_LAMBDA_FUNCTION_VERSION");
+        }
+
+        @Override
+        public String getInvokedFunctionArn() {
+            return functionArn;
+        }
+
+        @Override
+        public CognitoIdentity getIdentity() {
+            return null;
+        }
+
+        @Override
+        public ClientContext getClientContext() {
+            return null;
+        }
+
+        @Override
+        public int getRemainingTimeInMillis() {
+            return (int) Math.max(0L, deadlineMillis - System.currentTimeMillis());
+        }
+
+        @Override
+        public int getMemoryLimitInMB() {
+            final String memory = System.getenv("AWS_LAMBDA_FUNCTION_MEMORY_SIZE");
+            return memory == null ? 0 : Integer.parseInt(memory);
+        }
+
+        @Override
+        public LambdaLogger getLogger() {
+            return this;
+        }
+
+        @Override
+        public void log(final String message) {
+            System.out.println(message);
+        }
+
+        @Override
+        public void log(final byte[] message) {
+            log(new String(message, StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -7,10 +7,16 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.fsx.common.logging.LogEvent;
 
 public class ReadHandler extends BaseHandlerStd {
     private Logger logger;
 
+    @Override
+    protected boolean hedgeDescribeCalls() {
+        return true;
+    }
+
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
@@ -27,12 +33,13 @@ public class ReadHandler extends BaseHandlerStd {
                 .translateToServiceRequest(Translator::translateToReadRequest)
                 .makeServiceCall((awsRequest, client) -> {
                     final DescribeDataRepositoryAssociationsResponse awsResponse =
-                            DataRepositoryAssociationUtils.describeDeletedDRAAndThrowResourceDNE(logger,
-                                    awsRequest,
+                            DataRepositoryAssociationUtils.describeDeletedDRAAndThrowResourceDNE(awsRequest,
                                     client);
-                    logger.log(String.format("%s [%s] has successfully been read.",
-                            ResourceModel.TYPE_NAME,
-                            awsResponse.associations().get(0)));
+                    LogEvent.of("Read")
+                            .with("resourceType", ResourceModel.TYPE_NAME)
+                            .with("associationId", awsResponse.associations().get(0).associationId())
+                            .with("lifecycle", awsResponse.associations().get(0).lifecycleAsString())
+                            .log(logger);
                     return awsResponse;
                 })
                 .handleError((awsRequest, exception, client, model, context) ->
@@ -0,0 +1,55 @@
+package software.amazon.fsx.datarepositoryassociation;
+
+/**
+ * The steps of the create, update and delete chains, each named after its call graph and declared in the order its
+ *  chain runs them. The callback context keeps the last step completed, so a re-invocation resumes after it.
+ */
+enum Step {
+    CREATE("AWS-FSx-DataRepositoryAssociation::Create", false),
+
+    PRE_UPDATE_CHECK("AWS-FSx-DataRepositoryAssociation::Update::PreUpdateCheck", true),
+    UPDATE_CHUNK_SIZE("AWS-FSx-DataRepositoryAssociation::Update::ChunkSize", false),
+    UPDATE_S3_AUTO_IMPORT("AWS-FSx-DataRepositoryAssociation::Update::S3AutoImport", false),
+    UPDATE_S3_AUTO_EXPORT("AWS-FSx-DataRepositoryAssociation::Update::S3AutoExport", false),
+    UPDATE_TAGS("AWS-FSx-DataRepositoryAssociation::Update::tags", false),
+
+    PRE_DELETION_CHECK("AWS-FSx-DataRepositoryAssociation::Delete::PreDeletionCheck", true),
+    DELETE("AWS-FSx-DataRepositoryAssociation::Delete", false);
+
+    private static final Step[] STEPS = values();
+
+    private final String callGraph;
+    private final boolean preCheck;
+
+    Step(final String callGraph, final boolean preCheck) {
+        this.callGraph = callGraph;
+        this.preCheck = preCheck;
+    }
+
+    /**
+     * @return The name of the step's call graph, under which the proxy records its calls in the callback context.
+     */
+    String getCallGraph() {
+        return callGraph;
+    }
+
+    /**
+     * @return If the step checks that the association exists before the chain changes it.
+     */
+    boolean isPreCheck() {
+        return preCheck;
+    }
+
+    /**
+     * @param callGraph The name of a call graph.
+     * @return The step with this call graph, or null if it isn't one of the steps, such as the read ending a chain.
+     */
+    static Step ofCallGraph(final String callGraph) {
+        for (final Step step : STEPS) {
+            if (step.callGraph.equals(callGraph)) {
+                return step;
+            }
+        }
+        return null;
+    }
+}
@@ -6,8 +6,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import org.apache.commons.collections.CollectionUtils;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.fsx.common.handler.TagDiff;
 
 public final class TagHelper {
     private TagHelper() {
@@ -25,7 +25,7 @@ public final class TagHelper {
      * @return Converted Map of tags
      */
     public static Map<String, String> convertToMap(final Collection<Tag> tags) {
-        if (CollectionUtils.isEmpty(tags)) {
+        if (tags == null || tags.isEmpty()) {
             return Collections.emptyMap();
         }
         return tags.stream()
@@ -46,9 +46,9 @@ public final class TagHelper {
      * @return get previous tags
      */
     public static Map<String, String> getPreviouslyAttachedTags(final ResourceHandlerRequest<ResourceModel> handlerRequest) {
-        // get previous stack level tags from handlerRequest
+        // get previous stack level tags from handlerRequest, copied so the request keeps its own
         final Map<String, String> previousTags = handlerRequest.getPreviousResourceTags() != null
-                ? handlerRequest.getPreviousResourceTags() : new HashMap<>();
+                ? new HashMap<>(handlerRequest.getPreviousResourceTags()) : new HashMap<>();
 
         if (handlerRequest.getPreviousResourceState() != null) {
             previousTags.putAll(convertToMap(handlerRequest.getPreviousResourceState().getTags()));
@@ -67,13 +67,30 @@ public final class TagHelper {
      */
     public static Map<String, String> getNewDesiredTags(final ResourceModel resourceModel,
                                                         final ResourceHandlerRequest<ResourceModel> handlerRequest) {
-        // get new stack level tags from handlerRequest
+        // get new stack level tags from handlerRequest, copied so the request keeps its own
         final Map<String, String> desiredTags = handlerRequest.getDesiredResourceTags() != null
-                ? handlerRequest.getDesiredResourceTags() : new HashMap<>();
+                ? new HashMap<>(handlerRequest.getDesiredResourceTags()) : new HashMap<>();
 
         if (resourceModel != null) {
             desiredTags.putAll(convertToMap(resourceModel.getTags()));
         }
         return desiredTags;
     }
+
+    /**
+     * diffTags
+     * <p>
+     * Diffs the previously attached tags against the new desired tags, both being the stack tags of the request
+     * overridden by the tags of the model, without merging them into copies.
+     * @param handlerRequest The request to get tags from.
+     * @return The tags to add, change and remove.
+     */
+    public static TagDiff diffTags(final ResourceHandlerRequest<ResourceModel> handlerRequest) {
+        return TagDiff.between(handlerRequest.getPreviousResourceTags(),
+                handlerRequest.getPreviousResourceState() == null
+                        ? null : convertToMap(handlerRequest.getPreviousResourceState().getTags()),
+                handlerRequest.getDesiredResourceTags(),
+                handlerRequest.getDesiredResourceState() == null
+                        ? null : convertToMap(handlerRequest.getDesiredResourceState().getTags()));
+    }
 }
@@ -10,7 +10,6 @@ import software.amazon.awssdk.services.fsx.model.S3DataRepositoryConfiguration;
 import software.amazon.awssdk.services.fsx.model.TagResourceRequest;
 import software.amazon.awssdk.services.fsx.model.UntagResourceRequest;
 import software.amazon.awssdk.services.fsx.model.UpdateDataRepositoryAssociationRequest;
-import software.amazon.fsx.common.handler.Tagging;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -39,11 +38,14 @@ public final class Translator {
      * Request to create a resource
      *
      * @param model resource model
+     * @param tags all tags of the resource, merged and validated
+     * @param clientToken the idempotency token
      * @return createRequest the fsx service request to create a resource
      */
-    static CreateDataRepositoryAssociationRequest translateToCreateRequest(final ResourceModel model,
-                                                                           final Tagging.TagSet tagSet,
-                                                                           final String clientToken) {
+    static CreateDataRepositoryAssociationRequest translateToCreateRequest(
+            final ResourceModel model,
+            final Collection<software.amazon.awssdk.services.fsx.model.Tag> tags,
+            final String clientToken) {
         final CreateDataRepositoryAssociationRequest.Builder createRequestBuilder = CreateDataRepositoryAssociationRequest.builder()
                 .fileSystemId(model.getFileSystemId())
                 .fileSystemPath(model.getFileSystemPath())
@@ -58,8 +60,8 @@ public final class Translator {
             createRequestBuilder.importedFileChunkSize(model.getImportedFileChunkSize());
         }
 
-        if (tagSet != null && !tagSet.isEmpty()) {
-            createRequestBuilder.tags(Tagging.translateTagSetToSdk(tagSet));
+        if (tags != null && !tags.isEmpty()) {
+            createRequestBuilder.tags(tags);
         }
 
         final S3DataRepositoryConfiguration s3DRAConfig = convertS3ModelToSDK(model);
@@ -165,17 +167,9 @@ public final class Translator {
      */
     static boolean shouldUpdateS3ImportPolicy(final S3 newS3,
                                               final S3 oldS3) {
-        //Make the auto import policy empty if anything is null to make sure that null auto import policies/s3 structures
-        //  equal empty auto import policies
-        final AutoImportPolicy emptyAutoImport = new AutoImportPolicy();
-        final AutoImportPolicy newAutoImport = newS3 == null ? emptyAutoImport :
-                newS3.getAutoImportPolicy() == null ? emptyAutoImport : newS3.getAutoImportPolicy();
-        final AutoImportPolicy oldAutoImport = oldS3 == null ? emptyAutoImport :
-                oldS3.getAutoImportPolicy() == null ? emptyAutoImport : oldS3.getAutoImportPolicy();
-        return !Objects.equals(newAutoImport, oldAutoImport);
+        return shouldUpdateEvents(importEvents(newS3), importEvents(oldS3));
     }
 
-
     /**
      * Request to update S3ImportPolicy.
      *
@@ -216,16 +210,41 @@ public final class Translator {
      */
     static boolean shouldUpdateS3ExportPolicy(final S3 newS3,
                                               final S3 oldS3) {
-        //Make the auto export policy empty if anything is null to make sure that null auto export policies/s3 structures
-        //  equal empty auto export policies
-        final AutoExportPolicy emptyAutoExport = new AutoExportPolicy();
-        final AutoExportPolicy newAutoExport = newS3 == null ? emptyAutoExport :
-                newS3.getAutoExportPolicy() == null ? emptyAutoExport : newS3.getAutoExportPolicy();
-        final AutoExportPolicy oldAutoExport = oldS3 == null ? emptyAutoExport :
-                oldS3.getAutoExportPolicy() == null ? emptyAutoExport : oldS3.getAutoExportPolicy();
-        return !Objects.equals(newAutoExport, oldAutoExport);
+        return shouldUpdateEvents(exportEvents(newS3), exportEvents(oldS3));
+    }
+
+    /**
+     * @param s3 S3 from a model.
+     * @return The events of its auto import policy, or null if there are none.
+     */
+    static Set<String> importEvents(final S3 s3) {
+        return s3 == null || s3.getAutoImportPolicy() == null ? null : s3.getAutoImportPolicy().getEvents();
+    }
+
+    /**
+     * @param s3 S3 from a model.
+     * @return The events of its auto export policy, or null if there are none.
+     */
+    static Set<String> exportEvents(final S3 s3) {
+        return s3 == null || s3.getAutoExportPolicy() == null ? null : s3.getAutoExportPolicy().getEvents();
     }
 
+    /**
+     * Compares the events of two policies by their masks. A missing policy differs from a policy with an empty list of
+     * events, and only events this SDK doesn't know are compared by name.
+     * @param newEvents The events of the new policy.
+     * @param oldEvents The events of the old policy.
+     * @return If the events differ.
+     */
+    private static boolean shouldUpdateEvents(final Set<String> newEvents,
+                                              final Set<String> oldEvents) {
+        final EventMask newMask = EventMask.of(newEvents);
+        final EventMask oldMask = EventMask.of(oldEvents);
+        if (newMask != null && oldMask != null && (newMask.hasUnknownEvents() || oldMask.hasUnknownEvents())) {
+            return !newEvents.equals(oldEvents);
+        }
+        return newMask != oldMask;
+    }
 
     /**
      * Request to update S3ExportPolicy.
@@ -413,16 +432,26 @@ public final class Translator {
 
             if (sdkS3.autoImportPolicy() != null) {
                 s3ModelBuilder.autoImportPolicy(AutoImportPolicy.builder()
-                        .events(new HashSet<>(sdkS3.autoImportPolicy().eventsAsStrings()))
+                        .events(eventsToModel(sdkS3.autoImportPolicy().eventsAsStrings()))
                         .build());
             }
 
             if (sdkS3.autoExportPolicy() != null) {
                 s3ModelBuilder.autoExportPolicy(AutoExportPolicy.builder()
-                        .events(new HashSet<>(sdkS3.autoExportPolicy().eventsAsStrings()))
+                        .events(eventsToModel(sdkS3.autoExportPolicy().eventsAsStrings()))
                         .build());
             }
         }
         return s3ModelBuilder == null ? null : s3ModelBuilder.build();
     }
+
+    /**
+     * Converts the events of an FSx S3 SDK policy to the model's, sharing the event names of their mask.
+     * @param events The event names of the SDK policy.
+     * @return The event names of the model policy.
+     */
+    private static Set<String> eventsToModel(final List<String> events) {
+        final EventMask mask = EventMask.of(events);
+        return mask.hasUnknownEvents() ? new HashSet<>(events) : mask.toEventNames();
+    }
 }
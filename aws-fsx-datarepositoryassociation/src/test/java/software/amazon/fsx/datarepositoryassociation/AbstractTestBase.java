@@ -1,14 +1,21 @@
 package software.amazon.fsx.datarepositoryassociation;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import software.amazon.awssdk.awscore.AwsRequest;
 import software.amazon.awssdk.awscore.AwsResponse;
 import software.amazon.awssdk.core.ResponseBytes;
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.services.fsx.FSxAsyncClient;
 import software.amazon.awssdk.services.fsx.FSxClient;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Credentials;
@@ -16,12 +23,18 @@ import software.amazon.cloudformation.proxy.DelayFactory;
 import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.delay.Constant;
+import software.amazon.fsx.common.client.CallLedger;
+import software.amazon.fsx.common.client.InstrumentedProxyClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 public class AbstractTestBase {
     public AbstractTestBase() {
 
     }
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     public static final DelayFactory FAST_DELAY_FACTORY = (apiCall, incoming) -> incoming != null
             ? incoming
             : Constant.of().delay(Duration.ofMillis(1)).timeout(Duration.ofMinutes(1)).build();
@@ -34,10 +47,85 @@ public class AbstractTestBase {
         logger = new LoggerProxy();
     }
 
+    // Every call made through the proxy clients of the test, which gets a new instance for every test method.
+    protected final CallLedger ledger = new CallLedger();
+
+    /**
+     * Fails the test if the handler made more calls than the scenario should need.
+     * @param budget The most calls the scenario may make.
+     */
+    void assertCallBudget(final int budget) {
+        assertThat(ledger.count()).as("calls made: %s", ledger).isLessThanOrEqualTo(budget);
+    }
+
+    /**
+     * Fails the test if the handler called an operation more often than the scenario should need.
+     * @param operation The name of the operation, such as DescribeDataRepositoryAssociations.
+     * @param budget The most calls the scenario may make to it.
+     */
+    void assertCallBudget(final String operation, final int budget) {
+        assertThat(ledger.count(operation)).as("calls made: %s", ledger).isLessThanOrEqualTo(budget);
+    }
+
+    /**
+     * Finds the embedded metric format line an invocation logged for a set of dimensions.
+     * @param logLines Every line the invocation logged.
+     * @param dimensions The dimensions of the line, in pairs of name and value.
+     * @return The line with exactly these dimensions.
+     */
+    static JsonNode metricLine(final List<String> logLines, final String... dimensions) {
+        return metricLineWith(logLines, null, dimensions);
+    }
+
+    /**
+     * Finds the embedded metric format line an invocation logged for a metric, where several share its dimensions.
+     * @param logLines Every line the invocation logged.
+     * @param metric The name of the metric, or null for any.
+     * @param dimensions The dimensions of the line, in pairs of name and value.
+     * @return The line with exactly these dimensions that reports the metric.
+     */
+    static JsonNode metricLineWith(final List<String> logLines, final String metric, final String... dimensions) {
+        for (final String logLine : logLines) {
+            if (!logLine.startsWith("{\"_aws\"")) {
+                continue;
+            }
+            final JsonNode line = readTree(logLine);
+            final JsonNode names = line.get("_aws").get("CloudWatchMetrics").get(0).get("Dimensions").get(0);
+            boolean matches = names.size() == dimensions.length / 2 && (metric == null || line.has(metric));
+            for (int i = 0; matches && i < dimensions.length; i += 2) {
+                matches = line.path(dimensions[i]).asText().equals(dimensions[i + 1]);
+            }
+            if (matches) {
+                return line;
+            }
+        }
+        throw new AssertionError("No metric line with dimensions " + String.join(",", dimensions) + " in " + logLines);
+    }
+
+    private static JsonNode readTree(final String json) {
+        try {
+            return OBJECT_MAPPER.readTree(json);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     ProxyClient<FSxClient> mockProxy(
             final AmazonWebServicesClientProxy proxy,
             final FSxClient sdkClient) {
-        return new ProxyClient<FSxClient>() {
+        return mockProxy(proxy, () -> sdkClient);
+    }
+
+    ProxyClient<FSxAsyncClient> mockAsyncProxy(
+            final AmazonWebServicesClientProxy proxy,
+            final FSxAsyncClient sdkClient) {
+        return mockProxy(proxy, () -> sdkClient);
+    }
+
+    private <ClientT> ProxyClient<ClientT> mockProxy(
+            final AmazonWebServicesClientProxy proxy,
+            final Supplier<ClientT> sdkClient) {
+        return InstrumentedProxyClient.instrument(new ProxyClient<ClientT>() {
             @Override
             public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT
                 injectCredentialsAndInvokeV2(final RequestT request,
@@ -49,7 +137,7 @@ public class AbstractTestBase {
             public <RequestT extends AwsRequest, ResponseT extends AwsResponse> CompletableFuture<ResponseT>
                 injectCredentialsAndInvokeV2Async(final RequestT request,
                                               final Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
-                throw new UnsupportedOperationException();
+                return proxy.injectCredentialsAndInvokeV2Async(request, requestFunction);
             }
 
             @Override
@@ -74,9 +162,9 @@ public class AbstractTestBase {
             }
 
             @Override
-            public FSxClient client() {
-                return sdkClient;
+            public ClientT client() {
+                return sdkClient.get();
             }
-        };
+        }, ledger);
     }
 }
@@ -1,8 +1,22 @@
 package software.amazon.fsx.datarepositoryassociation;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryAssociation;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsRequest;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsResponse;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryLifecycle;
+import software.amazon.awssdk.services.fsx.model.EventType;
+import software.amazon.awssdk.services.fsx.model.S3DataRepositoryConfiguration;
+import software.amazon.awssdk.services.fsx.model.UpdateDataRepositoryAssociationRequest;
+import software.amazon.awssdk.services.fsx.model.UpdateDataRepositoryAssociationResponse;
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.fsx.common.metrics.InvocationMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -14,4 +28,116 @@ public class CallbackContextTest {
         final CallbackContext callbackContext = new CallbackContext();
         assertThat(callbackContext).isNotNull();
     }
+
+    @Test
+    public void testSerialization_Association() throws Exception {
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setAssociation(DraSnapshot.of(DataRepositoryAssociation.builder()
+                .associationId("dra-0123456789abcdef0")
+                .lifecycle(DataRepositoryLifecycle.UPDATING)
+                .importedFileChunkSize(1024)
+                .s3(S3DataRepositoryConfiguration.builder()
+                        .autoExportPolicy(software.amazon.awssdk.services.fsx.model.AutoExportPolicy.builder()
+                                .events(EventType.DELETED)
+                                .build())
+                        .build())
+                .build(), 42L));
+
+        final Serializer serializer = new Serializer();
+        final CallbackContext deserialized = serializer.deserialize(serializer.serialize(callbackContext),
+                new TypeReference<CallbackContext>() { });
+
+        assertThat(serializer.serialize(callbackContext)).contains("\"lifecycle\":\"UPDATING\"");
+        assertThat(deserialized).isEqualTo(callbackContext);
+        assertThat(deserialized.getAssociation().getLifecycle()).isEqualTo(DataRepositoryLifecycle.UPDATING);
+        assertThat(deserialized.getAssociation().getExportEvents().toEventNames())
+                .contains(EventType.DELETED.toString());
+    }
+
+    @Test
+    public void testCompleteStep() {
+        final CallbackContext callbackContext = new CallbackContext();
+        assertThat(callbackContext.hasCompleted(Step.PRE_UPDATE_CHECK)).isFalse();
+
+        callbackContext.start(1L);
+        callbackContext.start(2L);
+        callbackContext.complete(Step.UPDATE_CHUNK_SIZE, 3L);
+
+        assertThat(callbackContext.hasCompleted(Step.PRE_UPDATE_CHECK)).isTrue();
+        assertThat(callbackContext.hasCompleted(Step.UPDATE_CHUNK_SIZE)).isTrue();
+        assertThat(callbackContext.hasCompleted(Step.UPDATE_S3_AUTO_IMPORT)).isFalse();
+        assertThat(callbackContext.getStartedAt()).isEqualTo(1L);
+        assertThat(callbackContext.getUpdatedAt()).isEqualTo(3L);
+    }
+
+    @Test
+    public void testCompleteStep_PreCheck() {
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setStabilizing(Step.DELETE);
+
+        callbackContext.complete(Step.PRE_DELETION_CHECK, 1L);
+        assertThat(callbackContext.isPreCheckPassed()).isTrue();
+        assertThat(callbackContext.isStabilizing(Step.DELETE)).isTrue();
+
+        callbackContext.complete(Step.DELETE, 2L);
+        assertThat(callbackContext.isStabilizing(Step.DELETE)).isFalse();
+    }
+
+    @Test
+    public void testSerialization_Checkpoint() throws Exception {
+        final String preUpdateCheck = Step.PRE_UPDATE_CHECK.getCallGraph();
+        final String chunkSize = Step.UPDATE_CHUNK_SIZE.getCallGraph();
+        final DescribeDataRepositoryAssociationsResponse describeResponse =
+                DescribeDataRepositoryAssociationsResponse.builder()
+                        .associations(DataRepositoryAssociation.builder().associationId("dra-0123456789abcdef0").build())
+                        .build();
+
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.request(preUpdateCheck, model -> DescribeDataRepositoryAssociationsRequest.builder().build())
+                .apply(null);
+        callbackContext.response(preUpdateCheck, (request, client) -> describeResponse).apply(null, null);
+        callbackContext.attempts(preUpdateCheck, 1);
+        callbackContext.complete(Step.PRE_UPDATE_CHECK, 1L);
+        callbackContext.request(chunkSize, model -> UpdateDataRepositoryAssociationRequest.builder().build())
+                .apply(null);
+        callbackContext.response(chunkSize, (request, client) -> UpdateDataRepositoryAssociationResponse.builder()
+                .build()).apply(null, null);
+        callbackContext.attempts(chunkSize, 3);
+        callbackContext.setStabilizing(Step.UPDATE_CHUNK_SIZE);
+
+        final Serializer serializer = new Serializer();
+        final String serialized = serializer.serialize(callbackContext);
+        final CallbackContext deserialized = serializer.deserialize(serialized, new TypeReference<CallbackContext>() { });
+
+        assertThat(serialized).doesNotContain(preUpdateCheck);
+        assertThat(deserialized.getStep()).isEqualTo(Step.PRE_UPDATE_CHECK);
+        assertThat(deserialized.isPreCheckPassed()).isTrue();
+        assertThat(deserialized.isStabilizing(Step.UPDATE_CHUNK_SIZE)).isTrue();
+        assertThat(deserialized.getUpdatedAt()).isEqualTo(1L);
+        // Only the attempts of the pending step are kept, so the proxy's stabilization timeout still holds.
+        assertThat(deserialized.callGraphs()).containsOnlyKeys(chunkSize + ".attempts");
+        assertThat(deserialized.attempts(chunkSize)).isEqualTo(3);
+    }
+
+    @Test
+    public void testObserve_RecordsLifecycleTime() throws Exception {
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setMetrics(new InvocationMetrics("Namespace", ResourceModel.TYPE_NAME, "Delete"));
+        final DataRepositoryAssociation association = DataRepositoryAssociation.builder()
+                .associationId("dra-0123456789abcdef0")
+                .lifecycle(DataRepositoryLifecycle.DELETING)
+                .build();
+
+        callbackContext.observe(DraSnapshot.of(association, 1000));
+        callbackContext.observe(DraSnapshot.of(association, 3000));
+        callbackContext.recordPoll();
+        callbackContext.observeDeleted(4500);
+        final List<String> lines = new ArrayList<>();
+        callbackContext.getMetrics().flush(lines::add);
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).contains("\"StabilizationPolls\":1");
+        assertThat(lines.get(1)).contains("\"Lifecycle\":\"DELETING\"").contains("\"LifecycleTime\":3500");
+        assertThat(new Serializer().serialize(callbackContext)).doesNotContain("metrics");
+    }
 }
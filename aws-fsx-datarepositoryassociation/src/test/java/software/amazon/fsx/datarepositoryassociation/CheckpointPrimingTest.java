@@ -0,0 +1,25 @@
+package software.amazon.fsx.datarepositoryassociation;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.fsx.FSxAsyncClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+public class CheckpointPrimingTest {
+
+    @Test
+    public void testBeforeCheckpoint() {
+        assertThatCode(CheckpointPriming::register).doesNotThrowAnyException();
+        assertThatCode(() -> new CheckpointPriming().beforeCheckpoint(/*context*/ null)).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void testAfterRestoreResetsAsyncClient() {
+        final FSxAsyncClient client = ClientBuilder.getAsyncClient();
+
+        new CheckpointPriming().afterRestore(/*context*/ null);
+
+        assertThat(ClientBuilder.getAsyncClient()).isNotSameAs(client);
+    }
+}
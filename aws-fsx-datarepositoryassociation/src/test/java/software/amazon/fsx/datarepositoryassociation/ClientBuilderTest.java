@@ -3,6 +3,7 @@ package software.amazon.fsx.datarepositoryassociation;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.fsx.FSxAsyncClient;
 import software.amazon.awssdk.services.fsx.FSxClient;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -14,4 +15,27 @@ public class ClientBuilderTest {
         final FSxClient client = ClientBuilder.getClient();
         assertThat(client).isNotNull();
     }
+
+    @Test
+    public void testGetClientWithEndpointOverride() {
+        final FSxClient client = ClientBuilder.getClient("http://localhost:8080");
+        assertThat(client).isNotNull();
+    }
+
+    @Test
+    public void testGetAsyncClient() {
+        final FSxAsyncClient client = ClientBuilder.getAsyncClient();
+        assertThat(client).isNotNull();
+        assertThat(ClientBuilder.getAsyncClient()).isSameAs(client);
+    }
+
+    @Test
+    public void testResetAsyncClient() {
+        final FSxAsyncClient client = ClientBuilder.getAsyncClient();
+
+        ClientBuilder.resetAsyncClient();
+        ClientBuilder.resetAsyncClient();
+
+        assertThat(ClientBuilder.getAsyncClient()).isNotSameAs(client);
+    }
 }
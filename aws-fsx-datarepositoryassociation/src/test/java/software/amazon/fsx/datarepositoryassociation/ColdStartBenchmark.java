@@ -0,0 +1,226 @@
+package software.amazon.fsx.datarepositoryassociation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import software.amazon.fsx.testsupport.FakeFsxClient;
+import software.amazon.fsx.testsupport.FsxSimulator;
+import software.amazon.fsx.testsupport.LocalFsxEndpoint;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Measures the cold start of the shaded handler jar. Each sam-tests event is run several times, every time in a fresh
+ *  JVM against a {@link LocalFsxEndpoint} over the FSx simulator, so the benchmark needs no network access or
+ *  credentials. The medians are
+ *  written to a report and appended to a history file, and the changes since the previous entry are printed.
+ *  Run it with {@code mvn -Pcold-start verify}.
+ */
+final class ColdStartBenchmark {
+    static final String HANDLER = "software.amazon.fsx.datarepositoryassociation.HandlerWrapper::testEntrypoint";
+    static final String[] METRICS = {
+        "timeToFirstResponseMillis",
+        "initMillis",
+        "firstInvocationMillis",
+        "loadedClassCount",
+        "heapUsedAfterInitBytes"
+    };
+    static final String FILE_SYSTEM_ID = "fs-0123456789abcdef0";
+    // The simulator numbers associations from one, so the seeded association always gets this ID.
+    static final String ASSOCIATION_ID = "dra-00000000000000001";
+    private static final String PLACEHOLDER_ASSOCIATION_ID = "\"AssociationId\": \"to-be-replaced-manually\"";
+    private static final String PLACEHOLDER_FILE_SYSTEM_ID = "\"FileSystemId\": \"to-be-replaced-manually\"";
+    private static final long PROBE_TIMEOUT_MINUTES = 2;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private ColdStartBenchmark() {
+    }
+
+    /**
+     * @param args The shaded jar, the sam-tests directory, the report file, the history file and the number of JVMs
+     *  to start per event.
+     */
+    public static void main(final String[] args) throws Exception {
+        final Path jar = Paths.get(args[0]);
+        final Path events = Paths.get(args[1]);
+        final Path report = Paths.get(args[2]);
+        final Path history = Paths.get(args[3]);
+        final int iterations = Integer.parseInt(args[4]);
+
+        final ObjectNode results = MAPPER.createObjectNode();
+        results.put("timestamp", Instant.now().toString());
+        results.put("javaVersion", System.getProperty("java.version"));
+        results.put("jarSizeBytes", Files.size(jar));
+        final ObjectNode eventResults = results.putObject("events");
+
+        final Path preparedEvents = Files.createTempDirectory("cold-start");
+        boolean allSucceeded = true;
+        try (Stream<Path> eventFiles = Files.list(events)) {
+            for (final Path event : eventFiles.filter(path -> path.toString().endsWith(".json")).sorted()
+                    .collect(Collectors.toList())) {
+                final Path preparedEvent = preparedEvents.resolve(event.getFileName());
+                Files.write(preparedEvent, prepareEvent(event));
+
+                final List<JsonNode> runs = new ArrayList<>();
+                for (int i = 0; i < iterations; i++) {
+                    try (LocalFsxEndpoint endpoint = startFsxEndpoint()) {
+                        runs.add(runProbe(jar, preparedEvent, endpoint, Collections.emptyList(), 1));
+                    }
+                }
+                final ObjectNode summary = summarize(runs);
+                allSucceeded &= "SUCCESS".equals(summary.path("status").asText());
+                eventResults.set(event.getFileName().toString().replace(".json", ""), summary);
+            }
+        }
+
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), results);
+        System.out.println(describe(results, readLastEntry(history)));
+        Files.createDirectories(history.toAbsolutePath().getParent());
+        Files.write(history, Collections.singletonList(MAPPER.writeValueAsString(results)), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        if (!allSucceeded) {
+            throw new IllegalStateException("Not every event succeeded against the local endpoint; see " + report + ".");
+        }
+    }
+
+    /**
+     * Starts a local FSx endpoint over a simulator holding one available association, the one the prepared events read
+     *  and delete. A delete removes it, so every run needs an endpoint of its own.
+     */
+    static LocalFsxEndpoint startFsxEndpoint() throws IOException {
+        final FakeFsxClient client = new FakeFsxClient(FsxSimulator.builder().fileSystems(FILE_SYSTEM_ID).build());
+        final String associationId = client.createDataRepositoryAssociation(request -> request
+                        .fileSystemId(FILE_SYSTEM_ID)
+                        .fileSystemPath("/seeded")
+                        .dataRepositoryPath("s3://bucket/seeded"))
+                .association()
+                .associationId();
+        if (!ASSOCIATION_ID.equals(associationId)) {
+            throw new IllegalStateException("The simulator seeded association " + associationId + ".");
+        }
+        return new LocalFsxEndpoint(client);
+    }
+
+    /**
+     * Fills in the file system and association the local endpoint serves wherever the sam-tests events leave them to
+     *  be replaced.
+     */
+    static byte[] prepareEvent(final Path event) throws IOException {
+        return new String(Files.readAllBytes(event), StandardCharsets.UTF_8)
+                .replace(PLACEHOLDER_ASSOCIATION_ID, "\"AssociationId\": \"" + ASSOCIATION_ID + "\"")
+                .replace(PLACEHOLDER_FILE_SYSTEM_ID, "\"FileSystemId\": \"" + FILE_SYSTEM_ID + "\"")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reduces the runs of one event to the median of every metric and the status of the last response.
+     */
+    static ObjectNode summarize(final List<JsonNode> runs) {
+        final ObjectNode summary = MAPPER.createObjectNode();
+        summary.put("status", runs.get(runs.size() - 1).path("response").path("status").asText(null));
+        summary.put("runs", runs.size());
+        for (final String metric : METRICS) {
+            final long[] values = runs.stream().mapToLong(run -> run.path(metric).asLong()).sorted().toArray();
+            summary.put(metric, values[values.length / 2]);
+        }
+        return summary;
+    }
+
+    /**
+     * Formats one line per event and metric, with the change against the previous history entry if there is one.
+     */
+    static String describe(final JsonNode results, final JsonNode previous) {
+        final StringBuilder description = new StringBuilder("Cold start medians:");
+        results.path("events").fields().forEachRemaining(event -> {
+            description.append(String.format("%n  %s (%s)", event.getKey(), event.getValue().path("status").asText()));
+            for (final String metric : METRICS) {
+                final long value = event.getValue().path(metric).asLong();
+                final JsonNode before = previous == null ? null
+                        : previous.path("events").path(event.getKey()).get(metric);
+                description.append(String.format("%n    %-26s %12d", metric, value));
+                if (before != null) {
+                    description.append(String.format(" (%+d)", value - before.asLong()));
+                }
+            }
+        });
+        return description.toString();
+    }
+
+    private static JsonNode readLastEntry(final Path history) throws IOException {
+        if (!Files.exists(history)) {
+            return null;
+        }
+        final List<String> entries = Files.readAllLines(history, StandardCharsets.UTF_8);
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            if (!entries.get(i).trim().isEmpty()) {
+                return MAPPER.readTree(entries.get(i));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Runs {@link ColdStartProbe} in a fresh JVM with only the handler jar and the probe on its class path.
+     * @param jvmArgs Extra options for the JVM, such as a heap limit.
+     * @param invocations How many times the probe invokes the handler.
+     * @return The probe's measurements.
+     */
+    static JsonNode runProbe(final Path jar, final Path event, final LocalFsxEndpoint endpoint,
+                             final List<String> jvmArgs, final int invocations)
+            throws IOException, InterruptedException {
+        final String testClasses = Paths.get(ColdStartProbe.class.getProtectionDomain().getCodeSource().getLocation()
+                .getPath()).toString();
+        final List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.addAll(Arrays.asList("-cp", jar + File.pathSeparator + testClasses,
+                ColdStartProbe.class.getName(),
+                HANDLER,
+                event.toString(),
+                String.valueOf(invocations)));
+        final ProcessBuilder processBuilder = new ProcessBuilder(command).redirectErrorStream(true);
+        processBuilder.environment().put(ClientBuilder.ENDPOINT_OVERRIDE_VARIABLE, endpoint.getEndpoint());
+        processBuilder.environment().putIfAbsent("AWS_REGION", "us-east-1");
+
+        final Process probe = processBuilder.start();
+        final StringBuilder output = new StringBuilder();
+        String result = null;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(probe.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(ColdStartProbe.RESULT_PREFIX)) {
+                    result = line.substring(ColdStartProbe.RESULT_PREFIX.length());
+                } else {
+                    output.append(line).append(System.lineSeparator());
+                }
+            }
+        }
+        if (!probe.waitFor(PROBE_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+            probe.destroyForcibly();
+        }
+        if (result == null) {
+            throw new IllegalStateException(String.format("The probe for %s exited without a result:%n%s",
+                    event.getFileName(), output));
+        }
+        return MAPPER.readTree(result);
+    }
+}
@@ -0,0 +1,96 @@
+package software.amazon.fsx.datarepositoryassociation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.fsx.FSxClient;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryAssociation;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryLifecycle;
+import software.amazon.cloudformation.LambdaWrapper;
+import software.amazon.fsx.testsupport.LocalFsxEndpoint;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ColdStartBenchmarkTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    public void testPrepareEvent() throws IOException {
+        final String event = new String(ColdStartBenchmark.prepareEvent(Paths.get("sam-tests", "read.json")),
+                StandardCharsets.UTF_8);
+
+        assertThat(event).contains(ColdStartBenchmark.ASSOCIATION_ID);
+        assertThat(event).doesNotContain("\"AssociationId\": \"to-be-replaced-manually\"");
+
+        final String createEvent = new String(ColdStartBenchmark.prepareEvent(Paths.get("sam-tests", "create.json")),
+                StandardCharsets.UTF_8);
+        assertThat(createEvent).contains(ColdStartBenchmark.FILE_SYSTEM_ID);
+        assertThat(createEvent).doesNotContain("\"FileSystemId\": \"to-be-replaced-manually\"");
+    }
+
+    @Test
+    public void testStartFsxEndpoint() throws IOException {
+        try (LocalFsxEndpoint endpoint = ColdStartBenchmark.startFsxEndpoint();
+             FSxClient client = FSxClient.builder()
+                     .endpointOverride(URI.create(endpoint.getEndpoint()))
+                     .region(Region.US_EAST_1)
+                     .credentialsProvider(StaticCredentialsProvider.create(
+                             AwsBasicCredentials.create("access", "secret")))
+                     .httpClient(LambdaWrapper.HTTP_CLIENT)
+                     .build()) {
+            final DataRepositoryAssociation association = client.describeDataRepositoryAssociations(
+                    request -> request.associationIds(ColdStartBenchmark.ASSOCIATION_ID)).associations().get(0);
+
+            assertThat(association.fileSystemId()).isEqualTo(ColdStartBenchmark.FILE_SYSTEM_ID);
+            assertThat(association.lifecycle()).isEqualTo(DataRepositoryLifecycle.AVAILABLE);
+            assertThat(endpoint.getRequestCount("DescribeDataRepositoryAssociations")).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void testSummarize() throws IOException {
+        final JsonNode summary = ColdStartBenchmark.summarize(Arrays.asList(
+                run(300, 90, "SUCCESS"),
+                run(100, 80, "SUCCESS"),
+                run(200, 70, "SUCCESS")));
+
+        assertThat(summary.path("status").asText()).isEqualTo("SUCCESS");
+        assertThat(summary.path("runs").asInt()).isEqualTo(3);
+        assertThat(summary.path("timeToFirstResponseMillis").asLong()).isEqualTo(200);
+        assertThat(summary.path("initMillis").asLong()).isEqualTo(80);
+        assertThat(summary.path("loadedClassCount").asLong()).isEqualTo(4000);
+    }
+
+    @Test
+    public void testDescribe() throws IOException {
+        final JsonNode previous = MAPPER.readTree("{\"events\":{\"read\":{\"status\":\"SUCCESS\","
+                + "\"timeToFirstResponseMillis\":250,\"loadedClassCount\":4100}}}");
+        final JsonNode results = MAPPER.readTree("{\"events\":{\"read\":{\"status\":\"SUCCESS\","
+                + "\"timeToFirstResponseMillis\":200,\"loadedClassCount\":4000}}}");
+
+        final String withHistory = ColdStartBenchmark.describe(results, previous);
+        assertThat(withHistory).contains("read (SUCCESS)");
+        assertThat(withHistory).contains("200 (-50)");
+        assertThat(withHistory).contains("4000 (-100)");
+
+        final String withoutHistory = ColdStartBenchmark.describe(results, null);
+        assertThat(withoutHistory).contains("200");
+        assertThat(withoutHistory).doesNotContain("(-50)");
+    }
+
+    private static JsonNode run(final long timeToFirstResponse, final long init, final String status)
+            throws IOException {
+        return MAPPER.readTree(String.format("{\"timeToFirstResponseMillis\":%d,\"initMillis\":%d,"
+                + "\"firstInvocationMillis\":10,\"loadedClassCount\":4000,\"heapUsedAfterInitBytes\":1024,"
+                + "\"response\":{\"status\":\"%s\"}}", timeToFirstResponse, init, status));
+    }
+}
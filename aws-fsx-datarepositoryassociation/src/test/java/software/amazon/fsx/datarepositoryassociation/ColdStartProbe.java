@@ -0,0 +1,80 @@
+package software.amazon.fsx.datarepositoryassociation;
+
+import com.amazonaws.services.lambda.runtime.Context;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs in the fresh JVM started by {@link ColdStartBenchmark}: it loads the handler, runs an event through it and
+ *  prints a single {@link #RESULT_PREFIX} line with the cold start measurements and the handler's first response.
+ *  Any further invocations reuse the handler like a warm container, and the heap left after them is reported as the
+ *  steady state. It only depends on the JDK and the shaded handler jar.
+ */
+final class ColdStartProbe {
+    static final String RESULT_PREFIX = "COLD_START_RESULT ";
+    private static final long DEADLINE_MILLIS = TimeUnit.MINUTES.toMillis(15);
+
+    private ColdStartProbe() {
+    }
+
+    /**
+     * @param args The handler, as class::method, the path to the event and optionally the number of invocations.
+     */
+    public static void main(final String[] args) throws Exception {
+        final byte[] event = Files.readAllBytes(Paths.get(args[1]));
+        final int invocations = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+        final int separator = args[0].indexOf("::");
+
+        final long initStart = System.nanoTime();
+        final Class<?> handlerClass = Class.forName(args[0].substring(0, separator));
+        final Object handler = handlerClass.getConstructor().newInstance();
+        final Method handlerMethod = handlerClass.getMethod(args[0].substring(separator + 2),
+                InputStream.class, OutputStream.class, Context.class);
+        final long initNanos = System.nanoTime() - initStart;
+        System.gc();
+        final long heapUsedAfterInit = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+
+        final long invocationStart = System.nanoTime();
+        final ByteArrayOutputStream output = invoke(handler, handlerMethod, event);
+        final long invocationNanos = System.nanoTime() - invocationStart;
+        final long timeToFirstResponse = System.currentTimeMillis()
+                - ManagementFactory.getRuntimeMXBean().getStartTime();
+
+        for (int i = 1; i < invocations; i++) {
+            invoke(handler, handlerMethod, event);
+        }
+        System.gc();
+        final long heapUsedSteadyState = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+
+        System.out.println(RESULT_PREFIX + String.format(
+                "{\"timeToFirstResponseMillis\":%d,\"initMillis\":%d,\"firstInvocationMillis\":%d,"
+                        + "\"loadedClassCount\":%d,\"heapUsedAfterInitBytes\":%d,\"heapUsedSteadyStateBytes\":%d,"
+                        + "\"response\":%s}",
+                timeToFirstResponse,
+                TimeUnit.NANOSECONDS.toMillis(initNanos),
+                TimeUnit.NANOSECONDS.toMillis(invocationNanos),
+                ManagementFactory.getClassLoadingMXBean().getLoadedClassCount(),
+                heapUsedAfterInit,
+                heapUsedSteadyState,
+                output.size() == 0 ? "null" : new String(output.toByteArray(), StandardCharsets.UTF_8)));
+    }
+
+    private static ByteArrayOutputStream invoke(final Object handler, final Method handlerMethod, final byte[] event)
+            throws ReflectiveOperationException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        handlerMethod.invoke(handler, new ByteArrayInputStream(event), output,
+                new NativeLambdaRuntime.RuntimeContext(UUID.randomUUID().toString(),
+                        System.currentTimeMillis() + DEADLINE_MILLIS, null));
+        return output;
+    }
+}
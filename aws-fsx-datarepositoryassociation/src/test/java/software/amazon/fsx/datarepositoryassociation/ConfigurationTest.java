@@ -0,0 +1,17 @@
+package software.amazon.fsx.datarepositoryassociation;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConfigurationTest {
+
+    @Test
+    public void testResourceSchemaIsSharedByInstances() {
+        final JSONObject schema = new Configuration().resourceSchemaJSONObject();
+
+        assertThat(schema.getString("typeName")).isEqualTo(ResourceModel.TYPE_NAME);
+        assertThat(new Configuration().resourceSchemaJSONObject()).isSameAs(schema);
+    }
+}
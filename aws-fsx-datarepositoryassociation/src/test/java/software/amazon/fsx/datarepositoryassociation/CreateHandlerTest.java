@@ -2,8 +2,12 @@ package software.amazon.fsx.datarepositoryassociation;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
 import software.amazon.awssdk.services.fsx.FSxClient;
 import software.amazon.awssdk.services.fsx.model.CreateDataRepositoryAssociationRequest;
 import software.amazon.awssdk.services.fsx.model.CreateDataRepositoryAssociationResponse;
@@ -11,6 +15,7 @@ import software.amazon.awssdk.services.fsx.model.DataRepositoryAssociation;
 import software.amazon.awssdk.services.fsx.model.DataRepositoryLifecycle;
 import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsRequest;
 import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsResponse;
+import software.amazon.awssdk.services.fsx.model.FSxException;
 import software.amazon.awssdk.services.fsx.model.InternalServerErrorException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
@@ -120,6 +125,60 @@ public class CreateHandlerTest extends AbstractTestBase {
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
+        assertCallBudget(4);
+    }
+
+    @Test
+    public void handleRequest_MergesTags() {
+        final CreateHandler handler = new CreateHandler();
+        final String associationId = "dra-12345678";
+
+        final ResourceModel model = ResourceModel.builder()
+                .associationId(associationId)
+                .tags(Arrays.asList(Tag.builder().key("resource").value("resource").build(),
+                        Tag.builder().key("shared").value("resource").build()))
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .desiredResourceTags(Collections.singletonMap("shared", "stack"))
+                .systemTags(Collections.singletonMap("aws:cloudformation:stack-name", "stack"))
+                .build();
+
+        final DataRepositoryAssociation availableAssociation = DataRepositoryAssociation.builder()
+                .associationId(associationId)
+                .lifecycle(DataRepositoryLifecycle.AVAILABLE)
+                .build();
+
+        when(fsxClient.describeDataRepositoryAssociations(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class)))
+                .thenReturn(DescribeDataRepositoryAssociationsResponse.builder()
+                        .associations(availableAssociation)
+                        .build());
+
+        final ArgumentCaptor<CreateDataRepositoryAssociationRequest> createRequest =
+                ArgumentCaptor.forClass(CreateDataRepositoryAssociationRequest.class);
+        when(fsxClient.createDataRepositoryAssociation(createRequest.capture()))
+                .thenReturn(CreateDataRepositoryAssociationResponse.builder()
+                        .association(availableAssociation)
+                        .build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        verify(fsxClient, atLeastOnce()).describeDataRepositoryAssociations(
+                ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class));
+        verify(fsxClient, atLeastOnce()).createDataRepositoryAssociation(
+                ArgumentMatchers.any(CreateDataRepositoryAssociationRequest.class));
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(createRequest.getValue().tags()).containsExactly(
+                software.amazon.awssdk.services.fsx.model.Tag.builder().key("resource").value("resource").build(),
+                software.amazon.awssdk.services.fsx.model.Tag.builder().key("shared").value("resource").build(),
+                software.amazon.awssdk.services.fsx.model.Tag.builder()
+                        .key("aws:cloudformation:stack-name")
+                        .value("stack")
+                        .build());
+        assertCallBudget(3);
     }
 
     @Test
@@ -152,5 +211,37 @@ public class CreateHandlerTest extends AbstractTestBase {
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InternalFailure);
+        assertCallBudget(1);
+    }
+
+    @Test
+    public void handleRequest_Throttled() {
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+                .tags(new ArrayList<>())
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        when(fsxClient.createDataRepositoryAssociation(ArgumentMatchers.any(CreateDataRepositoryAssociationRequest.class)))
+                .thenThrow(FSxException.builder()
+                        .awsErrorDetails(AwsErrorDetails.builder().errorCode("ThrottlingException").build())
+                        .build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        verify(fsxClient, atLeastOnce()).createDataRepositoryAssociation(
+                ArgumentMatchers.any(CreateDataRepositoryAssociationRequest.class));
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isGreaterThan(0);
+        assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
+        assertThat(response.getErrorCode()).isNull();
+        assertCallBudget(1);
     }
 }
@@ -7,6 +7,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.fsx.FSxAsyncClient;
 import software.amazon.awssdk.services.fsx.FSxClient;
 import software.amazon.awssdk.services.fsx.model.BadRequestException;
 import software.amazon.awssdk.services.fsx.model.CreateDataRepositoryAssociationRequest;
@@ -16,25 +18,38 @@ import software.amazon.awssdk.services.fsx.model.DataRepositoryAssociationNotFou
 import software.amazon.awssdk.services.fsx.model.DataRepositoryLifecycle;
 import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsRequest;
 import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsResponse;
+import software.amazon.awssdk.services.fsx.model.FSxException;
 import software.amazon.awssdk.services.fsx.model.FileSystemNotFoundException;
 import software.amazon.awssdk.services.fsx.model.IncompatibleParameterErrorException;
 import software.amazon.awssdk.services.fsx.model.InternalServerErrorException;
 import software.amazon.awssdk.services.fsx.model.InvalidDataRepositoryTypeException;
 import software.amazon.awssdk.services.fsx.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.fsx.model.Tag;
+import software.amazon.awssdk.services.fsx.model.TagResourceRequest;
+import software.amazon.awssdk.services.fsx.model.TagResourceResponse;
+import software.amazon.awssdk.services.fsx.model.UntagResourceRequest;
+import software.amazon.awssdk.services.fsx.model.UntagResourceResponse;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.cloudformation.exceptions.CfnNotStabilizedException;
 import software.amazon.cloudformation.exceptions.CfnNotUpdatableException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.fsx.common.client.CircuitOpenException;
 
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -43,9 +58,12 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static software.amazon.fsx.datarepositoryassociation.DataRepositoryAssociationUtils.CIRCUIT_OPEN_CALLBACK_DELAY_SECONDS;
 import static software.amazon.fsx.datarepositoryassociation.DataRepositoryAssociationUtils.DEFAULT_AVAILABLE_LIFECYCLES;
 import static software.amazon.fsx.datarepositoryassociation.DataRepositoryAssociationUtils.DEFAULT_FAILED_LIFECYCLES;
 import static software.amazon.fsx.datarepositoryassociation.DataRepositoryAssociationUtils.EXCEPTION_TO_ERROR_CODE;
+import static software.amazon.fsx.datarepositoryassociation.DataRepositoryAssociationUtils.THROTTLING_CALLBACK_DELAY_SECONDS;
+import static software.amazon.fsx.datarepositoryassociation.DataRepositoryAssociationUtils.THROTTLING_CALLBACK_JITTER_SECONDS;
 
 @ExtendWith(MockitoExtension.class)
 public class DataRepositoryAssociationUtilsTest extends AbstractTestBase {
@@ -103,6 +121,60 @@ public class DataRepositoryAssociationUtilsTest extends AbstractTestBase {
                 .isEqualTo(unhandledException);
     }
 
+    @Test
+    public void testHandleError_Throttling() throws Exception {
+        final ResourceModel model = ResourceModel.builder()
+                .associationId("dra-123456789")
+                .build();
+        final CallbackContext callbackContext = new CallbackContext();
+        final Exception throttlingException = FSxException.builder()
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("ThrottlingException").build())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> failedEvent =
+                DataRepositoryAssociationUtils.handleError(throttlingException);
+        assertThat(failedEvent.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(failedEvent.getErrorCode()).isEqualTo(HandlerErrorCode.Throttling);
+
+        for (final Exception exception : Arrays.asList(throttlingException,
+                new CfnThrottlingException("DescribeDataRepositoryAssociationsRequest"))) {
+            final ProgressEvent<ResourceModel, CallbackContext> event =
+                    DataRepositoryAssociationUtils.handleError(exception, model, callbackContext);
+            assertThat(event.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+            assertThat(event.getResourceModel()).isEqualTo(model);
+            assertThat(event.getCallbackContext()).isEqualTo(callbackContext);
+            assertThat(event.getCallbackDelaySeconds())
+                    .isBetween(THROTTLING_CALLBACK_DELAY_SECONDS,
+                            THROTTLING_CALLBACK_DELAY_SECONDS + THROTTLING_CALLBACK_JITTER_SECONDS);
+        }
+
+        final ProgressEvent<ResourceModel, CallbackContext> notFoundEvent = DataRepositoryAssociationUtils.handleError(
+                DataRepositoryAssociationNotFoundException.builder().build(), model, callbackContext);
+        assertThat(notFoundEvent.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(notFoundEvent.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+    }
+
+    @Test
+    public void testHandleError_CircuitOpen() throws Exception {
+        final ResourceModel model = ResourceModel.builder()
+                .associationId("dra-123456789")
+                .build();
+        final CallbackContext callbackContext = new CallbackContext();
+        final CircuitOpenException exception = new CircuitOpenException("DescribeDataRepositoryAssociationsRequest");
+
+        final ProgressEvent<ResourceModel, CallbackContext> failedEvent =
+                DataRepositoryAssociationUtils.handleError(exception);
+        assertThat(failedEvent.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(failedEvent.getErrorCode()).isEqualTo(HandlerErrorCode.ServiceInternalError);
+
+        final ProgressEvent<ResourceModel, CallbackContext> event =
+                DataRepositoryAssociationUtils.handleError(exception, model, callbackContext);
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(event.getResourceModel()).isEqualTo(model);
+        assertThat(event.getCallbackContext()).isEqualTo(callbackContext);
+        assertThat(event.getCallbackDelaySeconds()).isEqualTo(CIRCUIT_OPEN_CALLBACK_DELAY_SECONDS);
+    }
+
     @Test
     public void testDescribeDeletedDRAAndThrowResourceDNE_HappyPath() {
         final String associationId = "dra-123456789";
@@ -124,7 +196,7 @@ public class DataRepositoryAssociationUtilsTest extends AbstractTestBase {
                 .thenReturn(expectedDescribeResponse);
 
         final DescribeDataRepositoryAssociationsResponse actualDescribeResponse = DataRepositoryAssociationUtils
-                .describeDeletedDRAAndThrowResourceDNE(logger, describeRequest, proxyClient);
+                .describeDeletedDRAAndThrowResourceDNE(describeRequest, proxyClient);
 
         verify(fsxClient, atLeastOnce()).describeDataRepositoryAssociations(
                 ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class));
@@ -143,7 +215,7 @@ public class DataRepositoryAssociationUtilsTest extends AbstractTestBase {
                 .thenReturn(null);
 
         assertThatThrownBy(() -> DataRepositoryAssociationUtils
-                .describeDeletedDRAAndThrowResourceDNE(logger, describeRequest, proxyClient))
+                .describeDeletedDRAAndThrowResourceDNE(describeRequest, proxyClient))
                 .isInstanceOf(ResourceNotFoundException.class);
 
         verify(fsxClient, atLeastOnce()).describeDataRepositoryAssociations(
@@ -165,7 +237,7 @@ public class DataRepositoryAssociationUtilsTest extends AbstractTestBase {
                 .thenReturn(expectedDescribeResponse);
 
         assertThatThrownBy(() -> DataRepositoryAssociationUtils
-                .describeDeletedDRAAndThrowResourceDNE(logger, describeRequest, proxyClient))
+                .describeDeletedDRAAndThrowResourceDNE(describeRequest, proxyClient))
                 .isInstanceOf(ResourceNotFoundException.class);
 
         verify(fsxClient, atLeastOnce()).describeDataRepositoryAssociations(
@@ -189,7 +261,7 @@ public class DataRepositoryAssociationUtilsTest extends AbstractTestBase {
                 .thenReturn(expectedDescribeResponse);
 
         assertThatThrownBy(() -> DataRepositoryAssociationUtils
-                .describeDeletedDRAAndThrowResourceDNE(logger, describeRequest, proxyClient))
+                .describeDeletedDRAAndThrowResourceDNE(describeRequest, proxyClient))
                 .isInstanceOf(ResourceNotFoundException.class);
 
         verify(fsxClient, atLeastOnce()).describeDataRepositoryAssociations(
@@ -245,6 +317,50 @@ public class DataRepositoryAssociationUtilsTest extends AbstractTestBase {
                 ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class));
     }
 
+    @Test
+    public void testIsDRALifecycleAvailable_SamplesUnchangedPolls() {
+        final ResourceModel model = ResourceModel.builder()
+                .associationId("dra-123456789")
+                .build();
+        final DataRepositoryAssociation creating = DataRepositoryAssociation.builder()
+                .associationId("dra-123456789")
+                .lifecycle(DataRepositoryLifecycle.CREATING)
+                .tags(Tag.builder().key("key").value("value").build())
+                .build();
+        final DataRepositoryAssociation available = creating.toBuilder()
+                .lifecycle(DataRepositoryLifecycle.AVAILABLE)
+                .build();
+        final CallbackContext context = new CallbackContext();
+        final List<String> lines = new ArrayList<>();
+
+        //Strict argument matching doesn't work because requestOverrideConfigs don't match.
+        when(fsxClient.describeDataRepositoryAssociations(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class)))
+                .thenReturn(DescribeDataRepositoryAssociationsResponse.builder().associations(creating).build());
+        final int unchangedPolls = CallbackContext.LOG_EVERY_UNCHANGED_POLLS + 1;
+        for (int poll = 0; poll <= unchangedPolls; poll++) {
+            assertThat(DataRepositoryAssociationUtils.isDRALifecycleAvailable(lines::add, proxyClient, model, context,
+                    DEFAULT_AVAILABLE_LIFECYCLES, DEFAULT_FAILED_LIFECYCLES))
+                    .isFalse();
+        }
+        when(fsxClient.describeDataRepositoryAssociations(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class)))
+                .thenReturn(DescribeDataRepositoryAssociationsResponse.builder().associations(available).build());
+        assertThat(DataRepositoryAssociationUtils.isDRALifecycleAvailable(lines::add, proxyClient, model, context,
+                DEFAULT_AVAILABLE_LIFECYCLES, DEFAULT_FAILED_LIFECYCLES))
+                .isTrue();
+
+        // The first poll, the one after LOG_EVERY_UNCHANGED_POLLS unchanged polls, and the transition to AVAILABLE.
+        assertThat(lines).containsExactly(
+                "{\"event\":\"Stabilization\",\"resourceType\":\"" + ResourceModel.TYPE_NAME + "\","
+                        + "\"associationId\":\"dra-123456789\",\"lifecycle\":\"CREATING\","
+                        + "\"unchangedPolls\":0,\"stabilized\":false}",
+                "{\"event\":\"Stabilization\",\"resourceType\":\"" + ResourceModel.TYPE_NAME + "\","
+                        + "\"associationId\":\"dra-123456789\",\"lifecycle\":\"CREATING\","
+                        + "\"unchangedPolls\":" + CallbackContext.LOG_EVERY_UNCHANGED_POLLS + ",\"stabilized\":false}",
+                "{\"event\":\"Stabilization\",\"resourceType\":\"" + ResourceModel.TYPE_NAME + "\","
+                        + "\"associationId\":\"dra-123456789\",\"lifecycle\":\"AVAILABLE\","
+                        + "\"unchangedPolls\":0,\"stabilized\":true}");
+    }
+
     @Test
     public void testGetDRAFromDescribeResponse_HappyPath() {
         final String associationId = "dra-123456789";
@@ -407,6 +523,55 @@ public class DataRepositoryAssociationUtilsTest extends AbstractTestBase {
         assertThat(model.getAssociationId()).isEqualTo(associationIdInModel);
     }
 
+    @Test
+    public void testUpdateTagsAsync() {
+        final FSxAsyncClient fsxAsyncClient = mock(FSxAsyncClient.class);
+        final ProxyClient<FSxAsyncClient> asyncProxyClient = mockAsyncProxy(proxy, fsxAsyncClient);
+        final DataRepositoryAssociation association = DataRepositoryAssociation.builder()
+                .associationId("dra-123456789")
+                .resourceARN("arn")
+                .build();
+
+        //Strict argument matching doesn't work because requestOverrideConfigs don't match.
+        when(fsxAsyncClient.untagResource(ArgumentMatchers.any(UntagResourceRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(UntagResourceResponse.builder().build()));
+        when(fsxAsyncClient.tagResource(ArgumentMatchers.any(TagResourceRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(TagResourceResponse.builder().build()));
+
+        DataRepositoryAssociationUtils.updateTagsAsync(logger,
+                asyncProxyClient,
+                association,
+                Collections.singletonMap("key", "value"),
+                Collections.singleton("oldKey"))
+                .join();
+
+        verify(fsxAsyncClient).untagResource(ArgumentMatchers.any(UntagResourceRequest.class));
+        verify(fsxAsyncClient).tagResource(ArgumentMatchers.any(TagResourceRequest.class));
+
+        DataRepositoryAssociationUtils.updateTagsAsync(logger,
+                asyncProxyClient,
+                association,
+                Collections.emptyMap(),
+                Collections.emptySet())
+                .join();
+
+        verifyNoMoreInteractions(fsxAsyncClient);
+    }
+
+    @Test
+    public void testJoin() {
+        final CompletableFuture<String> failure = new CompletableFuture<>();
+        failure.completeExceptionally(InternalServerErrorException.builder().build());
+        final CompletableFuture<String> checkedFailure = new CompletableFuture<>();
+        checkedFailure.completeExceptionally(new Exception());
+
+        assertThat(DataRepositoryAssociationUtils.join(CompletableFuture.completedFuture("value"))).isEqualTo("value");
+        assertThatThrownBy(() -> DataRepositoryAssociationUtils.join(failure))
+                .isInstanceOf(InternalServerErrorException.class);
+        assertThatThrownBy(() -> DataRepositoryAssociationUtils.join(checkedFailure))
+                .isInstanceOf(CompletionException.class);
+    }
+
     @Test
     public void testValidatePropertiesAreUpdatable_allCases() {
 
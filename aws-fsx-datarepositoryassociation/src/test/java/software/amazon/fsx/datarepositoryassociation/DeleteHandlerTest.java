@@ -83,6 +83,7 @@ public class DeleteHandlerTest extends AbstractTestBase {
 
         assertThatThrownBy(() -> handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger))
                 .isInstanceOf(CfnNotFoundException.class);
+        assertCallBudget(0);
     }
 
     @Test
@@ -116,6 +117,7 @@ public class DeleteHandlerTest extends AbstractTestBase {
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNotNull();
         assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+        assertCallBudget(1);
     }
 
     @Test
@@ -165,6 +167,7 @@ public class DeleteHandlerTest extends AbstractTestBase {
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InternalFailure);
+        assertCallBudget(3);
     }
 
     @Test
@@ -214,6 +217,46 @@ public class DeleteHandlerTest extends AbstractTestBase {
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
+        assertCallBudget(3);
+    }
+
+    @Test
+    public void handleRequest_ResumesStabilization() {
+        final DeleteHandler handler = new DeleteHandler();
+        final String associationId = "dra-12345678";
+
+        final ResourceModel model = ResourceModel.builder()
+                .associationId(associationId)
+                .tags(new ArrayList<>())
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        //Strict argument matching doesn't work because requestOverrideConfigs don't match.
+        when(fsxClient.describeDataRepositoryAssociations(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class)))
+                .thenThrow(DataRepositoryAssociationNotFoundException.builder().build());
+
+        // An earlier invocation passed the pre-check and made the delete call.
+        final CallbackContext callbackContext = CallbackContext.builder()
+                .step(Step.PRE_DELETION_CHECK)
+                .preCheckPassed(true)
+                .stabilizing(Step.DELETE)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+
+        // Only the stabilization polls; neither the pre-check describe nor the delete is repeated.
+        verify(fsxClient, times(/*wantedNumberOfInvocations*/ 1)).describeDataRepositoryAssociations(
+                ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class));
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(callbackContext.getStep()).isEqualTo(Step.DELETE);
+        assertThat(callbackContext.getStabilizing()).isNull();
+        assertCallBudget(1);
     }
 
     @Test
@@ -264,5 +307,6 @@ public class DeleteHandlerTest extends AbstractTestBase {
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
+        assertCallBudget(4);
     }
 }
@@ -0,0 +1,115 @@
+package software.amazon.fsx.datarepositoryassociation;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryAssociation;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryLifecycle;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsResponse;
+import software.amazon.awssdk.services.fsx.model.EventType;
+import software.amazon.awssdk.services.fsx.model.S3DataRepositoryConfiguration;
+import software.amazon.awssdk.services.fsx.model.Tag;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DraSnapshotTest {
+    private static final Tag TAG1 = Tag.builder().key("key1").value("value1").build();
+    private static final Tag TAG2 = Tag.builder().key("key2").value("value2").build();
+
+    private static final DataRepositoryAssociation ASSOCIATION = DataRepositoryAssociation.builder()
+            .associationId("dra-0123456789abcdef0")
+            .resourceARN("arn:aws:fsx:us-east-1:123456789012:association/fs-0123456789abcdef0/dra-0123456789abcdef0")
+            .fileSystemId("fs-0123456789abcdef0")
+            .lifecycle(DataRepositoryLifecycle.AVAILABLE)
+            .importedFileChunkSize(1024)
+            .s3(S3DataRepositoryConfiguration.builder()
+                    .autoImportPolicy(software.amazon.awssdk.services.fsx.model.AutoImportPolicy.builder()
+                            .events(EventType.NEW, EventType.CHANGED)
+                            .build())
+                    .build())
+            .tags(TAG1, TAG2)
+            .build();
+
+    @Test
+    public void testOf() {
+        final DraSnapshot snapshot = DraSnapshot.of(ASSOCIATION, 42L);
+
+        assertThat(snapshot.getAssociationId()).isEqualTo(ASSOCIATION.associationId());
+        assertThat(snapshot.getLifecycle()).isEqualTo(DataRepositoryLifecycle.AVAILABLE);
+        assertThat(snapshot.getImportedFileChunkSize()).isEqualTo(1024);
+        assertThat(snapshot.getImportEvents().toEventNames())
+                .containsExactly(EventType.NEW.toString(), EventType.CHANGED.toString());
+        assertThat(snapshot.getExportEvents()).isNull();
+        assertThat(snapshot.getObservedAt()).isEqualTo(42L);
+        assertThat(snapshot.isIn(EnumSet.of(DataRepositoryLifecycle.AVAILABLE))).isTrue();
+        assertThat(snapshot.isIn(EnumSet.of(DataRepositoryLifecycle.FAILED))).isFalse();
+    }
+
+    @Test
+    public void testOf_DescribeResponse() {
+        assertThat(DraSnapshot.of(DescribeDataRepositoryAssociationsResponse.builder()
+                .associations(ASSOCIATION)
+                .build()).getAssociationId()).isEqualTo(ASSOCIATION.associationId());
+        assertThat(DraSnapshot.of(DescribeDataRepositoryAssociationsResponse.builder().build())).isNull();
+    }
+
+    @Test
+    public void testOf_MinimalAssociation() {
+        final DraSnapshot snapshot = DraSnapshot.of(DataRepositoryAssociation.builder().build(), 0L);
+
+        assertThat(snapshot.getLifecycle()).isNull();
+        assertThat(snapshot.getImportEvents()).isNull();
+        assertThat(snapshot.getExportEvents()).isNull();
+        assertThat(snapshot.isIn(EnumSet.allOf(DataRepositoryLifecycle.class))).isFalse();
+    }
+
+    @Test
+    public void testOf_UnknownLifecycle() {
+        final DraSnapshot snapshot = DraSnapshot.of(ASSOCIATION.toBuilder().lifecycle("RELEASING").build(), 0L);
+
+        assertThat(snapshot.getLifecycle()).isEqualTo(DataRepositoryLifecycle.UNKNOWN_TO_SDK_VERSION);
+        assertThat(snapshot).isNotEqualTo(DraSnapshot.of(ASSOCIATION.toBuilder().lifecycle("PAUSED").build(), 0L));
+        assertThat(snapshot.isIn(EnumSet.of(DataRepositoryLifecycle.AVAILABLE))).isFalse();
+    }
+
+    @Test
+    public void testShouldUpdate() {
+        final DraSnapshot snapshot = DraSnapshot.of(ASSOCIATION, 0L);
+        final S3 sameS3 = S3.builder()
+                .autoImportPolicy(AutoImportPolicy.builder()
+                        .events(new HashSet<>(Arrays.asList(EventType.CHANGED.toString(), EventType.NEW.toString())))
+                        .build())
+                .build();
+        final S3 otherS3 = S3.builder()
+                .autoImportPolicy(AutoImportPolicy.builder()
+                        .events(Collections.singleton(EventType.NEW.toString()))
+                        .build())
+                .autoExportPolicy(AutoExportPolicy.builder()
+                        .events(Collections.singleton(EventType.NEW.toString()))
+                        .build())
+                .build();
+        final S3 unknownS3 = S3.builder()
+                .autoImportPolicy(AutoImportPolicy.builder()
+                        .events(Collections.singleton("RENAMED"))
+                        .build())
+                .build();
+
+        assertThat(snapshot.shouldUpdateImportedFileChunkSize(1024)).isFalse();
+        assertThat(snapshot.shouldUpdateImportedFileChunkSize(2048)).isTrue();
+        assertThat(snapshot.shouldUpdateS3ImportPolicy(sameS3)).isFalse();
+        assertThat(snapshot.shouldUpdateS3ImportPolicy(otherS3)).isTrue();
+        assertThat(snapshot.shouldUpdateS3ImportPolicy(null)).isTrue();
+        assertThat(snapshot.shouldUpdateS3ImportPolicy(unknownS3)).isTrue();
+        assertThat(snapshot.shouldUpdateS3ExportPolicy(sameS3)).isFalse();
+        assertThat(snapshot.shouldUpdateS3ExportPolicy(otherS3)).isTrue();
+    }
+
+    @Test
+    public void testEquals() {
+        assertThat(DraSnapshot.of(ASSOCIATION, 1L)).isEqualTo(DraSnapshot.of(ASSOCIATION.toBuilder().build(), 1L));
+        assertThat(DraSnapshot.of(ASSOCIATION, 1L)).isNotEqualTo(DraSnapshot.of(ASSOCIATION, 2L));
+    }
+}
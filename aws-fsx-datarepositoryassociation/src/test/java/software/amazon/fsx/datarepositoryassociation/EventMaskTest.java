@@ -0,0 +1,55 @@
+package software.amazon.fsx.datarepositoryassociation;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.fsx.model.EventType;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class EventMaskTest {
+
+    @Test
+    public void testOf_NullEvents() {
+        assertThat(EventMask.of(null)).isNull();
+    }
+
+    @Test
+    public void testOf_EmptyEvents() {
+        final EventMask mask = EventMask.of(Collections.emptyList());
+
+        assertThat(mask).isSameAs(EventMask.fromBits(0));
+        assertThat(mask.toEventNames()).isEmpty();
+    }
+
+    @Test
+    public void testOf_SharedPerEvents() {
+        final EventMask mask = EventMask.of(Arrays.asList(EventType.DELETED.toString(), EventType.NEW.toString()));
+
+        assertThat(mask).isSameAs(EventMask.of(Arrays.asList(EventType.NEW.toString(), EventType.DELETED.toString(),
+                EventType.NEW.toString())));
+        assertThat(mask.hasUnknownEvents()).isFalse();
+        assertThat(mask.toEventNames()).containsExactly(EventType.NEW.toString(), EventType.DELETED.toString());
+        assertThat(mask.toString()).isEqualTo("[NEW, DELETED]");
+    }
+
+    @Test
+    public void testOf_UnknownEvents() {
+        final EventMask mask = EventMask.of(Arrays.asList(EventType.NEW.toString(), "RENAMED"));
+
+        assertThat(mask.hasUnknownEvents()).isTrue();
+        assertThat(mask.toEventNames()).containsExactly(EventType.NEW.toString());
+        assertThat(mask.toString()).isEqualTo("[NEW]+unknown");
+    }
+
+    @Test
+    public void testBits() {
+        for (int bits = 0; bits < 16; bits++) {
+            assertThat(EventMask.fromBits(bits).bits()).isEqualTo(bits);
+        }
+        assertThatThrownBy(() -> EventMask.fromBits(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EventMask.fromBits(16)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,104 @@
+package software.amazon.fsx.datarepositoryassociation;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A local stand-in for the Lambda custom runtime API that hands out queued events and collects the results.
+ */
+class FakeLambdaRuntimeApi implements AutoCloseable {
+    private static final long DEADLINE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+    private final BlockingQueue<String> results = new LinkedBlockingQueue<>();
+
+    FakeLambdaRuntimeApi() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/2018-06-01/runtime/invocation/", this::handle);
+        server.createContext("/2018-06-01/runtime/init/error", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * @return The host and port to set as {@code AWS_LAMBDA_RUNTIME_API}.
+     */
+    String getAddress() {
+        return "localhost:" + server.getAddress().getPort();
+    }
+
+    void invoke(final String event) {
+        events.add(event);
+    }
+
+    /**
+     * @return The next result, prefixed with "response:", "error:" or "init-error:", or null if none arrived in time.
+     */
+    String awaitResult(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return results.poll(timeout, unit);
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        final String path = exchange.getRequestURI().getPath();
+        try {
+            if (path.endsWith("/next")) {
+                final String event = events.poll(DEADLINE_MILLIS, TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    exchange.sendResponseHeaders(500, -1);
+                    return;
+                }
+                exchange.getResponseHeaders().add("Lambda-Runtime-Aws-Request-Id", UUID.randomUUID().toString());
+                exchange.getResponseHeaders().add("Lambda-Runtime-Deadline-Ms",
+                        String.valueOf(System.currentTimeMillis() + DEADLINE_MILLIS));
+                exchange.getResponseHeaders().add("Lambda-Runtime-Invoked-Function-Arn",
+                        "arn:aws:lambda:us-east-1:123456789012:function:local");
+                final byte[] body = event.getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(body);
+                }
+            } else {
+                final String kind = path.endsWith("/init/error") ? "init-error:"
+                        : path.endsWith("/error") ? "error:" : "response:";
+                results.add(kind + read(exchange.getRequestBody()));
+                exchange.sendResponseHeaders(202, -1);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static String read(final InputStream inputStream) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1024];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            output.write(buffer, 0, read);
+        }
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -1,13 +1,22 @@
 package software.amazon.fsx.datarepositoryassociation;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
 import org.mockito.ArgumentMatchers;
+import software.amazon.awssdk.services.fsx.FSxAsyncClient;
+import software.amazon.awssdk.services.fsx.FSxClient;
 import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsRequest;
 import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsResponse;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
-import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,23 +25,38 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
-public class ListHandlerTest {
+public class ListHandlerTest extends AbstractTestBase {
 
     @Mock
     private AmazonWebServicesClientProxy proxy;
 
     @Mock
-    private Logger logger;
+    private ProxyClient<FSxClient> proxyClient;
+
+    @Mock
+    FSxClient fsxClient;
 
     @BeforeEach
     public void setup() {
-        proxy = mock(AmazonWebServicesClientProxy.class);
-        logger = mock(Logger.class);
+        proxy = new AmazonWebServicesClientProxy(logger,
+            MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis(),
+            FAST_DELAY_FACTORY);
+        fsxClient = mock(FSxClient.class);
+        proxyClient = mockProxy(proxy, fsxClient);
+    }
+
+    @AfterEach
+    public void tear_down() {
+        verifyNoMoreInteractions(fsxClient);
     }
 
     @Test
@@ -52,15 +76,14 @@ public class ListHandlerTest {
                 .build();
 
         //Strict argument matching doesn't work because requestOverrideConfigs don't match.
-        when(proxy.injectCredentialsAndInvokeV2(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class),
-                ArgumentMatchers.any()))
+        when(fsxClient.describeDataRepositoryAssociations(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class)))
                 .thenReturn(describeResponse);
 
         final ProgressEvent<ResourceModel, CallbackContext> response =
-                handler.handleRequest(proxy, request, null, logger);
+                handler.handleRequest(proxy, request, null, proxyClient, logger);
 
-        verify(proxy, atLeastOnce()).injectCredentialsAndInvokeV2(
-                ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class), ArgumentMatchers.any());
+        verify(fsxClient, atLeastOnce()).describeDataRepositoryAssociations(
+                ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class));
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
@@ -71,5 +94,51 @@ public class ListHandlerTest {
         assertThat(response.getResourceModels()).isNotNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
+        assertThat(handler.hedgeDescribeCalls()).isFalse();
+        assertCallBudget(1);
+    }
+
+    @Test
+    public void handleRequest_ThroughEntryPoint() {
+        final ListHandler handler = new ListHandler();
+        final AmazonWebServicesClientProxy entryProxy = spy(proxy);
+        final FSxAsyncClient fsxAsyncClient = mock(FSxAsyncClient.class);
+        // The entry point asks the proxy for the blocking client first, then for the async one.
+        doReturn(proxyClient, mockAsyncProxy(proxy, fsxAsyncClient)).when(entryProxy).newProxy(ArgumentMatchers.any());
+        final List<String> logLines = new ArrayList<>();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+
+        when(fsxClient.describeDataRepositoryAssociations(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class)))
+                .thenReturn(DescribeDataRepositoryAssociationsResponse.builder().build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(entryProxy, request, null, logLines::add);
+
+        verify(fsxClient, atLeastOnce()).describeDataRepositoryAssociations(
+                ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class));
+        verifyNoInteractions(fsxAsyncClient);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(ledger.count("DescribeDataRepositoryAssociations")).isEqualTo(1);
+        assertCallBudget(1);
+
+        final JsonNode invocation = metricLine(logLines, "Handler", "List");
+        assertThat(invocation.at("/_aws/CloudWatchMetrics/0/Namespace").asText())
+                .isEqualTo(BaseHandlerStd.METRICS_NAMESPACE);
+        assertThat(invocation.get("ResourceType").asText()).isEqualTo(ResourceModel.TYPE_NAME);
+        assertThat(invocation.get("Calls").asInt()).isEqualTo(1);
+        assertThat(invocation.get("StabilizationPolls").asInt()).isEqualTo(0);
+        final JsonNode describe = metricLine(logLines,
+                "Handler", "List", "Operation", "DescribeDataRepositoryAssociations");
+        assertThat(describe.get("Calls").asInt()).isEqualTo(1);
+        assertThat(describe.get("Errors").asInt()).isEqualTo(0);
+        final JsonNode limiter = metricLineWith(logLines, "ConcurrencyLimit", "Handler", "List");
+        assertThat(limiter.get("ConcurrencyLimit").asInt()).isPositive();
+        assertThat(limiter.get("InFlight").asInt()).isEqualTo(0);
+        assertThat(limiter.get("QueueDepth").asInt()).isEqualTo(0);
+        assertThat(logLines).noneMatch(line -> line.contains("FSx concurrency limiter"));
     }
 }
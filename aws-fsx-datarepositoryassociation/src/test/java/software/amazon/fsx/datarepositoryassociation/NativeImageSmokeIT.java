@@ -0,0 +1,62 @@
+package software.amazon.fsx.datarepositoryassociation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.fsx.testsupport.LocalFsxEndpoint;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the native executable built by the {@code native} profile against a local runtime API and a local FSx
+ *  endpoint, and reads a DRA through the test entrypoint.
+ */
+public class NativeImageSmokeIT {
+    private LocalFsxEndpoint fsxEndpoint;
+    private FakeLambdaRuntimeApi runtimeApi;
+    private Process nativeImage;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        fsxEndpoint = ColdStartBenchmark.startFsxEndpoint();
+        runtimeApi = new FakeLambdaRuntimeApi();
+    }
+
+    @AfterEach
+    public void tear_down() {
+        if (nativeImage != null) {
+            nativeImage.destroyForcibly();
+        }
+        runtimeApi.close();
+        fsxEndpoint.close();
+    }
+
+    @Test
+    public void testRead() throws Exception {
+        final String nativeImagePath = System.getProperty("nativeImage");
+        assumeTrue(nativeImagePath != null && new File(nativeImagePath).canExecute(),
+                "The native image is only built by the native profile.");
+
+        final ProcessBuilder processBuilder = new ProcessBuilder(nativeImagePath).inheritIO();
+        processBuilder.environment().put("AWS_LAMBDA_RUNTIME_API", runtimeApi.getAddress());
+        processBuilder.environment().put("_HANDLER", ColdStartBenchmark.HANDLER);
+        processBuilder.environment().put(ClientBuilder.ENDPOINT_OVERRIDE_VARIABLE, fsxEndpoint.getEndpoint());
+        processBuilder.environment().put("AWS_REGION", "us-east-1");
+        nativeImage = processBuilder.start();
+
+        runtimeApi.invoke(new String(ColdStartBenchmark.prepareEvent(Paths.get("sam-tests", "read.json")),
+                StandardCharsets.UTF_8));
+
+        final String result = runtimeApi.awaitResult(1, TimeUnit.MINUTES);
+        assertThat(result).startsWith("response:");
+        assertThat(result).contains("\"status\":\"SUCCESS\"");
+        assertThat(result).contains(ColdStartBenchmark.ASSOCIATION_ID);
+    }
+}
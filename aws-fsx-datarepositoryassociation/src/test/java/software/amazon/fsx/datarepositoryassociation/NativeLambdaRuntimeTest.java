@@ -0,0 +1,105 @@
+package software.amazon.fsx.datarepositoryassociation;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class NativeLambdaRuntimeTest {
+    private static final String HANDLER_CLASS = "software.amazon.fsx.datarepositoryassociation.NativeLambdaRuntimeTest$TestHandler";
+    private static final String FAILING_HANDLER_CLASS = "software.amazon.fsx.datarepositoryassociation.NativeLambdaRuntimeTest$FailingHandler";
+
+    @Test
+    public void testResponse() throws Exception {
+        try (FakeLambdaRuntimeApi runtimeApi = new FakeLambdaRuntimeApi()) {
+            final NativeLambdaRuntime runtime = new NativeLambdaRuntime(runtimeApi.getAddress(),
+                    HANDLER_CLASS + "::echo");
+
+            runtimeApi.invoke("{\"action\":\"READ\"}");
+            runtime.processNextInvocation();
+
+            assertThat(runtimeApi.awaitResult(10, TimeUnit.SECONDS))
+                    .startsWith("response:{\"action\":\"READ\"}")
+                    .contains("remaining=true");
+        }
+    }
+
+    @Test
+    public void testError() throws Exception {
+        try (FakeLambdaRuntimeApi runtimeApi = new FakeLambdaRuntimeApi()) {
+            final NativeLambdaRuntime runtime = new NativeLambdaRuntime(runtimeApi.getAddress(),
+                    HANDLER_CLASS + "::fail");
+
+            runtimeApi.invoke("{}");
+            runtime.processNextInvocation();
+
+            assertThat(runtimeApi.awaitResult(10, TimeUnit.SECONDS))
+                    .isEqualTo("error:{\"errorMessage\":\"\\\"bad\\\" event\",\"errorType\":\"java.lang.IllegalStateException\"}");
+        }
+    }
+
+    @Test
+    public void testInvalidHandler() {
+        assertThatThrownBy(() -> new NativeLambdaRuntime("localhost:0", HANDLER_CLASS))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new NativeLambdaRuntime("localhost:0", HANDLER_CLASS + "::missing"))
+                .isInstanceOf(NoSuchMethodException.class);
+    }
+
+    @Test
+    public void testInitError() throws Exception {
+        try (FakeLambdaRuntimeApi runtimeApi = new FakeLambdaRuntimeApi()) {
+            assertThat(NativeLambdaRuntime.start(runtimeApi.getAddress(), HANDLER_CLASS + "::missing")).isNull();
+            assertThat(runtimeApi.awaitResult(10, TimeUnit.SECONDS))
+                    .startsWith("init-error:")
+                    .contains("\"errorType\":\"java.lang.NoSuchMethodException\"");
+
+            assertThat(NativeLambdaRuntime.start(runtimeApi.getAddress(), FAILING_HANDLER_CLASS + "::handle"))
+                    .isNull();
+            assertThat(runtimeApi.awaitResult(10, TimeUnit.SECONDS))
+                    .isEqualTo("init-error:{\"errorMessage\":\"no credentials\",\"errorType\":\"java.lang.IllegalStateException\"}");
+        }
+    }
+
+    @Test
+    public void testStart() throws Exception {
+        try (FakeLambdaRuntimeApi runtimeApi = new FakeLambdaRuntimeApi()) {
+            final NativeLambdaRuntime runtime = NativeLambdaRuntime.start(runtimeApi.getAddress(),
+                    HANDLER_CLASS + "::echo");
+
+            assertThat(runtime).isNotNull();
+            assertThat(runtimeApi.awaitResult(100, TimeUnit.MILLISECONDS)).isNull();
+        }
+    }
+
+    public static class TestHandler {
+        public void echo(final InputStream inputStream, final OutputStream outputStream, final Context context)
+                throws IOException {
+            int read;
+            while ((read = inputStream.read()) != -1) {
+                outputStream.write(read);
+            }
+            context.getLogger().log(context.getAwsRequestId());
+            outputStream.write(String.format(" remaining=%s", context.getRemainingTimeInMillis() > 0).getBytes());
+        }
+
+        public void fail(final InputStream inputStream, final OutputStream outputStream, final Context context) {
+            throw new IllegalStateException("\"bad\" event");
+        }
+    }
+
+    public static class FailingHandler {
+        public FailingHandler() {
+            throw new IllegalStateException("no credentials");
+        }
+
+        public void handle(final InputStream inputStream, final OutputStream outputStream, final Context context) {
+        }
+    }
+}
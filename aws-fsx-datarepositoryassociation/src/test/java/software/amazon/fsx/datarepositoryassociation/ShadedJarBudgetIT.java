@@ -0,0 +1,66 @@
+package software.amazon.fsx.datarepositoryassociation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.fsx.testsupport.LocalFsxEndpoint;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Keeps the shaded jar and the memory the handler needs in a warm container within budget. The function has 256 MB,
+ *  so every sam-tests event has to run with half of that as the heap limit.
+ */
+public class ShadedJarBudgetIT {
+    private static final long MAX_JAR_SIZE_BYTES = 45L * 1024 * 1024;
+    private static final String HEAP_LIMIT = "-Xmx128m";
+    private static final long MAX_STEADY_STATE_HEAP_BYTES = 64L * 1024 * 1024;
+    private static final int WARM_INVOCATIONS = 20;
+
+    private Path shadedJar;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        final String shadedJarPath = System.getProperty("shadedJar");
+        assumeTrue(shadedJarPath != null && Files.isRegularFile(Paths.get(shadedJarPath)),
+                "The shaded jar is only built by the package phase.");
+        shadedJar = Paths.get(shadedJarPath);
+    }
+
+    @Test
+    public void testJarSize() throws IOException {
+        assertThat(Files.size(shadedJar)).isLessThanOrEqualTo(MAX_JAR_SIZE_BYTES);
+    }
+
+    @Test
+    public void testSteadyStateHeap() throws Exception {
+        final Path events = Files.createTempDirectory("budget");
+        try (Stream<Path> eventFiles = Files.list(Paths.get("sam-tests"))) {
+            for (final Path event : eventFiles.filter(path -> path.toString().endsWith(".json")).sorted()
+                    .collect(Collectors.toList())) {
+                final Path preparedEvent = events.resolve(event.getFileName());
+                Files.write(preparedEvent, ColdStartBenchmark.prepareEvent(event));
+
+                final JsonNode result;
+                try (LocalFsxEndpoint fsxEndpoint = ColdStartBenchmark.startFsxEndpoint()) {
+                    result = ColdStartBenchmark.runProbe(shadedJar, preparedEvent, fsxEndpoint,
+                            Collections.singletonList(HEAP_LIMIT), WARM_INVOCATIONS);
+                }
+
+                assertThat(result.path("response").path("status").asText()).as(event.toString())
+                        .isEqualTo("SUCCESS");
+                assertThat(result.path("heapUsedSteadyStateBytes").asLong()).as(event.toString())
+                        .isLessThanOrEqualTo(MAX_STEADY_STATE_HEAP_BYTES);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package software.amazon.fsx.datarepositoryassociation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryLifecycle;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.fsx.testsupport.FakeFsxAsyncClient;
+import software.amazon.fsx.testsupport.FakeFsxClient;
+import software.amazon.fsx.testsupport.FsxSimulator;
+import software.amazon.fsx.testsupport.LatencyDistribution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the handlers through a whole create, update and delete against the in-memory FSx simulator, which moves the
+ *  association through its lifecycles on its own, instead of against responses scripted per test.
+ */
+public class SimulatedLifecycleTest extends AbstractTestBase {
+    private static final String FILE_SYSTEM_ID = "fs-0123456789abcdef0";
+
+    private AmazonWebServicesClientProxy proxy;
+    private FsxSimulator simulator;
+    private FakeFsxClient fsxClient;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger,
+                MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis(),
+                FAST_DELAY_FACTORY);
+        simulator = FsxSimulator.builder()
+                .fileSystems(FILE_SYSTEM_ID)
+                .apiLatency(LatencyDistribution.uniform(1, 3))
+                .createDuration(LatencyDistribution.fixed(50))
+                .updateDuration(LatencyDistribution.fixed(30))
+                .deleteDuration(LatencyDistribution.fixed(30))
+                .build();
+        fsxClient = new FakeFsxClient(simulator);
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    public void tear_down() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void handleRequest_CreateUpdateDelete() {
+        final ResourceModel model = ResourceModel.builder()
+                .fileSystemId(FILE_SYSTEM_ID)
+                .fileSystemPath("/ns1")
+                .dataRepositoryPath("s3://bucket/prefix")
+                .tags(new ArrayList<>())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> created = new CreateHandler().handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .clientRequestToken("token")
+                        .desiredResourceState(model)
+                        .build(),
+                new CallbackContext(), mockProxy(proxy, fsxClient), logger);
+
+        assertThat(created.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        final String associationId = created.getResourceModel().getAssociationId();
+        assertThat(simulator.lifecycleOf(associationId)).isEqualTo(DataRepositoryLifecycle.AVAILABLE);
+        assertThat(ledger.count("DescribeDataRepositoryAssociations")).isGreaterThan(1);
+        ledger.clear();
+
+        final ResourceModel desired = ResourceModel.builder()
+                .associationId(associationId)
+                .resourceARN(created.getResourceModel().getResourceARN())
+                .fileSystemId(FILE_SYSTEM_ID)
+                .fileSystemPath("/ns1")
+                .dataRepositoryPath("s3://bucket/prefix")
+                .batchImportMetaDataOnCreate(created.getResourceModel().getBatchImportMetaDataOnCreate())
+                .importedFileChunkSize(2048)
+                .tags(new ArrayList<>())
+                .build();
+        final ProgressEvent<ResourceModel, CallbackContext> updated = new UpdateHandler().handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .previousResourceState(created.getResourceModel())
+                        .desiredResourceState(desired)
+                        .build(),
+                new CallbackContext(), mockProxy(proxy, fsxClient),
+                mockAsyncProxy(proxy, new FakeFsxAsyncClient(fsxClient, executor)), logger);
+
+        assertThat(updated.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(updated.getResourceModel().getImportedFileChunkSize()).isEqualTo(2048);
+        assertCallBudget("UpdateDataRepositoryAssociation", 1);
+        ledger.clear();
+
+        final ProgressEvent<ResourceModel, CallbackContext> deleted = new DeleteHandler().handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(updated.getResourceModel())
+                        .build(),
+                new CallbackContext(), mockProxy(proxy, fsxClient), logger);
+
+        assertThat(deleted.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(simulator.lifecycleOf(associationId)).isNull();
+        assertCallBudget("DeleteDataRepositoryAssociation", 1);
+    }
+}
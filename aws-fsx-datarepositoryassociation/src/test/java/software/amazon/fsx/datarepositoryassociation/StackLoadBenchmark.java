@@ -0,0 +1,413 @@
+package software.amazon.fsx.datarepositoryassociation;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import software.amazon.awssdk.services.fsx.FSxAsyncClient;
+import software.amazon.awssdk.services.fsx.FSxClient;
+import software.amazon.cloudformation.exceptions.BaseHandlerException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.DelayFactory;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.proxy.WaitStrategy;
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.fsx.common.client.CallLedger;
+import software.amazon.fsx.common.client.ProxyClientChain;
+import software.amazon.fsx.testsupport.FakeFsxAsyncClient;
+import software.amazon.fsx.testsupport.FakeFsxClient;
+import software.amazon.fsx.testsupport.FsxSimulator;
+import software.amazon.fsx.testsupport.LatencyDistribution;
+import software.amazon.fsx.testsupport.VirtualClock;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Drives waves of concurrent create, update and delete handler invocations, one per association, against an
+ *  {@link FsxSimulator} that works through the associations of each file system one at a time, as a stack of many
+ *  associations does. It plays CloudFormation's part: an invocation runs until its time budget is spent, and an
+ *  IN_PROGRESS event is re-invoked after its callback delay with the context serialized and read back.
+ *
+ * <p>Everything runs on a {@link VirtualClock}, service latencies, handler back-offs and callback delays alike, so a
+ *  wave of two hundred associations that takes hours finishes in seconds. The simulator's seed fixes what the service
+ *  does; the handlers' jittered callback delays and the order the threads run in still vary the result a little.
+ *  The handlers are invoked without the container-wide limiters, since each invocation of a wave would run in its own
+ *  container. For every wave it reports the makespan, the handler invocations, the API calls and throttled calls,
+ *  and the p50 and p99 time for an association to settle. Run it with {@code mvn -Pstack-load verify}.
+ */
+final class StackLoadBenchmark {
+    private static final Credentials CREDENTIALS = new Credentials("accessKey", "secretKey", "token");
+    private static final LoggerProxy PROXY_LOGGER = new LoggerProxy();
+    private static final Logger LOGGER = message -> { };
+    // How long one invocation may poll before it hands back to CloudFormation, as the Lambda timeout would make it.
+    private static final long DEFAULT_INVOCATION_MILLIS = Duration.ofMinutes(1).toMillis();
+    // How long CloudFormation waits before it retries an invocation that failed with a retryable error.
+    private static final long RETRY_DELAY_MILLIS = Duration.ofSeconds(5).toMillis();
+    private static final int UPDATED_CHUNK_SIZE = 2048;
+
+    private final FsxSimulator simulator;
+    private final VirtualClock clock;
+    private final DelayFactory delayFactory;
+    private final long invocationMillis;
+    private final FakeFsxClient fsxClient;
+    private final CallLedger ledger = new CallLedger();
+    private final Serializer serializer = new Serializer();
+
+    /**
+     * @param simulator The simulator, running on the clock.
+     * @param clock The clock everything waits on.
+     * @param delayFactory The back-off the proxy uses where a handler doesn't set its own.
+     * @param invocationMillis How long one invocation may poll before it hands back to CloudFormation.
+     */
+    StackLoadBenchmark(final FsxSimulator simulator,
+                       final VirtualClock clock,
+                       final DelayFactory delayFactory,
+                       final long invocationMillis) {
+        this.simulator = simulator;
+        this.clock = clock;
+        this.delayFactory = delayFactory;
+        this.invocationMillis = invocationMillis;
+        this.fsxClient = new FakeFsxClient(simulator);
+    }
+
+    /**
+     * @param args The number of associations, the number of file systems they are spread over, and optionally the
+     *  FSx API calls per second allowed before throttling, 5 by default.
+     */
+    public static void main(final String[] args) throws InterruptedException, ExecutionException {
+        final int associations = Integer.parseInt(args[0]);
+        final int fileSystems = Integer.parseInt(args[1]);
+        final double callsPerSecond = args.length > 2 ? Double.parseDouble(args[2]) : 5.0;
+
+        final VirtualClock clock = new VirtualClock();
+        final FsxSimulator simulator = FsxSimulator.builder()
+                .clock(clock)
+                .fileSystems(fileSystemIds(fileSystems))
+                .apiLatency(LatencyDistribution.uniform(50, 200))
+                .createDuration(LatencyDistribution.logNormal(Duration.ofMinutes(5).toMillis(), 0.3))
+                .updateDuration(LatencyDistribution.logNormal(Duration.ofMinutes(2).toMillis(), 0.3))
+                .deleteDuration(LatencyDistribution.logNormal(Duration.ofMinutes(3).toMillis(), 0.3))
+                .throttling(2 * callsPerSecond, callsPerSecond)
+                .build();
+        final StackLoadBenchmark benchmark = new StackLoadBenchmark(simulator, clock,
+                DelayFactory.CONSTANT_DEFAULT_DELAY_FACTORY, DEFAULT_INVOCATION_MILLIS);
+
+        System.out.println(String.format("%d associations over %d file systems, %.1f calls per second", associations,
+                fileSystems, callsPerSecond));
+        System.out.println(Wave.HEADER);
+        final Wave created = benchmark.create(associations, fileSystems);
+        System.out.println(created);
+        final Wave updated = benchmark.update(created.getModels());
+        System.out.println(updated);
+        System.out.println(benchmark.delete(updated.getModels()));
+    }
+
+    /**
+     * Creates associations, spread round robin over the file systems.
+     */
+    Wave create(final int associations, final int fileSystems) throws InterruptedException, ExecutionException {
+        final String[] fileSystemIds = fileSystemIds(fileSystems);
+        final List<ResourceHandlerRequest<ResourceModel>> requests = new ArrayList<>(associations);
+        for (int i = 0; i < associations; i++) {
+            requests.add(ResourceHandlerRequest.<ResourceModel>builder()
+                    .clientRequestToken("token-" + i)
+                    .desiredResourceState(ResourceModel.builder()
+                            .fileSystemId(fileSystemIds[i % fileSystems])
+                            .fileSystemPath("/ns" + i)
+                            .dataRepositoryPath("s3://bucket/prefix" + i)
+                            .tags(new ArrayList<>())
+                            .build())
+                    .build());
+        }
+        return run("create", requests, CreateHandler::new);
+    }
+
+    /**
+     * Changes the chunk size and the auto-import events of the associations, two updates each.
+     */
+    Wave update(final List<ResourceModel> models) throws InterruptedException, ExecutionException {
+        final List<ResourceHandlerRequest<ResourceModel>> requests = new ArrayList<>(models.size());
+        for (final ResourceModel model : models) {
+            requests.add(ResourceHandlerRequest.<ResourceModel>builder()
+                    .previousResourceState(model)
+                    .desiredResourceState(ResourceModel.builder()
+                            .associationId(model.getAssociationId())
+                            .resourceARN(model.getResourceARN())
+                            .fileSystemId(model.getFileSystemId())
+                            .fileSystemPath(model.getFileSystemPath())
+                            .dataRepositoryPath(model.getDataRepositoryPath())
+                            .batchImportMetaDataOnCreate(model.getBatchImportMetaDataOnCreate())
+                            .importedFileChunkSize(UPDATED_CHUNK_SIZE)
+                            .s3(S3.builder()
+                                    .autoImportPolicy(AutoImportPolicy.builder()
+                                            .events(new HashSet<>(Arrays.asList("NEW", "CHANGED")))
+                                            .build())
+                                    .build())
+                            .tags(model.getTags())
+                            .build())
+                    .build());
+        }
+        return run("update", requests, UpdateHandler::new);
+    }
+
+    Wave delete(final List<ResourceModel> models) throws InterruptedException, ExecutionException {
+        final List<ResourceHandlerRequest<ResourceModel>> requests = new ArrayList<>(models.size());
+        for (final ResourceModel model : models) {
+            requests.add(ResourceHandlerRequest.<ResourceModel>builder()
+                    .desiredResourceState(model)
+                    .build());
+        }
+        return run("delete", requests, DeleteHandler::new);
+    }
+
+    /**
+     * Starts every request at once and waits until each one succeeded or failed.
+     */
+    private Wave run(final String name,
+                     final List<ResourceHandlerRequest<ResourceModel>> requests,
+                     final Supplier<BaseHandlerStd> handlers) throws InterruptedException, ExecutionException {
+        final int callsBefore = simulator.getCalls();
+        final int throttledBefore = simulator.getThrottledCalls();
+        ledger.clear();
+        final long startedAt = clock.millis();
+        final ExecutorService executor = Executors.newFixedThreadPool(requests.size());
+        final List<Future<Outcome>> futures = new ArrayList<>(requests.size());
+        try {
+            // Holds the clock until every request is counted on, so the first to sleep can't move it on its own.
+            clock.enter();
+            try {
+                for (final ResourceHandlerRequest<ResourceModel> request : requests) {
+                    clock.enter();
+                    futures.add(executor.submit(() -> {
+                        try {
+                            return invoke(request, handlers);
+                        } finally {
+                            clock.leave();
+                        }
+                    }));
+                }
+            } finally {
+                clock.leave();
+            }
+            final Wave wave = new Wave(name, requests.size());
+            for (final Future<Outcome> future : futures) {
+                wave.add(future.get(), startedAt);
+            }
+            wave.finish(clock.millis() - startedAt,
+                    simulator.getCalls() - callsBefore,
+                    simulator.getThrottledCalls() - throttledBefore,
+                    ledger.countByOperation());
+            return wave;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Invokes a handler for a request, and re-invokes it as CloudFormation would until it succeeds or fails.
+     */
+    private Outcome invoke(final ResourceHandlerRequest<ResourceModel> request,
+                           final Supplier<BaseHandlerStd> handlers) throws IOException {
+        CallbackContext context = new CallbackContext();
+        int invocations = 0;
+        while (true) {
+            invocations++;
+            final AmazonWebServicesClientProxy proxy = new AmazonWebServicesClientProxy(PROXY_LOGGER, CREDENTIALS,
+                    delayFactory, waitStrategy(clock.millis()));
+            final ProxyClient<FSxClient> proxyClient =
+                    ProxyClientChain.around(proxy.<FSxClient>newProxy(() -> fsxClient)).instrument(ledger).build();
+            final ProxyClient<FSxAsyncClient> asyncProxyClient = ProxyClientChain.around(
+                    proxy.<FSxAsyncClient>newProxy(() -> new FakeFsxAsyncClient(fsxClient, Runnable::run)))
+                    .instrument(ledger)
+                    .build();
+
+            ProgressEvent<ResourceModel, CallbackContext> event;
+            try {
+                event = handlers.get().handleRequest(proxy, request, context, proxyClient, asyncProxyClient, LOGGER);
+            } catch (final BaseHandlerException exception) {
+                event = ProgressEvent.defaultFailureHandler(exception, exception.getErrorCode());
+            }
+
+            if (event.getStatus() == OperationStatus.IN_PROGRESS) {
+                clock.sleep(event.getCallbackDelaySeconds() * 1000L);
+                // CloudFormation hands back the model and the context as the last event left them.
+                if (event.getResourceModel() != null) {
+                    request.setDesiredResourceState(event.getResourceModel());
+                }
+                context = serializer.deserialize(serializer.serialize(event.getCallbackContext()),
+                        new TypeReference<CallbackContext>() { });
+            } else if (event.getStatus() == OperationStatus.FAILED
+                    && event.getErrorCode() == HandlerErrorCode.Throttling) {
+                clock.sleep(RETRY_DELAY_MILLIS);
+            } else {
+                return new Outcome(event, clock.millis(), invocations);
+            }
+        }
+    }
+
+    /**
+     * Polls within the invocation while its budget allows the next wait, and otherwise hands back to CloudFormation
+     *  with the wait as callback delay.
+     * @param invokedAt When the invocation started.
+     */
+    private WaitStrategy waitStrategy(final long invokedAt) {
+        return new WaitStrategy() {
+            @Override
+            public <ModelT, CallbackT> ProgressEvent<ModelT, CallbackT> await(final long operationElapsedTime,
+                                                                              final Duration nextAttempt,
+                                                                              final CallbackT context,
+                                                                              final ModelT model) {
+                if (clock.millis() - invokedAt + nextAttempt.toMillis() < invocationMillis) {
+                    clock.sleep(nextAttempt.toMillis());
+                    return null;
+                }
+                return ProgressEvent.defaultInProgressHandler(context,
+                        (int) Math.max(1, nextAttempt.getSeconds()), model);
+            }
+        };
+    }
+
+    private static String[] fileSystemIds(final int fileSystems) {
+        final String[] fileSystemIds = new String[fileSystems];
+        for (int i = 0; i < fileSystems; i++) {
+            fileSystemIds[i] = String.format("fs-%017x", i);
+        }
+        return fileSystemIds;
+    }
+
+    /**
+     * How the invocations of one association ended.
+     */
+    private static final class Outcome {
+        private final ProgressEvent<ResourceModel, CallbackContext> event;
+        private final long endedAt;
+        private final int invocations;
+
+        Outcome(final ProgressEvent<ResourceModel, CallbackContext> event, final long endedAt, final int invocations) {
+            this.event = event;
+            this.endedAt = endedAt;
+            this.invocations = invocations;
+        }
+    }
+
+    /**
+     * The result of a wave.
+     */
+    static final class Wave {
+        static final String HEADER = String.format("%-8s %6s %6s %12s %11s %7s %9s %12s %12s", "wave", "DRAs",
+                "failed", "makespan", "invocations", "calls", "throttled", "p50 settle", "p99 settle");
+
+        private final String name;
+        private final int associations;
+        private final List<Long> settleMillis = new ArrayList<>();
+        private final List<ResourceModel> models = new ArrayList<>();
+        private final Map<String, Integer> failures = new TreeMap<>();
+        private int failed;
+        private int invocations;
+        private long makespanMillis;
+        private int calls;
+        private int throttledCalls;
+        private Map<String, Integer> callsByOperation = Collections.emptyMap();
+
+        Wave(final String name, final int associations) {
+            this.name = name;
+            this.associations = associations;
+        }
+
+        void add(final Outcome outcome, final long startedAt) {
+            invocations += outcome.invocations;
+            if (outcome.event.getStatus() == OperationStatus.SUCCESS) {
+                settleMillis.add(outcome.endedAt - startedAt);
+                models.add(outcome.event.getResourceModel());
+            } else {
+                failed++;
+                failures.merge(String.valueOf(outcome.event.getErrorCode()), 1, Integer::sum);
+            }
+        }
+
+        void finish(final long makespanMillis,
+                    final int calls,
+                    final int throttledCalls,
+                    final Map<String, Integer> callsByOperation) {
+            this.makespanMillis = makespanMillis;
+            this.calls = calls;
+            this.throttledCalls = throttledCalls;
+            this.callsByOperation = callsByOperation;
+            Collections.sort(settleMillis);
+        }
+
+        /**
+         * @return The models of the associations that succeeded, as the handler returned them.
+         */
+        List<ResourceModel> getModels() {
+            return models;
+        }
+
+        int getFailed() {
+            return failed;
+        }
+
+        /**
+         * @return The number of associations that failed, by error code.
+         */
+        Map<String, Integer> getFailures() {
+            return failures;
+        }
+
+        int getInvocations() {
+            return invocations;
+        }
+
+        long getMakespanMillis() {
+            return makespanMillis;
+        }
+
+        int getCalls() {
+            return calls;
+        }
+
+        int getThrottledCalls() {
+            return throttledCalls;
+        }
+
+        Map<String, Integer> getCallsByOperation() {
+            return callsByOperation;
+        }
+
+        /**
+         * @param percentile A percentile between 0 and 1.
+         * @return The time it took that share of the associations that succeeded to settle, in milliseconds.
+         */
+        long settleMillis(final double percentile) {
+            if (settleMillis.isEmpty()) {
+                return 0;
+            }
+            return settleMillis.get((int) Math.min(settleMillis.size() - 1, Math.floor(percentile * settleMillis.size())));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-8s %6d %6d %10.1f s %11d %7d %9d %10.1f s %10.1f s%n  calls: %s%s", name,
+                    associations, failed, makespanMillis / 1000.0, invocations, calls, throttledCalls,
+                    settleMillis(0.5) / 1000.0, settleMillis(0.99) / 1000.0, callsByOperation,
+                    failures.isEmpty() ? "" : String.format("%n  failures: %s", failures));
+        }
+    }
+}
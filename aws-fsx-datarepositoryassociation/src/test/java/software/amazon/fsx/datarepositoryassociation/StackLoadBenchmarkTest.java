@@ -0,0 +1,75 @@
+package software.amazon.fsx.datarepositoryassociation;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.DelayFactory;
+import software.amazon.fsx.testsupport.FsxSimulator;
+import software.amazon.fsx.testsupport.LatencyDistribution;
+import software.amazon.fsx.testsupport.VirtualClock;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StackLoadBenchmarkTest {
+    private static final long CREATE_MILLIS = Duration.ofMinutes(1).toMillis();
+
+    @Test
+    public void testWaves() throws InterruptedException, ExecutionException {
+        final VirtualClock clock = new VirtualClock();
+        final FsxSimulator simulator = simulator(clock).build();
+        final StackLoadBenchmark benchmark = new StackLoadBenchmark(simulator, clock,
+                DelayFactory.CONSTANT_DEFAULT_DELAY_FACTORY, Duration.ofMinutes(1).toMillis());
+
+        final StackLoadBenchmark.Wave created = benchmark.create(6, 2);
+        assertThat(created.getFailed()).isEqualTo(0);
+        assertThat(created.getModels()).hasSize(6);
+        assertThat(created.getCallsByOperation().get("CreateDataRepositoryAssociation")).isEqualTo(6);
+        assertThat(created.getThrottledCalls()).isEqualTo(0);
+        // Each file system creates its three associations one after the other.
+        assertThat(created.getMakespanMillis()).isGreaterThanOrEqualTo(3 * CREATE_MILLIS);
+        assertThat(created.settleMillis(0.5)).isGreaterThanOrEqualTo(2 * CREATE_MILLIS);
+        assertThat(created.settleMillis(0.99)).isEqualTo(created.getMakespanMillis());
+        // The last association to settle outlasts an invocation, so CloudFormation re-invokes its handler.
+        assertThat(created.getInvocations()).isGreaterThan(6);
+
+        final StackLoadBenchmark.Wave updated = benchmark.update(created.getModels());
+        assertThat(updated.getFailed()).isEqualTo(0);
+        for (final ResourceModel model : updated.getModels()) {
+            assertThat(model.getImportedFileChunkSize()).isEqualTo(2048);
+        }
+
+        final StackLoadBenchmark.Wave deleted = benchmark.delete(updated.getModels());
+        assertThat(deleted.getFailed()).isEqualTo(0);
+        for (final ResourceModel model : created.getModels()) {
+            assertThat(simulator.lifecycleOf(model.getAssociationId())).isNull();
+        }
+        assertThat(deleted.getCalls()).isEqualTo(deleted.getCallsByOperation().values().stream()
+                .mapToInt(Integer::intValue)
+                .sum());
+    }
+
+    @Test
+    public void testWaves_Throttled() throws InterruptedException, ExecutionException {
+        final VirtualClock clock = new VirtualClock();
+        final FsxSimulator simulator = simulator(clock).throttling(2, 0.2).build();
+        final StackLoadBenchmark benchmark = new StackLoadBenchmark(simulator, clock,
+                DelayFactory.CONSTANT_DEFAULT_DELAY_FACTORY, Duration.ofMinutes(1).toMillis());
+
+        final StackLoadBenchmark.Wave created = benchmark.create(6, 2);
+
+        assertThat(created.getThrottledCalls()).isGreaterThan(0);
+        assertThat(created.getFailed()).isEqualTo(0);
+        assertThat(created.getModels()).hasSize(6);
+    }
+
+    private static FsxSimulator.Builder simulator(final VirtualClock clock) {
+        return FsxSimulator.builder()
+                .clock(clock)
+                .fileSystems(String.format("fs-%017x", 0), String.format("fs-%017x", 1))
+                .apiLatency(LatencyDistribution.fixed(100))
+                .createDuration(LatencyDistribution.fixed(CREATE_MILLIS))
+                .updateDuration(LatencyDistribution.fixed(Duration.ofSeconds(30).toMillis()))
+                .deleteDuration(LatencyDistribution.fixed(Duration.ofSeconds(30).toMillis()));
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.fsx.common.handler.TagDiff;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -138,4 +139,61 @@ public class TagHelperTest {
         assertThat(tags.get(tag1.getKey())).isEqualTo(tag1.getValue());
         assertThat(tags.get(tag2.getKey())).isEqualTo(tag2.getValue());
     }
+
+    @Test
+    public void testGetTags_DoNotModifyRequestTags() {
+        final Tag tag = Tag.builder()
+                .key(/*key*/ "key1")
+                .value(/*value*/ "value1")
+                .build();
+        final ResourceModel model = ResourceModel.builder()
+                .tags(Collections.singletonList(tag))
+                .build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceTags(new HashMap<>())
+                .previousResourceState(model)
+                .desiredResourceTags(new HashMap<>())
+                .desiredResourceState(model)
+                .build();
+
+        assertThat(TagHelper.getPreviouslyAttachedTags(request)).containsEntry(tag.getKey(), tag.getValue());
+        assertThat(TagHelper.getNewDesiredTags(model, request)).containsEntry(tag.getKey(), tag.getValue());
+        assertThat(request.getPreviousResourceTags()).isEmpty();
+        assertThat(request.getDesiredResourceTags()).isEmpty();
+    }
+
+    @Test
+    public void testDiffTags() {
+        final Map<String, String> previousResourceTags = new HashMap<>();
+        previousResourceTags.put("stackKey", "stackValue");
+        previousResourceTags.put("removedStackKey", "value");
+        final Map<String, String> desiredResourceTags = new HashMap<>();
+        desiredResourceTags.put("stackKey", "stackValue");
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceTags(previousResourceTags)
+                .previousResourceState(ResourceModel.builder()
+                        .tags(Collections.singletonList(Tag.builder().key("key").value("before").build()))
+                        .build())
+                .desiredResourceTags(desiredResourceTags)
+                .desiredResourceState(ResourceModel.builder()
+                        .tags(Collections.singletonList(Tag.builder().key("key").value("after").build()))
+                        .build())
+                .build();
+
+        final TagDiff tagDiff = TagHelper.diffTags(request);
+        assertThat(tagDiff.getAddedTags()).isEmpty();
+        assertThat(tagDiff.getChangedTags()).containsOnlyKeys("key").containsEntry("key", "after");
+        assertThat(tagDiff.getRemovedTagKeys()).containsExactly("removedStackKey");
+        assertThat(request.getPreviousResourceTags()).hasSize(2);
+        assertThat(request.getDesiredResourceTags()).hasSize(1);
+    }
+
+    @Test
+    public void testDiffTags_NullStates() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .build();
+
+        assertThat(TagHelper.diffTags(request).isEmpty()).isTrue();
+    }
 }
@@ -16,7 +16,6 @@ import software.amazon.awssdk.services.fsx.model.Tag;
 import software.amazon.awssdk.services.fsx.model.TagResourceRequest;
 import software.amazon.awssdk.services.fsx.model.UntagResourceRequest;
 import software.amazon.awssdk.services.fsx.model.UpdateDataRepositoryAssociationRequest;
-import software.amazon.fsx.common.handler.Tagging;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -41,9 +40,7 @@ public class TranslatorTest {
                 .value(/*value*/ "scientist")
                 .build();
 
-        final Tagging.TagSet allTags = Tagging.TagSet.builder()
-                .resourceTags(Collections.singleton(tag))
-                .build();
+        final List<Tag> allTags = Collections.singletonList(tag);
 
         final S3 s3 = S3.builder()
                 .autoImportPolicy(AutoImportPolicy.builder()
@@ -103,7 +100,7 @@ public class TranslatorTest {
                 .build();
 
         final CreateDataRepositoryAssociationRequest createRequest = Translator.translateToCreateRequest(model,
-                /*TagSet*/ null,
+                /*tags*/ null,
                 clientToken);
 
         assertThat(createRequest.fileSystemId()).isEqualTo(model.getFileSystemId());
@@ -127,7 +124,7 @@ public class TranslatorTest {
                 .build();
 
         final CreateDataRepositoryAssociationRequest createRequest = Translator.translateToCreateRequest(model,
-                Tagging.TagSet.builder().build(),
+                Collections.emptyList(),
                 clientToken);
 
         assertThat(createRequest.fileSystemId()).isEqualTo(model.getFileSystemId());
@@ -397,6 +394,38 @@ public class TranslatorTest {
         assertThat(Translator.shouldUpdateS3ImportPolicy(oldS3, newS3)).isTrue();
     }
 
+    @Test
+    public void testShouldUpdateS3ImportPolicy_NullAndEmptyEvents() {
+        final S3 nullEventsS3 = S3.builder()
+                .autoImportPolicy(AutoImportPolicy.builder().build())
+                .build();
+        final S3 emptyEventsS3 = S3.builder()
+                .autoImportPolicy(AutoImportPolicy.builder()
+                        .events(Collections.emptySet())
+                        .build())
+                .build();
+
+        assertThat(Translator.shouldUpdateS3ImportPolicy(nullEventsS3, /*newS3*/ null)).isFalse();
+        assertThat(Translator.shouldUpdateS3ImportPolicy(emptyEventsS3, nullEventsS3)).isTrue();
+    }
+
+    @Test
+    public void testShouldUpdateS3ImportPolicy_UnknownEvents() {
+        final S3 oldS3 = S3.builder()
+                .autoImportPolicy(AutoImportPolicy.builder()
+                        .events(Collections.singleton("RENAMED"))
+                        .build())
+                .build();
+        final S3 newS3 = S3.builder()
+                .autoImportPolicy(AutoImportPolicy.builder()
+                        .events(Collections.singleton("MOVED"))
+                        .build())
+                .build();
+
+        assertThat(Translator.shouldUpdateS3ImportPolicy(oldS3, newS3)).isTrue();
+        assertThat(Translator.shouldUpdateS3ImportPolicy(oldS3, oldS3)).isFalse();
+    }
+
     @Test
     public void testUpdateS3ImportPolicy_NullConfig() {
         final ResourceModel model = ResourceModel.builder()
@@ -795,6 +824,22 @@ public class TranslatorTest {
         assertThat(actualS3Model).isNull();
     }
 
+    @Test
+    public void testConvertS3SDKToModel_UnknownEvents() {
+        final S3DataRepositoryConfiguration sdkS3 = S3DataRepositoryConfiguration.builder()
+                .autoExportPolicy(software.amazon.awssdk.services.fsx.model.AutoExportPolicy.builder()
+                        .eventsWithStrings(EventType.NEW.toString(), "RENAMED")
+                        .build())
+                .build();
+
+        final S3 actualS3Model = Translator.convertS3SDKToModel(DataRepositoryAssociation.builder()
+                .s3(sdkS3)
+                .build());
+
+        assertThat(actualS3Model.getAutoExportPolicy().getEvents())
+                .containsExactlyInAnyOrder(EventType.NEW.toString(), "RENAMED");
+    }
+
     @Test
     public void testConvertS3SDKToModel_NullPolicies() {
         final S3DataRepositoryConfiguration sdkS3 = S3DataRepositoryConfiguration.builder()
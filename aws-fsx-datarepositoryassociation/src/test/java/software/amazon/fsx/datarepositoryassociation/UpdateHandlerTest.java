@@ -1,10 +1,16 @@
 package software.amazon.fsx.datarepositoryassociation;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.fasterxml.jackson.databind.JsonNode;
 
 import org.mockito.ArgumentMatchers;
+import software.amazon.awssdk.services.fsx.FSxAsyncClient;
 import software.amazon.awssdk.services.fsx.FSxClient;
 import software.amazon.awssdk.services.fsx.model.DataRepositoryAssociation;
 import software.amazon.awssdk.services.fsx.model.DataRepositoryLifecycle;
@@ -34,7 +40,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -53,6 +61,9 @@ public class UpdateHandlerTest extends AbstractTestBase {
     @Mock
     FSxClient fsxClient;
 
+    private FSxAsyncClient fsxAsyncClient;
+    private ProxyClient<FSxAsyncClient> asyncProxyClient;
+
     private boolean checkServiceName;
     private String associationId;
     private ResourceHandlerRequest<ResourceModel> request;
@@ -68,6 +79,8 @@ public class UpdateHandlerTest extends AbstractTestBase {
             FAST_DELAY_FACTORY);
         fsxClient = mock(FSxClient.class);
         proxyClient = mockProxy(proxy, fsxClient);
+        fsxAsyncClient = mock(FSxAsyncClient.class);
+        asyncProxyClient = mockAsyncProxy(proxy, fsxAsyncClient);
         associationId = "dra-12345678";
         checkServiceName = true;
     }
@@ -77,7 +90,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
         if (checkServiceName) {
             verify(fsxClient, atLeastOnce()).serviceName();
         }
-        verifyNoMoreInteractions(fsxClient);
+        verifyNoMoreInteractions(fsxClient, fsxAsyncClient);
     }
 
     @Test
@@ -97,8 +110,9 @@ public class UpdateHandlerTest extends AbstractTestBase {
 
         checkServiceName = false;
 
-        assertThatThrownBy(() -> handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger))
+        assertThatThrownBy(() -> handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, asyncProxyClient, logger))
                 .isInstanceOf(CfnNotFoundException.class);
+        assertCallBudget(0);
     }
 
     @Test
@@ -114,8 +128,9 @@ public class UpdateHandlerTest extends AbstractTestBase {
 
         checkServiceName = false;
 
-        assertThatThrownBy(() -> handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger))
+        assertThatThrownBy(() -> handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, asyncProxyClient, logger))
                 .isInstanceOf(CfnNotFoundException.class);
+        assertCallBudget(0);
     }
 
     @Test
@@ -142,7 +157,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
                 .thenReturn(DescribeDataRepositoryAssociationsResponse.builder().build());
 
         final ProgressEvent<ResourceModel, CallbackContext> response =
-                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, asyncProxyClient, logger);
 
         verify(fsxClient, times(/*wantedNumberOfInvocations*/ 1)).describeDataRepositoryAssociations(
                 ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class));
@@ -154,6 +169,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNotNull();
         assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+        assertCallBudget(1);
     }
 
     @Test
@@ -186,7 +202,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
                 .thenReturn(UpdateDataRepositoryAssociationResponse.builder().build());
 
         final ProgressEvent<ResourceModel, CallbackContext> response =
-                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, asyncProxyClient, logger);
 
         verify(fsxClient, times(/*wantedNumberOfInvocations*/ 5)).describeDataRepositoryAssociations(
                 ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class));
@@ -195,6 +211,101 @@ public class UpdateHandlerTest extends AbstractTestBase {
                 ArgumentMatchers.any(UpdateDataRepositoryAssociationRequest.class));
 
         commonAssertions(response);
+        assertCallBudget(6);
+    }
+
+    @Test
+    public void handleRequest_ResumesAfterCompletedStep() {
+        final UpdateHandler handler = new UpdateHandler();
+
+        final ResourceModel prevModel = ResourceModel.builder()
+                .associationId(associationId)
+                .resourceARN(associationId)
+                .importedFileChunkSize(/*importedFileChunkSize*/ 2048)
+                .build();
+
+        final ResourceModel newModel = ResourceModel.builder()
+                .associationId(associationId)
+                .resourceARN(associationId)
+                .tags(Collections.emptyList())
+                .importedFileChunkSize(/*importedFileChunkSize*/ 4096)
+                .build();
+
+        updateCommonVariables(prevModel, newModel);
+
+        //Strict argument matching doesn't work because requestOverrideConfigs don't match.
+        when(fsxClient.describeDataRepositoryAssociations(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class)))
+                .thenReturn(availableDescribeResponsePreUpdate)
+                .thenReturn(updatingDescribeResponse)
+                .thenReturn(availableDescribeResponsePostUpdate);
+
+        when(fsxClient.updateDataRepositoryAssociation(ArgumentMatchers.any(UpdateDataRepositoryAssociationRequest.class)))
+                .thenReturn(UpdateDataRepositoryAssociationResponse.builder().build());
+
+        // An earlier invocation already checked that the association exists.
+        final CallbackContext callbackContext = CallbackContext.builder()
+                .step(Step.PRE_UPDATE_CHECK)
+                .startedAt(1L)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, callbackContext, proxyClient, asyncProxyClient, logger);
+
+        verify(fsxClient, times(/*wantedNumberOfInvocations*/ 4)).describeDataRepositoryAssociations(
+                ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class));
+
+        verify(fsxClient, times(/*wantedNumberOfInvocations*/ 1)).updateDataRepositoryAssociation(
+                ArgumentMatchers.any(UpdateDataRepositoryAssociationRequest.class));
+
+        commonAssertions(response);
+        assertThat(callbackContext.getStep()).isEqualTo(Step.UPDATE_TAGS);
+        assertThat(callbackContext.getStartedAt()).isEqualTo(1L);
+        assertThat(callbackContext.getUpdatedAt()).isGreaterThan(1L);
+        assertCallBudget(5);
+    }
+
+    @Test
+    public void handleRequest_ResumesStabilization() {
+        final UpdateHandler handler = new UpdateHandler();
+
+        final ResourceModel prevModel = ResourceModel.builder()
+                .associationId(associationId)
+                .resourceARN(associationId)
+                .importedFileChunkSize(/*importedFileChunkSize*/ 2048)
+                .build();
+
+        final ResourceModel newModel = ResourceModel.builder()
+                .associationId(associationId)
+                .resourceARN(associationId)
+                .tags(Collections.emptyList())
+                .importedFileChunkSize(/*importedFileChunkSize*/ 4096)
+                .build();
+
+        updateCommonVariables(prevModel, newModel);
+
+        //Strict argument matching doesn't work because requestOverrideConfigs don't match.
+        when(fsxClient.describeDataRepositoryAssociations(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class)))
+                .thenReturn(updatingDescribeResponse)
+                .thenReturn(availableDescribeResponsePostUpdate);
+
+        // An earlier invocation passed the pre-check and made the update call.
+        final CallbackContext callbackContext = CallbackContext.builder()
+                .step(Step.PRE_UPDATE_CHECK)
+                .preCheckPassed(true)
+                .stabilizing(Step.UPDATE_CHUNK_SIZE)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, callbackContext, proxyClient, asyncProxyClient, logger);
+
+        // Two stabilization polls and the read; neither the pre-check describe nor the update is repeated.
+        verify(fsxClient, times(/*wantedNumberOfInvocations*/ 3)).describeDataRepositoryAssociations(
+                ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class));
+
+        commonAssertions(response);
+        assertThat(callbackContext.getStabilizing()).isNull();
+        assertThat(callbackContext.getAssociation().isIn(UpdateHandler.UPDATE_AVAILABLE_LIFECYCLES)).isTrue();
+        assertCallBudget(3);
     }
 
     @Test
@@ -230,7 +341,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
                 .thenReturn(UpdateDataRepositoryAssociationResponse.builder().build());
 
         final ProgressEvent<ResourceModel, CallbackContext> response =
-                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, asyncProxyClient, logger);
 
         verify(fsxClient, times(/*wantedNumberOfInvocations*/ 5)).describeDataRepositoryAssociations(
                 ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class));
@@ -239,6 +350,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
                 ArgumentMatchers.any(UpdateDataRepositoryAssociationRequest.class));
 
         commonAssertions(response);
+        assertCallBudget(6);
     }
 
     @Test
@@ -274,7 +386,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
                 .thenReturn(UpdateDataRepositoryAssociationResponse.builder().build());
 
         final ProgressEvent<ResourceModel, CallbackContext> response =
-                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, asyncProxyClient, logger);
 
         verify(fsxClient, times(/*wantedNumberOfInvocations*/ 5)).describeDataRepositoryAssociations(
                 ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class));
@@ -283,6 +395,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
                 ArgumentMatchers.any(UpdateDataRepositoryAssociationRequest.class));
 
         commonAssertions(response);
+        assertCallBudget(6);
     }
 
     @Test
@@ -318,19 +431,20 @@ public class UpdateHandlerTest extends AbstractTestBase {
                 .thenReturn(availableDescribeResponsePreUpdate)
                 .thenReturn(availableDescribeResponsePostUpdate);
 
-        when(fsxClient.tagResource(ArgumentMatchers.any(TagResourceRequest.class)))
-                .thenReturn(TagResourceResponse.builder().build());
+        when(fsxAsyncClient.tagResource(ArgumentMatchers.any(TagResourceRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(TagResourceResponse.builder().build()));
 
         final ProgressEvent<ResourceModel, CallbackContext> response =
-                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, asyncProxyClient, logger);
 
         verify(fsxClient, times(/*wantedNumberOfInvocations*/ 3)).describeDataRepositoryAssociations(
                 ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class));
 
-        verify(fsxClient, times(/*wantedNumberOfInvocations*/ 1)).tagResource(
+        verify(fsxAsyncClient, times(/*wantedNumberOfInvocations*/ 1)).tagResource(
                 ArgumentMatchers.any(TagResourceRequest.class));
 
         commonAssertions(response);
+        assertCallBudget(4);
     }
 
     @Test
@@ -366,19 +480,20 @@ public class UpdateHandlerTest extends AbstractTestBase {
                 .thenReturn(availableDescribeResponsePreUpdate)
                 .thenReturn(availableDescribeResponsePostUpdate);
 
-        when(fsxClient.untagResource(ArgumentMatchers.any(UntagResourceRequest.class)))
-                .thenReturn(UntagResourceResponse.builder().build());
+        when(fsxAsyncClient.untagResource(ArgumentMatchers.any(UntagResourceRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(UntagResourceResponse.builder().build()));
 
         final ProgressEvent<ResourceModel, CallbackContext> response =
-                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, asyncProxyClient, logger);
 
         verify(fsxClient, times(/*wantedNumberOfInvocations*/ 3)).describeDataRepositoryAssociations(
                 ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class));
 
-        verify(fsxClient, times(/*wantedNumberOfInvocations*/ 1)).untagResource(
+        verify(fsxAsyncClient, times(/*wantedNumberOfInvocations*/ 1)).untagResource(
                 ArgumentMatchers.any(UntagResourceRequest.class));
 
         commonAssertions(response);
+        assertCallBudget(4);
     }
 
     @Test
@@ -419,25 +534,26 @@ public class UpdateHandlerTest extends AbstractTestBase {
         when(fsxClient.describeDataRepositoryAssociations(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class)))
                 .thenReturn(availableDescribeResponsePostUpdate);
 
-        when(fsxClient.tagResource(ArgumentMatchers.any(TagResourceRequest.class)))
-                .thenReturn(TagResourceResponse.builder().build());
+        when(fsxAsyncClient.tagResource(ArgumentMatchers.any(TagResourceRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(TagResourceResponse.builder().build()));
 
-        when(fsxClient.untagResource(ArgumentMatchers.any(UntagResourceRequest.class)))
-                .thenReturn(UntagResourceResponse.builder().build());
+        when(fsxAsyncClient.untagResource(ArgumentMatchers.any(UntagResourceRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(UntagResourceResponse.builder().build()));
 
         final ProgressEvent<ResourceModel, CallbackContext> response =
-                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, asyncProxyClient, logger);
 
-        verify(fsxClient, times(/*wantedNumberOfInvocations*/ 10)).describeDataRepositoryAssociations(
+        verify(fsxClient, times(/*wantedNumberOfInvocations*/ 9)).describeDataRepositoryAssociations(
                 ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class));
 
-        verify(fsxClient, times(/*wantedNumberOfInvocations*/ 1)).tagResource(
+        verify(fsxAsyncClient, times(/*wantedNumberOfInvocations*/ 1)).tagResource(
                 ArgumentMatchers.any(TagResourceRequest.class));
 
-        verify(fsxClient, times(/*wantedNumberOfInvocations*/ 1)).untagResource(
+        verify(fsxAsyncClient, times(/*wantedNumberOfInvocations*/ 1)).untagResource(
                 ArgumentMatchers.any(UntagResourceRequest.class));
 
         commonAssertions(response);
+        assertCallBudget(11);
     }
 
     @Test
@@ -490,28 +606,155 @@ public class UpdateHandlerTest extends AbstractTestBase {
         when(fsxClient.updateDataRepositoryAssociation(ArgumentMatchers.any(UpdateDataRepositoryAssociationRequest.class)))
                 .thenReturn(UpdateDataRepositoryAssociationResponse.builder().build());
 
-        when(fsxClient.tagResource(ArgumentMatchers.any(TagResourceRequest.class)))
-                .thenReturn(TagResourceResponse.builder().build());
+        when(fsxAsyncClient.tagResource(ArgumentMatchers.any(TagResourceRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(TagResourceResponse.builder().build()));
 
-        when(fsxClient.untagResource(ArgumentMatchers.any(UntagResourceRequest.class)))
-                .thenReturn(UntagResourceResponse.builder().build());
+        when(fsxAsyncClient.untagResource(ArgumentMatchers.any(UntagResourceRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(UntagResourceResponse.builder().build()));
 
         final ProgressEvent<ResourceModel, CallbackContext> response =
-                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, asyncProxyClient, logger);
 
-        verify(fsxClient, times(/*wantedNumberOfInvocations*/ 13)).describeDataRepositoryAssociations(
+        verify(fsxClient, times(/*wantedNumberOfInvocations*/ 12)).describeDataRepositoryAssociations(
                 ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class));
 
         verify(fsxClient, times(/*wantedNumberOfInvocations*/ 3)).updateDataRepositoryAssociation(
                 ArgumentMatchers.any(UpdateDataRepositoryAssociationRequest.class));
 
-        verify(fsxClient, times(/*wantedNumberOfInvocations*/ 1)).tagResource(
+        verify(fsxAsyncClient, times(/*wantedNumberOfInvocations*/ 1)).tagResource(
+                ArgumentMatchers.any(TagResourceRequest.class));
+
+        verify(fsxAsyncClient, times(/*wantedNumberOfInvocations*/ 1)).untagResource(
+                ArgumentMatchers.any(UntagResourceRequest.class));
+
+        commonAssertions(response);
+        assertCallBudget("UpdateDataRepositoryAssociation", 3);
+        assertCallBudget(17);
+    }
+
+    @Test
+    public void handleRequest_ReplaceTags() {
+        final UpdateHandler handler = new UpdateHandler();
+
+        final ResourceModel prevModel = ResourceModel.builder()
+                .associationId(associationId)
+                .resourceARN(associationId)
+                .tags(Collections.singletonList(Tag.builder()
+                        .key(/*key*/ "key")
+                        .value(/*value*/ "odd eye")
+                        .build()))
+                .build();
+
+        final ResourceModel newModel = ResourceModel.builder()
+                .associationId(associationId)
+                .resourceARN(associationId)
+                .tags(Collections.singletonList(Tag.builder()
+                        .key(/*key*/ "key2")
+                        .value(/*value*/ "wind")
+                        .build()))
+                .build();
+
+        updateCommonVariables(prevModel, newModel);
+
+        //Strict argument matching doesn't work because requestOverrideConfigs don't match.
+        when(fsxClient.describeDataRepositoryAssociations(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class)))
+                .thenReturn(availableDescribeResponsePreUpdate)
+                .thenReturn(availableDescribeResponsePreUpdate)
+                .thenReturn(availableDescribeResponsePostUpdate);
+
+        when(fsxAsyncClient.tagResource(ArgumentMatchers.any(TagResourceRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(TagResourceResponse.builder().build()));
+
+        when(fsxAsyncClient.untagResource(ArgumentMatchers.any(UntagResourceRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(UntagResourceResponse.builder().build()));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, asyncProxyClient, logger);
+
+        verify(fsxClient, times(/*wantedNumberOfInvocations*/ 3)).describeDataRepositoryAssociations(
+                ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class));
+
+        verify(fsxAsyncClient, times(/*wantedNumberOfInvocations*/ 1)).tagResource(
+                ArgumentMatchers.any(TagResourceRequest.class));
+
+        verify(fsxAsyncClient, times(/*wantedNumberOfInvocations*/ 1)).untagResource(
+                ArgumentMatchers.any(UntagResourceRequest.class));
+
+        commonAssertions(response);
+        assertCallBudget(5);
+    }
+
+    @Test
+    public void handleRequest_ThroughEntryPoint() {
+        final UpdateHandler handler = new UpdateHandler();
+        final AmazonWebServicesClientProxy entryProxy = spy(proxy);
+        // The entry point asks the proxy for the blocking client first, then for the async one.
+        doReturn(proxyClient, asyncProxyClient).when(entryProxy).newProxy(ArgumentMatchers.any());
+        final List<String> logLines = new ArrayList<>();
+
+        final ResourceModel prevModel = ResourceModel.builder()
+                .associationId(associationId)
+                .resourceARN(associationId)
+                .tags(Collections.singletonList(Tag.builder()
+                        .key(/*key*/ "key")
+                        .value(/*value*/ "odd eye")
+                        .build()))
+                .build();
+
+        final ResourceModel newModel = ResourceModel.builder()
+                .associationId(associationId)
+                .resourceARN(associationId)
+                .tags(Collections.singletonList(Tag.builder()
+                        .key(/*key*/ "key2")
+                        .value(/*value*/ "wind")
+                        .build()))
+                .build();
+
+        updateCommonVariables(prevModel, newModel);
+
+        //Strict argument matching doesn't work because requestOverrideConfigs don't match.
+        when(fsxClient.describeDataRepositoryAssociations(ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class)))
+                .thenReturn(availableDescribeResponsePreUpdate)
+                .thenReturn(availableDescribeResponsePreUpdate)
+                .thenReturn(availableDescribeResponsePostUpdate);
+
+        when(fsxAsyncClient.tagResource(ArgumentMatchers.any(TagResourceRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(TagResourceResponse.builder().build()));
+
+        when(fsxAsyncClient.untagResource(ArgumentMatchers.any(UntagResourceRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(UntagResourceResponse.builder().build()));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(entryProxy, request, new CallbackContext(), logLines::add);
+
+        verify(fsxClient, times(/*wantedNumberOfInvocations*/ 3)).describeDataRepositoryAssociations(
+                ArgumentMatchers.any(DescribeDataRepositoryAssociationsRequest.class));
+
+        verify(fsxAsyncClient, times(/*wantedNumberOfInvocations*/ 1)).tagResource(
                 ArgumentMatchers.any(TagResourceRequest.class));
 
-        verify(fsxClient, times(/*wantedNumberOfInvocations*/ 1)).untagResource(
+        verify(fsxAsyncClient, times(/*wantedNumberOfInvocations*/ 1)).untagResource(
                 ArgumentMatchers.any(UntagResourceRequest.class));
 
         commonAssertions(response);
+        assertThat(ledger.count("DescribeDataRepositoryAssociations")).isEqualTo(3);
+        assertThat(ledger.count("TagResource")).isEqualTo(1);
+        assertThat(ledger.count("UntagResource")).isEqualTo(1);
+        assertCallBudget(5);
+
+        // The async calls are counted by the invocation's metrics as well as the blocking ones.
+        assertThat(metricLine(logLines, "Handler", "Update").get("Calls").asInt()).isEqualTo(5);
+        assertThat(metricLine(logLines, "Handler", "Update", "Operation", "DescribeDataRepositoryAssociations")
+                .get("Calls").asInt()).isEqualTo(3);
+        assertThat(metricLine(logLines, "Handler", "Update", "Operation", "TagResource")
+                .get("Calls").asInt()).isEqualTo(1);
+        assertThat(metricLine(logLines, "Handler", "Update", "Operation", "UntagResource")
+                .get("Calls").asInt()).isEqualTo(1);
+        final JsonNode limiter = metricLineWith(logLines, "ConcurrencyLimit", "Handler", "Update");
+        assertThat(limiter.get("ConcurrencyLimit").asInt()).isPositive();
+        assertThat(limiter.get("InFlight").asInt()).isEqualTo(0);
+        assertThat(limiter.get("QueueDepth").asInt()).isEqualTo(0);
+        assertThat(logLines).noneMatch(line -> line.contains("FSx concurrency limiter"));
     }
 
     private void updateCommonVariables(final ResourceModel prevModel,
@@ -0,0 +1,79 @@
+package software.amazon.fsx.testsupport;
+
+import software.amazon.awssdk.services.fsx.FSxAsyncClient;
+import software.amazon.awssdk.services.fsx.model.CreateDataRepositoryAssociationRequest;
+import software.amazon.awssdk.services.fsx.model.CreateDataRepositoryAssociationResponse;
+import software.amazon.awssdk.services.fsx.model.DeleteDataRepositoryAssociationRequest;
+import software.amazon.awssdk.services.fsx.model.DeleteDataRepositoryAssociationResponse;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsRequest;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsResponse;
+import software.amazon.awssdk.services.fsx.model.TagResourceRequest;
+import software.amazon.awssdk.services.fsx.model.TagResourceResponse;
+import software.amazon.awssdk.services.fsx.model.UntagResourceRequest;
+import software.amazon.awssdk.services.fsx.model.UntagResourceResponse;
+import software.amazon.awssdk.services.fsx.model.UpdateDataRepositoryAssociationRequest;
+import software.amazon.awssdk.services.fsx.model.UpdateDataRepositoryAssociationResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * An {@link FSxAsyncClient} running the calls of a {@link FakeFsxClient} on an executor. Failures complete the future
+ *  exceptionally, wrapped in a CompletionException, as the SDK's do.
+ */
+public final class FakeFsxAsyncClient implements FSxAsyncClient {
+    private final FakeFsxClient client;
+    private final Executor executor;
+
+    /**
+     * @param client The client to run the calls of.
+     * @param executor The executor to run them on.
+     */
+    public FakeFsxAsyncClient(final FakeFsxClient client, final Executor executor) {
+        this.client = client;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<CreateDataRepositoryAssociationResponse> createDataRepositoryAssociation(
+            final CreateDataRepositoryAssociationRequest request) {
+        return CompletableFuture.supplyAsync(() -> client.createDataRepositoryAssociation(request), executor);
+    }
+
+    @Override
+    public CompletableFuture<DescribeDataRepositoryAssociationsResponse> describeDataRepositoryAssociations(
+            final DescribeDataRepositoryAssociationsRequest request) {
+        return CompletableFuture.supplyAsync(() -> client.describeDataRepositoryAssociations(request), executor);
+    }
+
+    @Override
+    public CompletableFuture<UpdateDataRepositoryAssociationResponse> updateDataRepositoryAssociation(
+            final UpdateDataRepositoryAssociationRequest request) {
+        return CompletableFuture.supplyAsync(() -> client.updateDataRepositoryAssociation(request), executor);
+    }
+
+    @Override
+    public CompletableFuture<DeleteDataRepositoryAssociationResponse> deleteDataRepositoryAssociation(
+            final DeleteDataRepositoryAssociationRequest request) {
+        return CompletableFuture.supplyAsync(() -> client.deleteDataRepositoryAssociation(request), executor);
+    }
+
+    @Override
+    public CompletableFuture<TagResourceResponse> tagResource(final TagResourceRequest request) {
+        return CompletableFuture.supplyAsync(() -> client.tagResource(request), executor);
+    }
+
+    @Override
+    public CompletableFuture<UntagResourceResponse> untagResource(final UntagResourceRequest request) {
+        return CompletableFuture.supplyAsync(() -> client.untagResource(request), executor);
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,98 @@
+package software.amazon.fsx.testsupport;
+
+import software.amazon.awssdk.services.fsx.FSxClient;
+import software.amazon.awssdk.services.fsx.model.CreateDataRepositoryAssociationRequest;
+import software.amazon.awssdk.services.fsx.model.CreateDataRepositoryAssociationResponse;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryAssociation;
+import software.amazon.awssdk.services.fsx.model.DeleteDataRepositoryAssociationRequest;
+import software.amazon.awssdk.services.fsx.model.DeleteDataRepositoryAssociationResponse;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsRequest;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsResponse;
+import software.amazon.awssdk.services.fsx.model.TagResourceRequest;
+import software.amazon.awssdk.services.fsx.model.TagResourceResponse;
+import software.amazon.awssdk.services.fsx.model.UntagResourceRequest;
+import software.amazon.awssdk.services.fsx.model.UntagResourceResponse;
+import software.amazon.awssdk.services.fsx.model.UpdateDataRepositoryAssociationRequest;
+import software.amazon.awssdk.services.fsx.model.UpdateDataRepositoryAssociationResponse;
+
+import java.util.List;
+
+/**
+ * An {@link FSxClient} backed by an {@link FsxSimulator}, for the data repository association and tagging operations.
+ *  Every other operation throws {@link UnsupportedOperationException}, as the SDK's defaults do.
+ */
+public final class FakeFsxClient implements FSxClient {
+    private final FsxSimulator simulator;
+
+    public FakeFsxClient(final FsxSimulator simulator) {
+        this.simulator = simulator;
+    }
+
+    public FsxSimulator getSimulator() {
+        return simulator;
+    }
+
+    @Override
+    public CreateDataRepositoryAssociationResponse createDataRepositoryAssociation(
+            final CreateDataRepositoryAssociationRequest request) {
+        simulator.admit();
+        return CreateDataRepositoryAssociationResponse.builder()
+                .association(simulator.create(request))
+                .build();
+    }
+
+    @Override
+    public DescribeDataRepositoryAssociationsResponse describeDataRepositoryAssociations(
+            final DescribeDataRepositoryAssociationsRequest request) {
+        simulator.admit();
+        final List<DataRepositoryAssociation> associations = simulator.describe(request);
+        return DescribeDataRepositoryAssociationsResponse.builder()
+                .associations(FsxSimulator.page(request, associations))
+                .nextToken(FsxSimulator.nextToken(request, associations))
+                .build();
+    }
+
+    @Override
+    public UpdateDataRepositoryAssociationResponse updateDataRepositoryAssociation(
+            final UpdateDataRepositoryAssociationRequest request) {
+        simulator.admit();
+        return UpdateDataRepositoryAssociationResponse.builder()
+                .association(simulator.update(request))
+                .build();
+    }
+
+    @Override
+    public DeleteDataRepositoryAssociationResponse deleteDataRepositoryAssociation(
+            final DeleteDataRepositoryAssociationRequest request) {
+        simulator.admit();
+        final DataRepositoryAssociation association = simulator.delete(request);
+        return DeleteDataRepositoryAssociationResponse.builder()
+                .associationId(association.associationId())
+                .lifecycle(association.lifecycle())
+                .deleteDataInFileSystem(request.deleteDataInFileSystem())
+                .build();
+    }
+
+    @Override
+    public TagResourceResponse tagResource(final TagResourceRequest request) {
+        simulator.admit();
+        simulator.tag(request);
+        return TagResourceResponse.builder().build();
+    }
+
+    @Override
+    public UntagResourceResponse untagResource(final UntagResourceRequest request) {
+        simulator.admit();
+        simulator.untag(request);
+        return UntagResourceResponse.builder().build();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+}
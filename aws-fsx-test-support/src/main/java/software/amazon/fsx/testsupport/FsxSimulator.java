@@ -0,0 +1,564 @@
+package software.amazon.fsx.testsupport;
+
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.fsx.model.AutoExportPolicy;
+import software.amazon.awssdk.services.fsx.model.AutoImportPolicy;
+import software.amazon.awssdk.services.fsx.model.BadRequestException;
+import software.amazon.awssdk.services.fsx.model.CreateDataRepositoryAssociationRequest;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryAssociation;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryAssociationNotFoundException;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryFailureDetails;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryLifecycle;
+import software.amazon.awssdk.services.fsx.model.DeleteDataRepositoryAssociationRequest;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsRequest;
+import software.amazon.awssdk.services.fsx.model.FSxException;
+import software.amazon.awssdk.services.fsx.model.FileSystemNotFoundException;
+import software.amazon.awssdk.services.fsx.model.Filter;
+import software.amazon.awssdk.services.fsx.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.fsx.model.S3DataRepositoryConfiguration;
+import software.amazon.awssdk.services.fsx.model.Tag;
+import software.amazon.awssdk.services.fsx.model.TagResourceRequest;
+import software.amazon.awssdk.services.fsx.model.UntagResourceRequest;
+import software.amazon.awssdk.services.fsx.model.UpdateDataRepositoryAssociationRequest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * An in-memory model of the FSx data repository association API, for running handlers and benchmarks through realistic
+ *  scenarios without the service.
+ * <p>
+ * Each association moves through its lifecycles as the service moves it: CREATING, UPDATING and DELETING last for the
+ *  configured durations and end in AVAILABLE, or in MISCONFIGURED or FAILED if the outcome function says so. A file
+ *  system processes one operation at a time, so operations on its associations queue behind each other. Every change is
+ *  kept on the association's timeline, and describes read it as of a moment up to the consistency lag ago, so a new
+ *  association may not be found yet and a finished update may still look in progress. Calls are throttled by a token
+ *  bucket and each takes the configured API latency.
+ * <p>
+ * All times come from the {@link SimulatorClock}: with a {@link ManualClock} and a seed, runs are deterministic.
+ */
+public final class FsxSimulator {
+    private static final String SERVICE_NAME = "FSx";
+    private static final String ARN_PREFIX = "arn:aws:fsx:us-east-1:123456789012:association/";
+    private static final int DEFAULT_IMPORTED_FILE_CHUNK_SIZE = 1024;
+    private static final int DEFAULT_MAX_RESULTS = 100;
+    private static final String FILE_SYSTEM_ID_FILTER = "file-system-id";
+    private static final Set<DataRepositoryLifecycle> UPDATABLE_LIFECYCLES =
+            EnumSet.of(DataRepositoryLifecycle.AVAILABLE, DataRepositoryLifecycle.MISCONFIGURED);
+
+    private final SimulatorClock clock;
+    private final Random random;
+    private final LatencyDistribution apiLatency;
+    private final LatencyDistribution createDuration;
+    private final LatencyDistribution updateDuration;
+    private final LatencyDistribution deleteDuration;
+    private final LatencyDistribution consistencyLag;
+    private final Function<DataRepositoryAssociation, DataRepositoryLifecycle> outcome;
+    private final double throttleBurst;
+    private final double throttleRatePerSecond;
+
+    private final Set<String> fileSystems = new HashSet<>();
+    // When each file system finishes the operations queued on it, in milliseconds.
+    private final Map<String, Long> fileSystemBusyUntil = new HashMap<>();
+    private final Map<String, Timeline> associations = new LinkedHashMap<>();
+    private final Map<String, String> associationIdsByToken = new HashMap<>();
+    private long nextAssociationNumber = 1;
+    private double throttleTokens;
+    private long throttleRefilledAt;
+    private int calls;
+    private int throttledCalls;
+
+    private FsxSimulator(final Builder builder) {
+        this.clock = builder.clock;
+        this.random = new Random(builder.seed);
+        this.apiLatency = builder.apiLatency;
+        this.createDuration = builder.createDuration;
+        this.updateDuration = builder.updateDuration;
+        this.deleteDuration = builder.deleteDuration;
+        this.consistencyLag = builder.consistencyLag;
+        this.outcome = builder.outcome;
+        this.throttleBurst = builder.throttleBurst;
+        this.throttleRatePerSecond = builder.throttleRatePerSecond;
+        this.throttleTokens = builder.throttleBurst;
+        this.throttleRefilledAt = builder.clock.millis();
+        this.fileSystems.addAll(builder.fileSystems);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public SimulatorClock getClock() {
+        return clock;
+    }
+
+    /**
+     * @param fileSystemId The ID of a file system associations can be created on.
+     * @return This simulator.
+     */
+    public synchronized FsxSimulator addFileSystem(final String fileSystemId) {
+        fileSystems.add(fileSystemId);
+        return this;
+    }
+
+    /**
+     * @return How many calls were made, throttled ones included.
+     */
+    public synchronized int getCalls() {
+        return calls;
+    }
+
+    /**
+     * @return How many calls were throttled.
+     */
+    public synchronized int getThrottledCalls() {
+        return throttledCalls;
+    }
+
+    /**
+     * @param associationId The ID of an association.
+     * @return Its lifecycle as of now, without the consistency lag, or null once it is deleted or if it never existed.
+     */
+    public synchronized DataRepositoryLifecycle lifecycleOf(final String associationId) {
+        final Timeline timeline = associations.get(associationId);
+        final DataRepositoryAssociation association = timeline == null ? null : timeline.at(clock.millis());
+        return association == null ? null : association.lifecycle();
+    }
+
+    /**
+     * Spends the latency of a call and takes a token for it, as every call does before the service processes it.
+     * @throws FSxException with the ThrottlingException error code if no token is left.
+     */
+    void admit() {
+        final long latency;
+        synchronized (this) {
+            calls++;
+            latency = apiLatency.sampleMillis(random);
+        }
+        clock.sleep(latency);
+        synchronized (this) {
+            final long now = clock.millis();
+            throttleTokens = Math.min(throttleBurst,
+                    throttleTokens + (now - throttleRefilledAt) * throttleRatePerSecond / 1000.0);
+            throttleRefilledAt = now;
+            if (throttleTokens < 1) {
+                throttledCalls++;
+                throw error(FSxException.builder(), "ThrottlingException", "Rate exceeded", 400);
+            }
+            throttleTokens--;
+        }
+    }
+
+    synchronized DataRepositoryAssociation create(final CreateDataRepositoryAssociationRequest request) {
+        final long now = clock.millis();
+        if (request.clientRequestToken() != null && associationIdsByToken.containsKey(request.clientRequestToken())) {
+            return associations.get(associationIdsByToken.get(request.clientRequestToken())).at(now);
+        }
+        if (!fileSystems.contains(request.fileSystemId())) {
+            throw error(FileSystemNotFoundException.builder(), "FileSystemNotFound",
+                    "File system '" + request.fileSystemId() + "' does not exist.", 400);
+        }
+        for (final Timeline timeline : associations.values()) {
+            final DataRepositoryAssociation existing = timeline.at(now);
+            if (existing != null
+                    && existing.fileSystemId().equals(request.fileSystemId())
+                    && existing.fileSystemPath().equals(request.fileSystemPath())) {
+                throw error(BadRequestException.builder(), "BadRequest",
+                        "File system path '" + request.fileSystemPath() + "' is already associated.", 400);
+            }
+        }
+
+        final String associationId = String.format("dra-%017x", nextAssociationNumber++);
+        final DataRepositoryAssociation creating = DataRepositoryAssociation.builder()
+                .associationId(associationId)
+                .resourceARN(ARN_PREFIX + request.fileSystemId() + "/" + associationId)
+                .fileSystemId(request.fileSystemId())
+                .fileSystemPath(request.fileSystemPath())
+                .dataRepositoryPath(request.dataRepositoryPath())
+                .importedFileChunkSize(request.importedFileChunkSize() != null
+                        ? request.importedFileChunkSize() : DEFAULT_IMPORTED_FILE_CHUNK_SIZE)
+                .batchImportMetaDataOnCreate(request.batchImportMetaDataOnCreate())
+                .s3(request.s3())
+                .tags(request.hasTags() ? request.tags() : Collections.emptyList())
+                .creationTime(Instant.ofEpochMilli(now))
+                .lifecycle(DataRepositoryLifecycle.CREATING)
+                .build();
+        final Timeline timeline = new Timeline();
+        timeline.append(now, creating);
+        timeline.append(finishAt(request.fileSystemId(), now, createDuration), settle(creating));
+        associations.put(associationId, timeline);
+        if (request.clientRequestToken() != null) {
+            associationIdsByToken.put(request.clientRequestToken(), associationId);
+        }
+        return creating;
+    }
+
+    synchronized List<DataRepositoryAssociation> describe(final DescribeDataRepositoryAssociationsRequest request) {
+        final long asOf = clock.millis() - consistencyLag.sampleMillis(random);
+        final List<DataRepositoryAssociation> described = new ArrayList<>();
+        if (request.hasAssociationIds()) {
+            for (final String associationId : request.associationIds()) {
+                final Timeline timeline = associations.get(associationId);
+                final DataRepositoryAssociation association = timeline == null ? null : timeline.at(asOf);
+                if (association == null) {
+                    throw notFound(associationId);
+                }
+                described.add(association);
+            }
+            return described;
+        }
+
+        final Set<String> fileSystemIds = new HashSet<>();
+        if (request.hasFilters()) {
+            for (final Filter filter : request.filters()) {
+                if (FILE_SYSTEM_ID_FILTER.equals(filter.nameAsString())) {
+                    fileSystemIds.addAll(filter.values());
+                }
+            }
+        }
+        for (final Timeline timeline : associations.values()) {
+            final DataRepositoryAssociation association = timeline.at(asOf);
+            if (association != null && (fileSystemIds.isEmpty() || fileSystemIds.contains(association.fileSystemId()))) {
+                described.add(association);
+            }
+        }
+        return described;
+    }
+
+    /**
+     * @param request The describe request.
+     * @param all Every association the request matches.
+     * @return The page the request's next token and max results select.
+     */
+    static List<DataRepositoryAssociation> page(final DescribeDataRepositoryAssociationsRequest request,
+                                                final List<DataRepositoryAssociation> all) {
+        final int from = request.nextToken() == null ? 0 : Integer.parseInt(request.nextToken());
+        final int size = request.maxResults() == null ? DEFAULT_MAX_RESULTS : request.maxResults();
+        return all.subList(Math.min(from, all.size()), Math.min(from + size, all.size()));
+    }
+
+    /**
+     * @param request The describe request.
+     * @param all Every association the request matches.
+     * @return The token of the page after the one the request selects, or null if it is the last.
+     */
+    static String nextToken(final DescribeDataRepositoryAssociationsRequest request,
+                            final List<DataRepositoryAssociation> all) {
+        final int from = request.nextToken() == null ? 0 : Integer.parseInt(request.nextToken());
+        final int size = request.maxResults() == null ? DEFAULT_MAX_RESULTS : request.maxResults();
+        return from + size < all.size() ? String.valueOf(from + size) : null;
+    }
+
+    synchronized DataRepositoryAssociation update(final UpdateDataRepositoryAssociationRequest request) {
+        final long now = clock.millis();
+        final Timeline timeline = current(request.associationId(), now);
+        final DataRepositoryAssociation current = timeline.at(now);
+        if (!UPDATABLE_LIFECYCLES.contains(current.lifecycle())) {
+            throw error(BadRequestException.builder(), "BadRequest", "Data repository association '"
+                    + request.associationId() + "' can't be updated while it is " + current.lifecycle() + ".", 400);
+        }
+
+        final S3DataRepositoryConfiguration s3 = current.s3();
+        AutoImportPolicy importPolicy = s3 == null ? null : s3.autoImportPolicy();
+        AutoExportPolicy exportPolicy = s3 == null ? null : s3.autoExportPolicy();
+        if (request.s3() != null && request.s3().autoImportPolicy() != null) {
+            importPolicy = request.s3().autoImportPolicy();
+        }
+        if (request.s3() != null && request.s3().autoExportPolicy() != null) {
+            exportPolicy = request.s3().autoExportPolicy();
+        }
+        final DataRepositoryAssociation updating = current.toBuilder()
+                .importedFileChunkSize(request.importedFileChunkSize() != null
+                        ? request.importedFileChunkSize() : current.importedFileChunkSize())
+                .s3(importPolicy == null && exportPolicy == null ? null : S3DataRepositoryConfiguration.builder()
+                        .autoImportPolicy(importPolicy)
+                        .autoExportPolicy(exportPolicy)
+                        .build())
+                .lifecycle(DataRepositoryLifecycle.UPDATING)
+                .failureDetails((DataRepositoryFailureDetails) null)
+                .build();
+        timeline.append(now, updating);
+        timeline.append(finishAt(current.fileSystemId(), now, updateDuration), settle(updating));
+        return updating;
+    }
+
+    synchronized DataRepositoryAssociation delete(final DeleteDataRepositoryAssociationRequest request) {
+        final long now = clock.millis();
+        final Timeline timeline = current(request.associationId(), now);
+        final DataRepositoryAssociation current = timeline.at(now);
+        if (current.lifecycle() == DataRepositoryLifecycle.DELETING) {
+            return current;
+        }
+        final DataRepositoryAssociation deleting = current.toBuilder()
+                .lifecycle(DataRepositoryLifecycle.DELETING)
+                .build();
+        timeline.append(now, deleting);
+        timeline.append(finishAt(current.fileSystemId(), now, deleteDuration), null);
+        return deleting;
+    }
+
+    synchronized void tag(final TagResourceRequest request) {
+        final Timeline timeline = ofArn(request.resourceARN());
+        final Map<String, String> added = new LinkedHashMap<>();
+        for (final Tag tag : request.tags()) {
+            added.put(tag.key(), tag.value());
+        }
+        timeline.retag(clock.millis(), tags -> tags.putAll(added));
+    }
+
+    synchronized void untag(final UntagResourceRequest request) {
+        final Timeline timeline = ofArn(request.resourceARN());
+        timeline.retag(clock.millis(), tags -> tags.keySet().removeAll(request.tagKeys()));
+    }
+
+    /**
+     * Queues an operation behind the ones already running on the file system.
+     * @return When the operation finishes, in milliseconds.
+     */
+    private long finishAt(final String fileSystemId, final long now, final LatencyDistribution duration) {
+        final long startAt = Math.max(now, fileSystemBusyUntil.getOrDefault(fileSystemId, now));
+        final long finishAt = startAt + duration.sampleMillis(random);
+        fileSystemBusyUntil.put(fileSystemId, finishAt);
+        return finishAt;
+    }
+
+    /**
+     * @param transitioning An association being created or updated.
+     * @return The association once the operation finishes, in the lifecycle the outcome function gives it.
+     */
+    private DataRepositoryAssociation settle(final DataRepositoryAssociation transitioning) {
+        final DataRepositoryLifecycle lifecycle = outcome.apply(transitioning);
+        final DataRepositoryAssociation.Builder settled = transitioning.toBuilder().lifecycle(lifecycle);
+        if (lifecycle == DataRepositoryLifecycle.FAILED || lifecycle == DataRepositoryLifecycle.MISCONFIGURED) {
+            settled.failureDetails(DataRepositoryFailureDetails.builder()
+                    .message("The simulated data repository is " + lifecycle + ".")
+                    .build());
+        }
+        return settled.build();
+    }
+
+    private Timeline current(final String associationId, final long now) {
+        final Timeline timeline = associations.get(associationId);
+        if (timeline == null || timeline.at(now) == null) {
+            throw notFound(associationId);
+        }
+        return timeline;
+    }
+
+    private Timeline ofArn(final String resourceArn) {
+        final long now = clock.millis();
+        for (final Timeline timeline : associations.values()) {
+            final DataRepositoryAssociation association = timeline.at(now);
+            if (association != null && association.resourceARN().equals(resourceArn)) {
+                return timeline;
+            }
+        }
+        throw error(ResourceNotFoundException.builder(), "ResourceNotFound",
+                "Resource '" + resourceArn + "' does not exist.", 400);
+    }
+
+    private static AwsServiceException notFound(final String associationId) {
+        return error(DataRepositoryAssociationNotFoundException.builder(), "DataRepositoryAssociationNotFound",
+                "Data repository association '" + associationId + "' does not exist.", 400);
+    }
+
+    private static AwsServiceException error(final AwsServiceException.Builder builder,
+                                             final String errorCode,
+                                             final String message,
+                                             final int statusCode) {
+        return builder.message(message)
+                .statusCode(statusCode)
+                .awsErrorDetails(AwsErrorDetails.builder()
+                        .errorCode(errorCode)
+                        .errorMessage(message)
+                        .serviceName(SERVICE_NAME)
+                        .build())
+                .build();
+    }
+
+    /**
+     * The states an association went and will go through, in time order. A null state means it no longer exists.
+     */
+    private static final class Timeline {
+        private final List<Long> times = new ArrayList<>();
+        private final List<DataRepositoryAssociation> states = new ArrayList<>();
+
+        void append(final long at, final DataRepositoryAssociation state) {
+            times.add(at);
+            states.add(state);
+        }
+
+        /**
+         * @param at A time in milliseconds.
+         * @return The state as of then, or null if the association didn't exist yet or no longer did.
+         */
+        DataRepositoryAssociation at(final long at) {
+            for (int i = times.size() - 1; i >= 0; i--) {
+                if (times.get(i) <= at) {
+                    return states.get(i);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Changes the tags from now on, in the current state and in the states still to come.
+         */
+        void retag(final long now, final Consumer<Map<String, String>> change) {
+            final DataRepositoryAssociation current = at(now);
+            int from = times.size();
+            while (from > 0 && times.get(from - 1) > now) {
+                from--;
+            }
+            times.add(from, now);
+            states.add(from, current);
+            for (int i = from; i < states.size(); i++) {
+                final DataRepositoryAssociation state = states.get(i);
+                if (state != null) {
+                    final Map<String, String> tags = new LinkedHashMap<>();
+                    for (final Tag tag : state.tags()) {
+                        tags.put(tag.key(), tag.value());
+                    }
+                    change.accept(tags);
+                    states.set(i, state.toBuilder().tags(toTags(tags)).build());
+                }
+            }
+        }
+
+        private static Collection<Tag> toTags(final Map<String, String> tags) {
+            final List<Tag> sdkTags = new ArrayList<>(tags.size());
+            for (final Map.Entry<String, String> tag : tags.entrySet()) {
+                sdkTags.add(Tag.builder().key(tag.getKey()).value(tag.getValue()).build());
+            }
+            return sdkTags;
+        }
+    }
+
+    public static final class Builder {
+        private SimulatorClock clock = SimulatorClock.system();
+        private long seed = 1L;
+        private LatencyDistribution apiLatency = LatencyDistribution.fixed(0);
+        private LatencyDistribution createDuration = LatencyDistribution.fixed(0);
+        private LatencyDistribution updateDuration = LatencyDistribution.fixed(0);
+        private LatencyDistribution deleteDuration = LatencyDistribution.fixed(0);
+        private LatencyDistribution consistencyLag = LatencyDistribution.fixed(0);
+        private Function<DataRepositoryAssociation, DataRepositoryLifecycle> outcome =
+                association -> DataRepositoryLifecycle.AVAILABLE;
+        private double throttleBurst = Double.MAX_VALUE;
+        private double throttleRatePerSecond;
+        private final Set<String> fileSystems = new HashSet<>();
+
+        private Builder() {
+        }
+
+        /**
+         * @param clock The clock to run on; the system clock by default.
+         * @return This builder.
+         */
+        public Builder clock(final SimulatorClock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * @param seed The seed of the randomness every distribution samples from.
+         * @return This builder.
+         */
+        public Builder seed(final long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * @param apiLatency How long each call takes before the service processes it; nothing by default.
+         * @return This builder.
+         */
+        public Builder apiLatency(final LatencyDistribution apiLatency) {
+            this.apiLatency = apiLatency;
+            return this;
+        }
+
+        /**
+         * @param createDuration How long an association stays CREATING once its file system gets to it.
+         * @return This builder.
+         */
+        public Builder createDuration(final LatencyDistribution createDuration) {
+            this.createDuration = createDuration;
+            return this;
+        }
+
+        /**
+         * @param updateDuration How long an association stays UPDATING once its file system gets to it.
+         * @return This builder.
+         */
+        public Builder updateDuration(final LatencyDistribution updateDuration) {
+            this.updateDuration = updateDuration;
+            return this;
+        }
+
+        /**
+         * @param deleteDuration How long an association stays DELETING once its file system gets to it.
+         * @return This builder.
+         */
+        public Builder deleteDuration(final LatencyDistribution deleteDuration) {
+            this.deleteDuration = deleteDuration;
+            return this;
+        }
+
+        /**
+         * @param consistencyLag How far in the past each describe reads the associations; nothing by default.
+         * @return This builder.
+         */
+        public Builder consistencyLag(final LatencyDistribution consistencyLag) {
+            this.consistencyLag = consistencyLag;
+            return this;
+        }
+
+        /**
+         * @param outcome The lifecycle an association ends a create or update in, such as MISCONFIGURED for some data
+         *  repository paths; AVAILABLE by default.
+         * @return This builder.
+         */
+        public Builder outcome(final Function<DataRepositoryAssociation, DataRepositoryLifecycle> outcome) {
+            this.outcome = outcome;
+            return this;
+        }
+
+        /**
+         * @param burst How many calls may be made at once.
+         * @param ratePerSecond How many calls per second may be made after the burst.
+         * @return This builder; calls aren't throttled by default.
+         */
+        public Builder throttling(final double burst, final double ratePerSecond) {
+            this.throttleBurst = burst;
+            this.throttleRatePerSecond = ratePerSecond;
+            return this;
+        }
+
+        /**
+         * @param fileSystemIds The IDs of file systems associations can be created on.
+         * @return This builder.
+         */
+        public Builder fileSystems(final String... fileSystemIds) {
+            Collections.addAll(fileSystems, fileSystemIds);
+            return this;
+        }
+
+        public FsxSimulator build() {
+            return new FsxSimulator(this);
+        }
+    }
+}
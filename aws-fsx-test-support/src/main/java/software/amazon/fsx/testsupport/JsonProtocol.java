@@ -0,0 +1,137 @@
+package software.amazon.fsx.testsupport;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.protocol.MarshallingType;
+import software.amazon.awssdk.core.traits.ListTrait;
+import software.amazon.awssdk.core.traits.MapTrait;
+import software.amazon.awssdk.core.util.SdkAutoConstructList;
+import software.amazon.awssdk.core.util.SdkAutoConstructMap;
+import software.amazon.awssdk.utils.builder.Buildable;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes SDK model objects as the JSON 1.1 protocol puts them on the wire, the service side of what the
+ *  SDK's marshallers do. It walks the fields the model declares, so it covers every shape the models use without a
+ *  line per property: strings and enums, numbers, booleans, timestamps as epoch seconds, lists, maps and structures.
+ */
+final class JsonProtocol {
+
+    private JsonProtocol() {
+    }
+
+    /**
+     * @param node A JSON object.
+     * @param builder An empty builder of the model object to read, such as a request builder.
+     * @return The model object built from the fields of the JSON object.
+     */
+    static Object read(final JsonNode node, final SdkPojo builder) {
+        for (final SdkField<?> field : builder.sdkFields()) {
+            final JsonNode value = node.get(field.locationName());
+            if (value != null && !value.isNull()) {
+                field.set(builder, readValue(field, value));
+            }
+        }
+        return ((Buildable) builder).build();
+    }
+
+    private static Object readValue(final SdkField<?> field, final JsonNode node) {
+        final MarshallingType<?> type = field.marshallingType();
+        if (type == MarshallingType.STRING) {
+            return node.asText();
+        } else if (type == MarshallingType.INTEGER) {
+            return node.asInt();
+        } else if (type == MarshallingType.LONG) {
+            return node.asLong();
+        } else if (type == MarshallingType.DOUBLE) {
+            return node.asDouble();
+        } else if (type == MarshallingType.BOOLEAN) {
+            return node.asBoolean();
+        } else if (type == MarshallingType.INSTANT) {
+            return Instant.ofEpochMilli(Math.round(node.asDouble() * 1000));
+        } else if (type == MarshallingType.LIST) {
+            final SdkField<?> member = field.getTrait(ListTrait.class).memberFieldInfo();
+            final List<Object> list = new ArrayList<>(node.size());
+            for (final JsonNode element : node) {
+                list.add(readValue(member, element));
+            }
+            return list;
+        } else if (type == MarshallingType.MAP) {
+            final SdkField<?> valueField = field.getTrait(MapTrait.class).valueFieldInfo();
+            final Map<String, Object> map = new LinkedHashMap<>();
+            final Iterator<Map.Entry<String, JsonNode>> entries = node.fields();
+            while (entries.hasNext()) {
+                final Map.Entry<String, JsonNode> entry = entries.next();
+                map.put(entry.getKey(), readValue(valueField, entry.getValue()));
+            }
+            return map;
+        } else if (type == MarshallingType.SDK_POJO) {
+            return read(node, field.constructor().get());
+        }
+        throw new IllegalArgumentException("Field " + field.locationName() + " of type " + type + " is not supported.");
+    }
+
+    /**
+     * Writes the fields of a model object that are set, as a JSON object.
+     * @param generator The generator to write to.
+     * @param pojo A model object, such as a response.
+     */
+    static void write(final JsonGenerator generator, final SdkPojo pojo) throws IOException {
+        generator.writeStartObject();
+        for (final SdkField<?> field : pojo.sdkFields()) {
+            final Object value = field.getValueOrDefault(pojo);
+            if (value != null && !(value instanceof SdkAutoConstructList) && !(value instanceof SdkAutoConstructMap)) {
+                generator.writeFieldName(field.locationName());
+                writeValue(generator, field, value);
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeValue(final JsonGenerator generator,
+                                   final SdkField<?> field,
+                                   final Object value) throws IOException {
+        if (value instanceof String) {
+            generator.writeString((String) value);
+        } else if (value instanceof Integer) {
+            generator.writeNumber((Integer) value);
+        } else if (value instanceof Long) {
+            generator.writeNumber((Long) value);
+        } else if (value instanceof Double) {
+            generator.writeNumber((Double) value);
+        } else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean) value);
+        } else if (value instanceof Instant) {
+            generator.writeNumber(((Instant) value).toEpochMilli() / 1000.0);
+        } else if (value instanceof List) {
+            final SdkField<?> member = field.getTrait(ListTrait.class).memberFieldInfo();
+            generator.writeStartArray();
+            for (final Object element : (List<?>) value) {
+                writeValue(generator, member, element);
+            }
+            generator.writeEndArray();
+        } else if (value instanceof Map) {
+            final SdkField<?> valueField = field.getTrait(MapTrait.class).valueFieldInfo();
+            generator.writeStartObject();
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                generator.writeFieldName(String.valueOf(entry.getKey()));
+                writeValue(generator, valueField, entry.getValue());
+            }
+            generator.writeEndObject();
+        } else if (value instanceof SdkPojo) {
+            write(generator, (SdkPojo) value);
+        } else {
+            throw new IllegalArgumentException("Field " + field.locationName() + " of "
+                    + value.getClass().getName() + " is not supported.");
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package software.amazon.fsx.testsupport;
+
+import java.util.Random;
+
+/**
+ * How long something takes in the simulator, such as an API call or an association becoming available.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+    /**
+     * @param random The simulator's source of randomness, so seeded runs are reproducible.
+     * @return A duration in milliseconds, never negative.
+     */
+    long sampleMillis(Random random);
+
+    /**
+     * @param millis The duration in milliseconds.
+     * @return A distribution always taking that long.
+     */
+    static LatencyDistribution fixed(final long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("A duration can't be negative.");
+        }
+        return random -> millis;
+    }
+
+    /**
+     * @param minMillis The shortest duration in milliseconds.
+     * @param maxMillis The longest duration in milliseconds.
+     * @return A distribution taking any time between the two with equal probability.
+     */
+    static LatencyDistribution uniform(final long minMillis, final long maxMillis) {
+        if (minMillis < 0 || maxMillis < minMillis) {
+            throw new IllegalArgumentException("The durations must be positive and the longest at least the shortest.");
+        }
+        return random -> minMillis + (long) (random.nextDouble() * (maxMillis - minMillis + 1));
+    }
+
+    /**
+     * Service latencies have a long tail, which a log-normal distribution models: most calls take about the median, a
+     *  few take many times longer.
+     * @param medianMillis The median duration in milliseconds.
+     * @param sigma The standard deviation of the duration's logarithm; 0.5 puts the 99th percentile at about 3.2 times
+     *  the median.
+     * @return A log-normal distribution.
+     */
+    static LatencyDistribution logNormal(final double medianMillis, final double sigma) {
+        if (medianMillis < 0 || sigma < 0) {
+            throw new IllegalArgumentException("The median and sigma can't be negative.");
+        }
+        return random -> Math.round(medianMillis * Math.exp(sigma * random.nextGaussian()));
+    }
+}
@@ -0,0 +1,211 @@
+package software.amazon.fsx.testsupport;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.services.fsx.FSxClient;
+import software.amazon.awssdk.services.fsx.model.CreateDataRepositoryAssociationRequest;
+import software.amazon.awssdk.services.fsx.model.DeleteDataRepositoryAssociationRequest;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsRequest;
+import software.amazon.awssdk.services.fsx.model.TagResourceRequest;
+import software.amazon.awssdk.services.fsx.model.UntagResourceRequest;
+import software.amazon.awssdk.services.fsx.model.UpdateDataRepositoryAssociationRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * A localhost HTTP endpoint that speaks the FSx JSON 1.1 protocol for the data repository association and tagging
+ *  operations, and serves them from an {@link FSxClient}, usually a {@link FakeFsxClient}. A real SDK client pointed
+ *  at it with {@code endpointOverride} marshals, signs and sends every request, so tests and benchmarks see the whole
+ *  per-call path of the handlers, connection pool included, without network access.
+ *
+ * <p>Requests are served on a pool of threads, so concurrent clients don't wait on each other. The endpoint counts
+ *  the requests per operation and the connections the clients opened, to tell how well they reuse connections.
+ */
+public final class LocalFsxEndpoint implements AutoCloseable {
+    private static final String TARGET_PREFIX = "AWSSimbaAPIService_v20180301.";
+    private static final String CONTENT_TYPE = "application/x-amz-json-1.1";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonFactory JSON_FACTORY = MAPPER.getFactory();
+    // Without it the server's small writes wait on the client's delayed ACK, and every call takes 40 ms or more. The
+    //  JDK server reads it once, when the first server of the JVM starts.
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+    private static final Map<String, Operation> OPERATIONS = new HashMap<>();
+
+    static {
+        if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+            System.setProperty(NO_DELAY_PROPERTY, "true");
+        }
+        OPERATIONS.put("CreateDataRepositoryAssociation", new Operation(CreateDataRepositoryAssociationRequest::builder,
+                (client, request) -> client.createDataRepositoryAssociation(
+                        (CreateDataRepositoryAssociationRequest) request)));
+        OPERATIONS.put("DescribeDataRepositoryAssociations", new Operation(
+                DescribeDataRepositoryAssociationsRequest::builder,
+                (client, request) -> client.describeDataRepositoryAssociations(
+                        (DescribeDataRepositoryAssociationsRequest) request)));
+        OPERATIONS.put("UpdateDataRepositoryAssociation", new Operation(UpdateDataRepositoryAssociationRequest::builder,
+                (client, request) -> client.updateDataRepositoryAssociation(
+                        (UpdateDataRepositoryAssociationRequest) request)));
+        OPERATIONS.put("DeleteDataRepositoryAssociation", new Operation(DeleteDataRepositoryAssociationRequest::builder,
+                (client, request) -> client.deleteDataRepositoryAssociation(
+                        (DeleteDataRepositoryAssociationRequest) request)));
+        OPERATIONS.put("TagResource", new Operation(TagResourceRequest::builder,
+                (client, request) -> client.tagResource((TagResourceRequest) request)));
+        OPERATIONS.put("UntagResource", new Operation(UntagResourceRequest::builder,
+                (client, request) -> client.untagResource((UntagResourceRequest) request)));
+    }
+
+    private final FSxClient client;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Starts the endpoint on a free port.
+     * @param client The client to serve the requests from.
+     */
+    public LocalFsxEndpoint(final FSxClient client) throws IOException {
+        this.client = client;
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "local-fsx-endpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * @return The URL to point a client at, as its endpoint override or the handlers' FSX_ENDPOINT_URL.
+     */
+    public String getEndpoint() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * @param operation The name of an operation, such as DescribeDataRepositoryAssociations.
+     * @return How many requests for the operation the endpoint received, whether they succeeded or not.
+     */
+    public int getRequestCount(final String operation) {
+        final AtomicInteger count = requestCounts.get(operation);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * @return How many connections the clients opened, counted by their local address.
+     */
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    /**
+     * Clears the request and connection counts.
+     */
+    public void reset() {
+        requestCounts.clear();
+        connections.clear();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        connections.add(exchange.getRemoteAddress());
+        final JsonNode body;
+        try (InputStream inputStream = exchange.getRequestBody()) {
+            final JsonNode node = MAPPER.readTree(inputStream);
+            body = node == null ? MAPPER.createObjectNode() : node;
+        }
+        final String target = String.valueOf(exchange.getRequestHeaders().getFirst("X-Amz-Target"));
+        final String operationName = target.startsWith(TARGET_PREFIX)
+                ? target.substring(TARGET_PREFIX.length())
+                : target;
+        requestCounts.computeIfAbsent(operationName, key -> new AtomicInteger()).incrementAndGet();
+
+        final Operation operation = OPERATIONS.get(operationName);
+        if (operation == null) {
+            respondError(exchange, 400, "BadRequest", "Unsupported operation " + operationName + ".");
+            return;
+        }
+        final SdkPojo response;
+        try {
+            response = operation.call.apply(client, JsonProtocol.read(body, operation.requestBuilder.get()));
+        } catch (final AwsServiceException exception) {
+            respondError(exchange,
+                    exception.statusCode() == 0 ? 400 : exception.statusCode(),
+                    exception.awsErrorDetails().errorCode(),
+                    exception.awsErrorDetails().errorMessage());
+            return;
+        } catch (final RuntimeException exception) {
+            respondError(exchange, 500, "InternalServerError", String.valueOf(exception));
+            return;
+        }
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(bytes)) {
+            JsonProtocol.write(generator, response);
+        }
+        respond(exchange, 200, bytes.toByteArray());
+    }
+
+    private static void respondError(final HttpExchange exchange,
+                                     final int status,
+                                     final String errorCode,
+                                     final String message) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(bytes)) {
+            generator.writeStartObject();
+            generator.writeStringField("__type", errorCode);
+            generator.writeStringField("message", message);
+            generator.writeEndObject();
+        }
+        respond(exchange, status, bytes.toByteArray());
+    }
+
+    private static void respond(final HttpExchange exchange, final int status, final byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", CONTENT_TYPE);
+        exchange.getResponseHeaders().add("x-amzn-RequestId", UUID.randomUUID().toString());
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    /**
+     * How to build the request of an operation and call the client with it.
+     */
+    private static final class Operation {
+        private final Supplier<SdkPojo> requestBuilder;
+        private final BiFunction<FSxClient, Object, SdkPojo> call;
+
+        Operation(final Supplier<SdkPojo> requestBuilder, final BiFunction<FSxClient, Object, SdkPojo> call) {
+            this.requestBuilder = requestBuilder;
+            this.call = call;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package software.amazon.fsx.testsupport;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A clock that only moves when told to or slept on: a sleep returns at once, after moving the clock forward.
+ */
+public final class ManualClock implements SimulatorClock {
+    private final AtomicLong millis;
+
+    public ManualClock() {
+        this(0L);
+    }
+
+    /**
+     * @param millis The time to start at in milliseconds.
+     */
+    public ManualClock(final long millis) {
+        this.millis = new AtomicLong(millis);
+    }
+
+    @Override
+    public long millis() {
+        return millis.get();
+    }
+
+    @Override
+    public void sleep(final long millis) {
+        advance(millis);
+    }
+
+    /**
+     * @param millis How far to move the clock forward in milliseconds.
+     */
+    public void advance(final long millis) {
+        if (millis > 0) {
+            this.millis.addAndGet(millis);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package software.amazon.fsx.testsupport;
+
+/**
+ * The time the simulator runs on. Latencies are spent by sleeping on it, so a {@link ManualClock} runs a scenario of
+ *  hours in no time, deterministically, while {@link #system()} makes handlers and benchmarks wait for real.
+ */
+public interface SimulatorClock {
+    /**
+     * @return The current time in milliseconds.
+     */
+    long millis();
+
+    /**
+     * Waits for some time to pass.
+     * @param millis How long to wait in milliseconds.
+     */
+    void sleep(long millis);
+
+    /**
+     * @return A clock on the system time, whose sleeps block the calling thread.
+     */
+    static SimulatorClock system() {
+        return new SimulatorClock() {
+            @Override
+            public long millis() {
+                return System.currentTimeMillis();
+            }
+
+            @Override
+            public void sleep(final long millis) {
+                if (millis <= 0) {
+                    return;
+                }
+                try {
+                    Thread.sleep(millis);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package software.amazon.fsx.testsupport;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A clock shared by several threads that only moves when every one of them is asleep on it, and then jumps straight
+ *  to the earliest wake-up. Many concurrent handlers, each waiting minutes between polls, thus run as they would in
+ *  real time but finish as soon as their computation does, and the order of events follows their virtual times.
+ *
+ * <p>Every thread that sleeps on the clock must take part: call {@link #enter()} before it starts, from the thread
+ *  starting it, and {@link #leave()} when it ends. A thread blocked on anything but the clock holds the clock still,
+ *  so the threads must not wait on each other.
+ */
+public final class VirtualClock implements SimulatorClock {
+    private long now;
+    private int running;
+    // The number of sleeping threads to wake at each time.
+    private final TreeMap<Long, Integer> wakeUps = new TreeMap<>();
+
+    public VirtualClock() {
+        this(0L);
+    }
+
+    /**
+     * @param millis The time to start at in milliseconds.
+     */
+    public VirtualClock(final long millis) {
+        this.now = millis;
+    }
+
+    @Override
+    public synchronized long millis() {
+        return now;
+    }
+
+    /**
+     * Adds a thread to the ones the clock waits for before it moves.
+     */
+    public synchronized void enter() {
+        running++;
+    }
+
+    /**
+     * Removes the calling thread from the ones the clock waits for, once it no longer sleeps on it.
+     */
+    public synchronized void leave() {
+        running--;
+        advanceIfIdle();
+    }
+
+    @Override
+    public synchronized void sleep(final long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        final long wakeUpAt = now + millis;
+        wakeUps.merge(wakeUpAt, 1, Integer::sum);
+        running--;
+        advanceIfIdle();
+        boolean interrupted = false;
+        while (now < wakeUpAt) {
+            try {
+                wait();
+            } catch (final InterruptedException e) {
+                // The wake-up is already counted on, so the sleep runs to its end and the interrupt is kept for later.
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Moves the clock to the earliest wake-up once no thread is running, and counts the threads it wakes as running
+     *  right away, so the clock can't move again before they do.
+     */
+    private void advanceIfIdle() {
+        if (running == 0 && !wakeUps.isEmpty()) {
+            final Map.Entry<Long, Integer> earliest = wakeUps.pollFirstEntry();
+            now = earliest.getKey();
+            running += earliest.getValue();
+            notifyAll();
+        }
+    }
+}
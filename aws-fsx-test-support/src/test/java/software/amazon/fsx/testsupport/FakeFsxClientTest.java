@@ -0,0 +1,282 @@
+package software.amazon.fsx.testsupport;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.fsx.model.AutoExportPolicy;
+import software.amazon.awssdk.services.fsx.model.AutoImportPolicy;
+import software.amazon.awssdk.services.fsx.model.BadRequestException;
+import software.amazon.awssdk.services.fsx.model.CreateDataRepositoryAssociationRequest;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryAssociation;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryAssociationNotFoundException;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryLifecycle;
+import software.amazon.awssdk.services.fsx.model.DeleteDataRepositoryAssociationRequest;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsRequest;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsResponse;
+import software.amazon.awssdk.services.fsx.model.EventType;
+import software.amazon.awssdk.services.fsx.model.FileSystemNotFoundException;
+import software.amazon.awssdk.services.fsx.model.S3DataRepositoryConfiguration;
+import software.amazon.awssdk.services.fsx.model.Tag;
+import software.amazon.awssdk.services.fsx.model.TagResourceRequest;
+import software.amazon.awssdk.services.fsx.model.UntagResourceRequest;
+import software.amazon.awssdk.services.fsx.model.UpdateDataRepositoryAssociationRequest;
+
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FakeFsxClientTest {
+    private static final String FILE_SYSTEM_ID = "fs-0123456789abcdef0";
+
+    private ManualClock clock;
+
+    @BeforeEach
+    public void setup() {
+        clock = new ManualClock();
+    }
+
+    @Test
+    public void testLifecycle() {
+        final FakeFsxClient client = client(FsxSimulator.builder()
+                .createDuration(LatencyDistribution.fixed(1000))
+                .updateDuration(LatencyDistribution.fixed(500))
+                .deleteDuration(LatencyDistribution.fixed(200)));
+
+        final String associationId = create(client, "/ns1").associationId();
+        assertThat(describe(client, associationId).lifecycle()).isEqualTo(DataRepositoryLifecycle.CREATING);
+        clock.advance(1000);
+        assertThat(describe(client, associationId).lifecycle()).isEqualTo(DataRepositoryLifecycle.AVAILABLE);
+
+        client.updateDataRepositoryAssociation(UpdateDataRepositoryAssociationRequest.builder()
+                .associationId(associationId)
+                .importedFileChunkSize(2048)
+                .build());
+        assertThat(describe(client, associationId).lifecycle()).isEqualTo(DataRepositoryLifecycle.UPDATING);
+        clock.advance(500);
+        final DataRepositoryAssociation updated = describe(client, associationId);
+        assertThat(updated.lifecycle()).isEqualTo(DataRepositoryLifecycle.AVAILABLE);
+        assertThat(updated.importedFileChunkSize()).isEqualTo(2048);
+
+        client.deleteDataRepositoryAssociation(DeleteDataRepositoryAssociationRequest.builder()
+                .associationId(associationId)
+                .build());
+        assertThat(describe(client, associationId).lifecycle()).isEqualTo(DataRepositoryLifecycle.DELETING);
+        clock.advance(200);
+        assertThatThrownBy(() -> describe(client, associationId))
+                .isInstanceOf(DataRepositoryAssociationNotFoundException.class);
+        assertThat(client.getSimulator().lifecycleOf(associationId)).isNull();
+    }
+
+    @Test
+    public void testUpdate_MergesS3Policies() {
+        final FakeFsxClient client = client(FsxSimulator.builder());
+        final String associationId = create(client, "/ns1").associationId();
+
+        client.updateDataRepositoryAssociation(UpdateDataRepositoryAssociationRequest.builder()
+                .associationId(associationId)
+                .s3(S3DataRepositoryConfiguration.builder()
+                        .autoImportPolicy(AutoImportPolicy.builder().events(EventType.NEW).build())
+                        .build())
+                .build());
+        client.updateDataRepositoryAssociation(UpdateDataRepositoryAssociationRequest.builder()
+                .associationId(associationId)
+                .s3(S3DataRepositoryConfiguration.builder()
+                        .autoExportPolicy(AutoExportPolicy.builder().events(EventType.DELETED).build())
+                        .build())
+                .build());
+
+        final S3DataRepositoryConfiguration s3 = describe(client, associationId).s3();
+        assertThat(s3.autoImportPolicy().events()).containsExactly(EventType.NEW);
+        assertThat(s3.autoExportPolicy().events()).containsExactly(EventType.DELETED);
+    }
+
+    @Test
+    public void testUpdate_WhileCreating() {
+        final FakeFsxClient client = client(FsxSimulator.builder().createDuration(LatencyDistribution.fixed(1000)));
+        final String associationId = create(client, "/ns1").associationId();
+
+        assertThatThrownBy(() -> client.updateDataRepositoryAssociation(UpdateDataRepositoryAssociationRequest.builder()
+                .associationId(associationId)
+                .importedFileChunkSize(2048)
+                .build()))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    public void testFileSystemProcessesOneOperationAtATime() {
+        final FakeFsxClient client = client(FsxSimulator.builder().createDuration(LatencyDistribution.fixed(1000)));
+
+        final String first = create(client, "/ns1").associationId();
+        final String second = create(client, "/ns2").associationId();
+        clock.advance(1000);
+
+        assertThat(describe(client, first).lifecycle()).isEqualTo(DataRepositoryLifecycle.AVAILABLE);
+        assertThat(describe(client, second).lifecycle()).isEqualTo(DataRepositoryLifecycle.CREATING);
+        clock.advance(1000);
+        assertThat(describe(client, second).lifecycle()).isEqualTo(DataRepositoryLifecycle.AVAILABLE);
+    }
+
+    @Test
+    public void testOutcome() {
+        final FakeFsxClient client = client(FsxSimulator.builder()
+                .createDuration(LatencyDistribution.fixed(10))
+                .outcome(association -> association.dataRepositoryPath().contains("missing")
+                        ? DataRepositoryLifecycle.MISCONFIGURED : DataRepositoryLifecycle.AVAILABLE));
+
+        final DataRepositoryAssociation association = client.createDataRepositoryAssociation(
+                CreateDataRepositoryAssociationRequest.builder()
+                        .fileSystemId(FILE_SYSTEM_ID)
+                        .fileSystemPath("/ns1")
+                        .dataRepositoryPath("s3://missing-bucket")
+                        .build())
+                .association();
+        clock.advance(10);
+
+        final DataRepositoryAssociation misconfigured = describe(client, association.associationId());
+        assertThat(misconfigured.lifecycle()).isEqualTo(DataRepositoryLifecycle.MISCONFIGURED);
+        assertThat(misconfigured.failureDetails().message()).contains("MISCONFIGURED");
+    }
+
+    @Test
+    public void testConsistencyLag() {
+        final FakeFsxClient client = client(FsxSimulator.builder()
+                .createDuration(LatencyDistribution.fixed(1000))
+                .consistencyLag(LatencyDistribution.fixed(300)));
+
+        final String associationId = create(client, "/ns1").associationId();
+
+        assertThatThrownBy(() -> describe(client, associationId))
+                .isInstanceOf(DataRepositoryAssociationNotFoundException.class);
+        clock.advance(300);
+        assertThat(describe(client, associationId).lifecycle()).isEqualTo(DataRepositoryLifecycle.CREATING);
+        clock.advance(800);
+        assertThat(describe(client, associationId).lifecycle()).isEqualTo(DataRepositoryLifecycle.CREATING);
+        assertThat(client.getSimulator().lifecycleOf(associationId)).isEqualTo(DataRepositoryLifecycle.AVAILABLE);
+        clock.advance(300);
+        assertThat(describe(client, associationId).lifecycle()).isEqualTo(DataRepositoryLifecycle.AVAILABLE);
+    }
+
+    @Test
+    public void testThrottling() {
+        final FakeFsxClient client = client(FsxSimulator.builder().throttling(2, 1));
+        final String associationId = create(client, "/ns1").associationId();
+
+        describe(client, associationId);
+        assertThatThrownBy(() -> describe(client, associationId))
+                .isInstanceOfSatisfying(AwsServiceException.class, e ->
+                        assertThat(e.awsErrorDetails().errorCode()).isEqualTo("ThrottlingException"));
+        clock.advance(1000);
+        describe(client, associationId);
+
+        assertThat(client.getSimulator().getCalls()).isEqualTo(4);
+        assertThat(client.getSimulator().getThrottledCalls()).isEqualTo(1);
+    }
+
+    @Test
+    public void testApiLatency() {
+        final FakeFsxClient client = client(FsxSimulator.builder().apiLatency(LatencyDistribution.fixed(25)));
+
+        create(client, "/ns1");
+
+        assertThat(clock.millis()).isEqualTo(25);
+    }
+
+    @Test
+    public void testCreate_Idempotent() {
+        final FakeFsxClient client = client(FsxSimulator.builder());
+        final CreateDataRepositoryAssociationRequest request = CreateDataRepositoryAssociationRequest.builder()
+                .fileSystemId(FILE_SYSTEM_ID)
+                .fileSystemPath("/ns1")
+                .dataRepositoryPath("s3://bucket")
+                .clientRequestToken("token")
+                .build();
+
+        final String associationId = client.createDataRepositoryAssociation(request).association().associationId();
+
+        assertThat(client.createDataRepositoryAssociation(request).association().associationId())
+                .isEqualTo(associationId);
+        assertThatThrownBy(() -> create(client, "/ns1")).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    public void testCreate_UnknownFileSystem() {
+        final FakeFsxClient client = client(FsxSimulator.builder());
+
+        assertThatThrownBy(() -> client.createDataRepositoryAssociation(CreateDataRepositoryAssociationRequest.builder()
+                .fileSystemId("fs-unknown")
+                .fileSystemPath("/ns1")
+                .dataRepositoryPath("s3://bucket")
+                .build()))
+                .isInstanceOf(FileSystemNotFoundException.class);
+    }
+
+    @Test
+    public void testTags() {
+        final FakeFsxClient client = client(FsxSimulator.builder().createDuration(LatencyDistribution.fixed(1000)));
+        final DataRepositoryAssociation association = create(client, "/ns1");
+
+        client.tagResource(TagResourceRequest.builder()
+                .resourceARN(association.resourceARN())
+                .tags(Tag.builder().key("a").value("1").build(), Tag.builder().key("b").value("2").build())
+                .build());
+        client.untagResource(UntagResourceRequest.builder()
+                .resourceARN(association.resourceARN())
+                .tagKeys("a")
+                .build());
+        clock.advance(1000);
+
+        final DataRepositoryAssociation tagged = describe(client, association.associationId());
+        assertThat(tagged.lifecycle()).isEqualTo(DataRepositoryLifecycle.AVAILABLE);
+        assertThat(tagged.tags()).containsExactly(Tag.builder().key("b").value("2").build());
+    }
+
+    @Test
+    public void testDescribe_Pages() {
+        final FakeFsxClient client = client(FsxSimulator.builder());
+        create(client, "/ns1");
+        create(client, "/ns2");
+        create(client, "/ns3");
+
+        final DescribeDataRepositoryAssociationsResponse first = client.describeDataRepositoryAssociations(
+                DescribeDataRepositoryAssociationsRequest.builder().maxResults(2).build());
+        final DescribeDataRepositoryAssociationsResponse second = client.describeDataRepositoryAssociations(
+                DescribeDataRepositoryAssociationsRequest.builder().maxResults(2).nextToken(first.nextToken()).build());
+
+        assertThat(first.associations()).hasSize(2);
+        assertThat(second.associations()).hasSize(1);
+        assertThat(second.nextToken()).isNull();
+    }
+
+    @Test
+    public void testAsyncClient() {
+        final FakeFsxClient client = client(FsxSimulator.builder());
+        final FakeFsxAsyncClient asyncClient = new FakeFsxAsyncClient(client, Runnable::run);
+
+        assertThatThrownBy(() -> asyncClient.describeDataRepositoryAssociations(
+                DescribeDataRepositoryAssociationsRequest.builder().associationIds("dra-missing").build()).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(DataRepositoryAssociationNotFoundException.class);
+    }
+
+    private FakeFsxClient client(final FsxSimulator.Builder builder) {
+        return new FakeFsxClient(builder.clock(clock).fileSystems(FILE_SYSTEM_ID).build());
+    }
+
+    private static DataRepositoryAssociation create(final FakeFsxClient client, final String fileSystemPath) {
+        return client.createDataRepositoryAssociation(CreateDataRepositoryAssociationRequest.builder()
+                        .fileSystemId(FILE_SYSTEM_ID)
+                        .fileSystemPath(fileSystemPath)
+                        .dataRepositoryPath("s3://bucket" + fileSystemPath)
+                        .build())
+                .association();
+    }
+
+    private static DataRepositoryAssociation describe(final FakeFsxClient client, final String associationId) {
+        return client.describeDataRepositoryAssociations(DescribeDataRepositoryAssociationsRequest.builder()
+                        .associationIds(associationId)
+                        .build())
+                .associations()
+                .get(0);
+    }
+}
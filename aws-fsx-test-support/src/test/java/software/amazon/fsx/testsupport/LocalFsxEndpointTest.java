@@ -0,0 +1,183 @@
+package software.amazon.fsx.testsupport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.fsx.FSxClient;
+import software.amazon.awssdk.services.fsx.model.AutoImportPolicy;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryAssociation;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryAssociationNotFoundException;
+import software.amazon.awssdk.services.fsx.model.DataRepositoryLifecycle;
+import software.amazon.awssdk.services.fsx.model.DeleteDataRepositoryAssociationResponse;
+import software.amazon.awssdk.services.fsx.model.DescribeDataRepositoryAssociationsResponse;
+import software.amazon.awssdk.services.fsx.model.EventType;
+import software.amazon.awssdk.services.fsx.model.FSxException;
+import software.amazon.awssdk.services.fsx.model.FileSystemNotFoundException;
+import software.amazon.awssdk.services.fsx.model.Filter;
+import software.amazon.awssdk.services.fsx.model.FilterName;
+import software.amazon.awssdk.services.fsx.model.S3DataRepositoryConfiguration;
+import software.amazon.awssdk.services.fsx.model.Tag;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LocalFsxEndpointTest {
+    private static final String FILE_SYSTEM_ID = "fs-0123456789abcdef0";
+
+    private final ManualClock clock = new ManualClock(1_600_000_000_000L);
+    private LocalFsxEndpoint endpoint;
+    private FSxClient client;
+
+    @AfterEach
+    public void tear_down() {
+        client.close();
+        endpoint.close();
+    }
+
+    @Test
+    public void testLifecycle() throws IOException {
+        start(FsxSimulator.builder()
+                .createDuration(LatencyDistribution.fixed(1000))
+                .deleteDuration(LatencyDistribution.fixed(200)));
+
+        final DataRepositoryAssociation created = client.createDataRepositoryAssociation(request -> request
+                        .fileSystemId(FILE_SYSTEM_ID)
+                        .fileSystemPath("/ns1")
+                        .dataRepositoryPath("s3://bucket/ns1")
+                        .batchImportMetaDataOnCreate(true)
+                        .importedFileChunkSize(2048)
+                        .s3(S3DataRepositoryConfiguration.builder()
+                                .autoImportPolicy(AutoImportPolicy.builder()
+                                        .events(EventType.NEW, EventType.CHANGED)
+                                        .build())
+                                .build())
+                        .tags(Tag.builder().key("key").value("value").build()))
+                .association();
+        assertThat(created.lifecycle()).isEqualTo(DataRepositoryLifecycle.CREATING);
+        assertThat(created.fileSystemPath()).isEqualTo("/ns1");
+        assertThat(created.batchImportMetaDataOnCreate()).isTrue();
+        assertThat(created.importedFileChunkSize()).isEqualTo(2048);
+        assertThat(created.s3().autoImportPolicy().events()).containsExactly(EventType.NEW, EventType.CHANGED);
+        assertThat(created.s3().autoExportPolicy()).isNull();
+        assertThat(created.tags()).containsExactly(Tag.builder().key("key").value("value").build());
+        assertThat(created.creationTime()).isEqualTo(Instant.ofEpochMilli(clock.millis()));
+
+        clock.advance(1000);
+        client.updateDataRepositoryAssociation(request -> request
+                .associationId(created.associationId())
+                .importedFileChunkSize(4096));
+        assertThat(describe(created.associationId()).importedFileChunkSize()).isEqualTo(4096);
+
+        clock.advance(1000);
+        client.untagResource(request -> request.resourceARN(created.resourceARN()).tagKeys("key"));
+        assertThat(describe(created.associationId()).tags()).isEmpty();
+
+        final DeleteDataRepositoryAssociationResponse deleted = client.deleteDataRepositoryAssociation(request -> request
+                .associationId(created.associationId())
+                .deleteDataInFileSystem(false));
+        assertThat(deleted.lifecycle()).isEqualTo(DataRepositoryLifecycle.DELETING);
+        assertThat(deleted.deleteDataInFileSystem()).isFalse();
+        clock.advance(200);
+        assertThatThrownBy(() -> describe(created.associationId()))
+                .isInstanceOf(DataRepositoryAssociationNotFoundException.class);
+
+        assertThat(endpoint.getRequestCount("DescribeDataRepositoryAssociations")).isEqualTo(3);
+        assertThat(endpoint.getRequestCount("UntagResource")).isEqualTo(1);
+    }
+
+    @Test
+    public void testErrors() throws IOException {
+        start(FsxSimulator.builder().throttling(1, 0));
+
+        assertThatThrownBy(() -> client.createDataRepositoryAssociation(request -> request
+                        .fileSystemId("fs-unknown")
+                        .fileSystemPath("/ns1")
+                        .dataRepositoryPath("s3://bucket/ns1")))
+                .isInstanceOf(FileSystemNotFoundException.class);
+
+        assertThatThrownBy(() -> describe("dra-0123456789abcdef0"))
+                .isInstanceOfSatisfying(FSxException.class, exception -> {
+                    assertThat(exception.statusCode()).isEqualTo(400);
+                    assertThat(exception.awsErrorDetails().errorCode()).isEqualTo("ThrottlingException");
+                });
+    }
+
+    @Test
+    public void testPaging() throws IOException {
+        start(FsxSimulator.builder());
+        for (final String fileSystemPath : new String[] {"/ns1", "/ns2", "/ns3"}) {
+            client.createDataRepositoryAssociation(request -> request
+                    .fileSystemId(FILE_SYSTEM_ID)
+                    .fileSystemPath(fileSystemPath)
+                    .dataRepositoryPath("s3://bucket" + fileSystemPath));
+        }
+
+        final Filter filter = Filter.builder().name(FilterName.FILE_SYSTEM_ID).values(FILE_SYSTEM_ID).build();
+        final DescribeDataRepositoryAssociationsResponse firstPage = client.describeDataRepositoryAssociations(
+                request -> request
+                        .filters(filter)
+                        .maxResults(2));
+        assertThat(firstPage.associations()).hasSize(2);
+        assertThat(firstPage.nextToken()).isNotNull();
+
+        final DescribeDataRepositoryAssociationsResponse lastPage = client.describeDataRepositoryAssociations(
+                request -> request
+                        .filters(filter)
+                        .maxResults(2)
+                        .nextToken(firstPage.nextToken()));
+        assertThat(lastPage.associations()).hasSize(1);
+        assertThat(lastPage.nextToken()).isNull();
+    }
+
+    @Test
+    public void testConnectionReuse() throws IOException {
+        start(FsxSimulator.builder());
+        final String associationId = client.createDataRepositoryAssociation(request -> request
+                        .fileSystemId(FILE_SYSTEM_ID)
+                        .fileSystemPath("/ns1")
+                        .dataRepositoryPath("s3://bucket/ns1"))
+                .association()
+                .associationId();
+        for (int i = 0; i < 5; i++) {
+            describe(associationId);
+        }
+
+        assertThat(endpoint.getRequestCount("DescribeDataRepositoryAssociations")).isEqualTo(5);
+        assertThat(endpoint.getConnectionCount()).isEqualTo(1);
+        endpoint.reset();
+        assertThat(endpoint.getRequestCount("DescribeDataRepositoryAssociations")).isEqualTo(0);
+        assertThat(endpoint.getConnectionCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testUnsupportedOperation() throws IOException {
+        start(FsxSimulator.builder());
+
+        assertThatThrownBy(() -> client.describeFileSystems())
+                .isInstanceOf(FSxException.class);
+        assertThat(endpoint.getRequestCount("DescribeFileSystems")).isEqualTo(1);
+    }
+
+    private void start(final FsxSimulator.Builder builder) throws IOException {
+        endpoint = new LocalFsxEndpoint(new FakeFsxClient(builder.clock(clock).fileSystems(FILE_SYSTEM_ID).build()));
+        client = FSxClient.builder()
+                .endpointOverride(URI.create(endpoint.getEndpoint()))
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("access", "secret")))
+                .overrideConfiguration(configuration -> configuration.retryPolicy(RetryPolicy.none()))
+                .build();
+    }
+
+    private DataRepositoryAssociation describe(final String associationId) {
+        return client.describeDataRepositoryAssociations(request -> request.associationIds(associationId))
+                .associations()
+                .get(0);
+    }
+}
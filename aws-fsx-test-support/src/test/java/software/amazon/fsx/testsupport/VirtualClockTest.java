@@ -0,0 +1,81 @@
+package software.amazon.fsx.testsupport;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VirtualClockTest {
+
+    @Test
+    public void testSleepers_WakeInVirtualTimeOrder() throws InterruptedException {
+        final VirtualClock clock = new VirtualClock(1000);
+        final List<String> wakeUps = Collections.synchronizedList(new ArrayList<>());
+        final List<Thread> threads = new ArrayList<>();
+        for (final long period : new long[] {300_000, 200_000, 500_000}) {
+            clock.enter();
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < 3; i++) {
+                        clock.sleep(period);
+                        wakeUps.add(period + "@" + clock.millis());
+                    }
+                } finally {
+                    clock.leave();
+                }
+            }));
+        }
+
+        // Every thread is counted on before any starts, so the first to sleep can't move the clock on its own.
+        final long startedAt = System.nanoTime();
+        for (final Thread thread : threads) {
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedAt)).isLessThan(5);
+        assertThat(clock.millis()).isEqualTo(1_501_000);
+        assertThat(wakeUps.get(0)).isEqualTo("200000@201000");
+        assertThat(wakeUps.get(1)).isEqualTo("300000@301000");
+        assertThat(wakeUps).contains("200000@601000", "300000@901000", "500000@1501000");
+    }
+
+    @Test
+    public void testRunningThread_HoldsClock() throws InterruptedException {
+        final VirtualClock clock = new VirtualClock();
+        clock.enter();
+        clock.enter();
+        final Thread sleeper = new Thread(() -> {
+            try {
+                clock.sleep(100);
+            } finally {
+                clock.leave();
+            }
+        });
+        sleeper.start();
+
+        sleeper.join(200);
+        assertThat(sleeper.isAlive()).isTrue();
+        assertThat(clock.millis()).isEqualTo(0);
+
+        clock.leave();
+        sleeper.join();
+        assertThat(clock.millis()).isEqualTo(100);
+    }
+
+    @Test
+    public void testSleep_WithoutDelayReturnsAtOnce() {
+        final VirtualClock clock = new VirtualClock();
+        clock.enter();
+        clock.sleep(0);
+        clock.leave();
+
+        assertThat(clock.millis()).isEqualTo(0);
+    }
+}